@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.gamepad4j.ControllerListenerSupport.ListenerMetrics;
+import org.gamepad4j.util.Clock;
+import org.gamepad4j.util.LatencyStatistics;
+
+
+/**
+ * Calls a listener on an executor through its own bounded queue.
+ * <p>
+ * The firing thread only offers an event to the queue, so a slow listener delays
+ * neither other listeners nor the thread reading devices. Events which do not fit
+ * are dropped and counted. At most one task per listener runs at a time, so the
+ * listener sees events in order even on a multithreaded executor.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+final class AsyncListener implements IControllerListener, ListenerMetrics, Runnable {
+
+    private static final Logger logger = Logger.getLogger(AsyncListener.class.getName());
+
+    /** the listener to be called */
+    final IControllerListener listener;
+
+    /** runs {@link #run()} */
+    private final Executor executor;
+
+    /** whether the executor is owned by this and shut down on {@link #close()} */
+    private final boolean owned;
+
+    private final ControllerEventQueue queue;
+
+    /** holds {@link #listener} only, for draining */
+    private final ControllerListenerSupport target = new ControllerListenerSupport();
+
+    /** time from the event to calling the listener */
+    private final LatencyStatistics latency;
+
+    /** true while {@link #run()} is submitted or running */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * @param owned shut down the executor on {@link #close()}, it must be an {@link ExecutorService}
+     */
+    AsyncListener(IControllerListener listener, Executor executor, boolean owned, int capacity) {
+        this.listener = listener;
+        this.executor = executor;
+        this.owned = owned;
+        this.queue = new ControllerEventQueue(capacity);
+        this.target.addListener(listener);
+        this.latency = new LatencyStatistics(listener.toString());
+    }
+
+    @Override
+    public void buttonDown(IButton button, ButtonID buttonID) {
+        buttonDown(button, buttonID, target.getClock().nanoTime());
+    }
+
+    @Override
+    public void buttonUp(IButton button, ButtonID buttonID) {
+        buttonUp(button, buttonID, target.getClock().nanoTime());
+    }
+
+    @Override
+    public void moveStick(IAxis axis, StickID stick) {
+        moveStick(axis, stick, target.getClock().nanoTime());
+    }
+
+    @Override
+    public void buttonDown(IButton button, ButtonID buttonID, long timestamp) {
+        offer(ControllerEventQueue.BUTTON_DOWN, button, buttonID, timestamp);
+    }
+
+    @Override
+    public void buttonUp(IButton button, ButtonID buttonID, long timestamp) {
+        offer(ControllerEventQueue.BUTTON_UP, button, buttonID, timestamp);
+    }
+
+    @Override
+    public void moveStick(IAxis axis, StickID stick, long timestamp) {
+        offer(ControllerEventQueue.MOVE_STICK, axis, stick, timestamp);
+    }
+
+    /** */
+    private void offer(int kind, Object component, Object id, long timestamp) {
+        if (queue.offer(kind, component, id, timestamp) && scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+logger.fine("rejected: " + listener);
+            }
+        }
+    }
+
+    /** Drains the queue, events offered meanwhile are delivered by this run or the next one. */
+    @Override
+    public void run() {
+        do {
+            try {
+                queue.drain(target, latency);
+            } catch (RuntimeException e) {
+                logger.log(Level.WARNING, e.getMessage(), e);
+            }
+            scheduled.set(false);
+        } while (!queue.isEmpty() && scheduled.compareAndSet(false, true));
+    }
+
+    /** Sets the clock which stamps events without a timestamp and measures latency. */
+    void setClock(Clock clock) {
+        target.setClock(clock);
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public long getOverflowCount() {
+        return queue.getOverflowCount();
+    }
+
+    @Override
+    public LatencyStatistics getLatency() {
+        return latency;
+    }
+
+    /** Stops the dedicated thread if any, pending events are discarded. */
+    void close() {
+        if (owned) {
+            ((ExecutorService) executor).shutdownNow();
+        }
+    }
+}
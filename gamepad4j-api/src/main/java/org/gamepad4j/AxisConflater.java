@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Keeps only the fact that an axis moved since the last drain, instead of queuing every sample.
+ * <p>
+ * Each registered controller has a dirty bitmask of its axes (a lane per 64 axes).
+ * Offering sets a bit, draining clears the mask and calls listeners once per moved axis,
+ * which then read the newest value from the axis itself, with the time of the last move. Memory stays constant under any
+ * input rate, and a consumer which fell behind catches up in one pass.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+final class AxisConflater {
+
+    /** Axes of a controller, up to 64. */
+    private static final class Lane {
+        final int deviceID;
+        final IAxis[] axes;
+        /** the last stick id of each axis */
+        final StickID[] sticks;
+        /** when each axis moved last */
+        final long[] times;
+        /** bit i is set if axes[i] moved */
+        final AtomicLong dirty = new AtomicLong();
+
+        Lane(int deviceID, IAxis[] axes) {
+            this.deviceID = deviceID;
+            this.axes = axes;
+            this.sticks = new StickID[axes.length];
+            this.times = new long[axes.length];
+        }
+    }
+
+    /** Where an axis is in lanes. */
+    private record Slot(Lane lane, int bit) {}
+
+    private final Map<IAxis, Slot> slots = new ConcurrentHashMap<>();
+
+    private final List<Lane> lanes = new CopyOnWriteArrayList<>();
+
+    /** Adds lanes for axes of the controller, replacing old ones if any. */
+    void register(IController controller) {
+        unregister(controller);
+        IAxis[] axes = controller.getAxes();
+        for (int i = 0; i < axes.length; i += Long.SIZE) {
+            Lane lane = new Lane(controller.getDeviceID(), Arrays.copyOfRange(axes, i, Math.min(axes.length, i + Long.SIZE)));
+            for (int bit = 0; bit < lane.axes.length; bit++) {
+                slots.put(lane.axes[bit], new Slot(lane, bit));
+            }
+            lanes.add(lane);
+        }
+    }
+
+    /** Removes lanes of the controller, pending moves are discarded. */
+    void unregister(IController controller) {
+        int deviceID = controller.getDeviceID();
+        for (Lane lane : lanes) {
+            if (lane.deviceID == deviceID) {
+                lanes.remove(lane);
+                for (IAxis axis : lane.axes) {
+                    slots.remove(axis);
+                }
+            }
+        }
+    }
+
+    /**
+     * Marks the axis moved, called by any thread.
+     *
+     * @param timestamp when the axis moved
+     * @return false if the axis is not registered
+     */
+    boolean offer(IAxis axis, StickID stick, long timestamp) {
+        Slot slot = slots.get(axis);
+        if (slot == null) {
+            return false;
+        }
+        Lane lane = slot.lane;
+        lane.sticks[slot.bit] = stick;
+        lane.times[slot.bit] = timestamp;
+        lane.dirty.getAndAccumulate(1L << slot.bit, (x, y) -> x | y);
+        return true;
+    }
+
+    /**
+     * Calls listeners once per axis moved since the last drain, called by the consumer thread only.
+     *
+     * @return number of axes delivered
+     */
+    int drain(ControllerListenerSupport listenerSupport) {
+        int count = 0;
+        for (Lane lane : lanes) {
+            long dirty = lane.dirty.getAndSet(0);
+            while (dirty != 0) {
+                int bit = Long.numberOfTrailingZeros(dirty);
+                dirty &= dirty - 1;
+                listenerSupport.fireMoveStick(lane.axes[bit], lane.sticks[bit], lane.times[bit]);
+                count++;
+            }
+        }
+        return count;
+    }
+}
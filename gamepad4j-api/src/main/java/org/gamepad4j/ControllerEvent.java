@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+/**
+ * An input event of a controller published by {@link ControllerEventPublisher}.
+ * <p>
+ * Events are pooled, an instance is valid only during
+ * {@link java.util.concurrent.Flow.Subscriber#onNext(Object) onNext} and is reused after that.
+ * Use {@link #toInputEvent(long)} to keep it.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+public final class ControllerEvent {
+
+    private InputEvent.Type type;
+
+    private IController controller;
+
+    private IComponent component;
+
+    private Identifier id;
+
+    private float value;
+
+    private long timestamp;
+
+    /** */
+    ControllerEvent() {
+    }
+
+    /** */
+    void set(InputEvent.Type type, IController controller, IComponent component, Identifier id, float value, long timestamp) {
+        this.type = type;
+        this.controller = controller;
+        this.component = component;
+        this.id = id;
+        this.value = value;
+        this.timestamp = timestamp;
+    }
+
+    /** */
+    void update(float value, long timestamp) {
+        this.value = value;
+        this.timestamp = timestamp;
+    }
+
+    /** */
+    void clear() {
+        set(null, null, null, null, 0, 0);
+    }
+
+    /** Returns the kind of the event. */
+    public InputEvent.Type getType() {
+        return type;
+    }
+
+    /** Returns the controller of the event. */
+    public IController getController() {
+        return controller;
+    }
+
+    /** Returns {@link IButton} or {@link IAxis}. */
+    public IComponent getComponent() {
+        return component;
+    }
+
+    /** Returns {@link ButtonID} or {@link StickID}. */
+    public Identifier getId() {
+        return id;
+    }
+
+    /** Returns the axis value when the event happened, 1 or 0 for buttons. */
+    public float getValue() {
+        return value;
+    }
+
+    /** Returns when the event happened, in {@link System#nanoTime()} time base. */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /** Returns an immutable copy. */
+    public InputEvent toInputEvent(long sequence) {
+        return new InputEvent(sequence, timestamp, controller, type, component, id, value);
+    }
+
+    @Override
+    public String toString() {
+        return type + ": " + id + " = " + value + " @" + timestamp;
+    }
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.gamepad4j.util.Clock;
+
+
+/**
+ * Publishes input events of a controller or of all controllers of an environment
+ * to {@link Flow.Subscriber}s, e.g. to feed reactive pipelines.
+ * <p>
+ * Each subscription has a bounded buffer of preallocated events, events are kept there
+ * while the subscriber has no demand and handled by the {@link Overflow overflow policy}
+ * of the subscription when the buffer is full. Events are delivered on the thread firing
+ * the input or on the thread calling {@link Flow.Subscription#request(long)}, one at a time.
+ * Delivered {@link ControllerEvent}s are reused, streaming does not allocate.
+ * The publisher never completes, cancel the subscription when done.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ * @see IController#events()
+ * @see Controllers#events()
+ */
+public final class ControllerEventPublisher implements Flow.Publisher<ControllerEvent> {
+
+    private static final Logger logger = Logger.getLogger(ControllerEventPublisher.class.getName());
+
+    /** Default capacity of the buffer of a subscription. */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /** What a subscription does when an event does not fit its buffer. */
+    public enum Overflow {
+        /** keeps buffered events and drops new ones */
+        BUFFER,
+        /** drops the oldest buffered event */
+        DROP_OLDEST,
+        /**
+         * keeps at most one pending event per axis which is updated by newer moves,
+         * other events are handled as {@link #BUFFER}
+         */
+        CONFLATE_AXES
+    }
+
+    /** the controller, null for an environment */
+    private final IController controller;
+
+    /** the environment, null for a controller */
+    private final Controllers controllers;
+
+    /** stamps events notified without a timestamp, the clock of the environment or of the controller */
+    private final Clock clock;
+
+    /** live subscriptions */
+    private final List<EventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /** publishes events of the controller */
+    ControllerEventPublisher(IController controller) {
+        this.controller = Objects.requireNonNull(controller);
+        this.controllers = null;
+        this.clock = controller.getClock();
+    }
+
+    /** publishes events of all controllers of the environment */
+    ControllerEventPublisher(Controllers controllers) {
+        this.controller = null;
+        this.controllers = Objects.requireNonNull(controllers);
+        this.clock = controllers.getClock();
+    }
+
+    /** Subscribes with {@link Overflow#BUFFER} and {@link #DEFAULT_CAPACITY}. */
+    @Override
+    public void subscribe(Flow.Subscriber<? super ControllerEvent> subscriber) {
+        subscribe(subscriber, Overflow.BUFFER, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Subscribes with the overflow policy.
+     *
+     * @param overflow what to do when the buffer is full
+     * @param capacity maximum number of buffered events, rounded up to a power of 2
+     */
+    public void subscribe(Flow.Subscriber<? super ControllerEvent> subscriber, Overflow overflow, int capacity) {
+        EventSubscription subscription = new EventSubscription(subscriber, overflow, capacity);
+        subscriptions.add(subscription);
+        subscriber.onSubscribe(subscription);
+        if (controller != null) {
+            subscription.register(controller);
+        } else {
+            controllers.openSubscription(subscription);
+        }
+        if (subscription.cancelled) {
+            subscription.cancel();
+        }
+    }
+
+    /** Returns number of events dropped by live subscriptions because a buffer was full. */
+    public long getOverflowCount() {
+        long count = 0;
+        for (EventSubscription subscription : subscriptions) {
+            count += subscription.overflowCount.sum();
+        }
+        return count;
+    }
+
+    /** A subscription, registered to controllers. */
+    final class EventSubscription implements Flow.Subscription {
+
+        /** Registered to a controller. */
+        private final class Feed implements IControllerListener {
+            final IController controller;
+
+            Feed(IController controller) {
+                this.controller = controller;
+            }
+
+            @Override public void buttonDown(IButton button, ButtonID buttonID) {
+                buttonDown(button, buttonID, clock.nanoTime());
+            }
+
+            @Override public void buttonUp(IButton button, ButtonID buttonID) {
+                buttonUp(button, buttonID, clock.nanoTime());
+            }
+
+            @Override public void moveStick(IAxis axis, StickID stick) {
+                moveStick(axis, stick, clock.nanoTime());
+            }
+
+            @Override public void buttonDown(IButton button, ButtonID buttonID, long timestamp) {
+                offer(InputEvent.Type.BUTTON_DOWN, controller, button, buttonID, 1, timestamp);
+            }
+
+            @Override public void buttonUp(IButton button, ButtonID buttonID, long timestamp) {
+                offer(InputEvent.Type.BUTTON_UP, controller, button, buttonID, 0, timestamp);
+            }
+
+            @Override public void moveStick(IAxis axis, StickID stick, long timestamp) {
+                offer(InputEvent.Type.MOVE_STICK, controller, axis, stick, axis.getValue(), timestamp);
+            }
+        }
+
+        private final Flow.Subscriber<? super ControllerEvent> subscriber;
+
+        private final Overflow overflow;
+
+        /** ring of preallocated events, guarded by this */
+        private final ControllerEvent[] slots;
+
+        private final int mask;
+
+        /** next position to poll, guarded by this */
+        private long head;
+
+        /** next position to offer, guarded by this */
+        private long tail;
+
+        /** replaces a polled slot while it is delivered, used by the draining thread only */
+        private ControllerEvent spare = new ControllerEvent();
+
+        /** pending event of each axis for {@link Overflow#CONFLATE_AXES}, guarded by this */
+        private final Map<IComponent, ControllerEvent> pendingAxes;
+
+        /** requested and not delivered number of events */
+        private final AtomicLong demand = new AtomicLong();
+
+        /** serializes signals to the subscriber */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        /** error to be signaled */
+        private volatile Throwable error;
+
+        private volatile boolean cancelled;
+
+        /** number of dropped events */
+        final LongAdder overflowCount = new LongAdder();
+
+        /** registered listeners by controller */
+        private final Map<IController, Feed> feeds = new ConcurrentHashMap<>();
+
+        /** @param capacity rounded up to a power of 2 */
+        EventSubscription(Flow.Subscriber<? super ControllerEvent> subscriber, Overflow overflow, int capacity) {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("capacity: " + capacity);
+            }
+            this.subscriber = Objects.requireNonNull(subscriber);
+            this.overflow = Objects.requireNonNull(overflow);
+            int size = Integer.highestOneBit(capacity - 1) << 1;
+            if (size == 0) {
+                size = 1;
+            }
+            this.mask = size - 1;
+            this.slots = new ControllerEvent[size];
+            for (int i = 0; i < size; i++) {
+                slots[i] = new ControllerEvent();
+            }
+            this.pendingAxes = overflow == Overflow.CONFLATE_AXES ? new IdentityHashMap<>(size * 2) : null;
+        }
+
+        /** Starts publishing events of the controller. */
+        void register(IController controller) {
+            if (cancelled) {
+                return;
+            }
+            Feed feed = new Feed(controller);
+            if (feeds.putIfAbsent(controller, feed) == null) {
+                controller.addListener(feed);
+            }
+        }
+
+        /** Stops publishing events of the controller. */
+        void unregister(IController controller) {
+            Feed feed = feeds.remove(controller);
+            if (feed != null) {
+                controller.removeListener(feed);
+            }
+        }
+
+        /** Buffers an event, called on firing threads. */
+        private void offer(InputEvent.Type type, IController controller, IComponent component, Identifier id, float value, long timestamp) {
+            if (cancelled) {
+                return;
+            }
+            synchronized (this) {
+                boolean conflate = pendingAxes != null && type == InputEvent.Type.MOVE_STICK;
+                ControllerEvent pending = conflate ? pendingAxes.get(component) : null;
+                if (pending != null) {
+                    pending.update(value, timestamp);
+                } else {
+                    if (tail - head == slots.length) {
+                        overflowCount.increment();
+                        if (overflow != Overflow.DROP_OLDEST) {
+                            return;
+                        }
+                        head++;
+                    }
+                    ControllerEvent event = slots[(int) tail & mask];
+                    event.set(type, controller, component, id, value, timestamp);
+                    tail++;
+                    if (conflate) {
+                        pendingAxes.put(component, event);
+                    }
+                }
+            }
+            drain();
+        }
+
+        /** Takes the oldest event, null if none. */
+        private synchronized ControllerEvent poll() {
+            if (head == tail) {
+                return null;
+            }
+            int index = (int) head & mask;
+            ControllerEvent event = slots[index];
+            slots[index] = spare;
+            head++;
+            if (pendingAxes != null && event.getType() == InputEvent.Type.MOVE_STICK) {
+                pendingAxes.remove(event.getComponent());
+            }
+            return event;
+        }
+
+        /** Delivers buffered events as demanded, on one thread at a time. */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (!cancelled) {
+                    Throwable error = this.error;
+                    if (error != null) {
+                        cancel();
+                        subscriber.onError(error);
+                        break;
+                    }
+                    if (demand.get() == 0) {
+                        break;
+                    }
+                    ControllerEvent event = poll();
+                    if (event == null) {
+                        break;
+                    }
+                    try {
+                        subscriber.onNext(event);
+                    } catch (Throwable t) {
+                        logger.log(Level.WARNING, t.getMessage(), t);
+                        cancel();
+                    } finally {
+                        event.clear();
+                        spare = event;
+                    }
+                    if (demand.get() != Long.MAX_VALUE) {
+                        demand.decrementAndGet();
+                    }
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("non-positive request: " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, add) -> {
+                    long sum = current + add;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            if (controllers != null) {
+                controllers.closeSubscription(this);
+            }
+            for (IController controller : feeds.keySet()) {
+                unregister(controller);
+            }
+        }
+    }
+}
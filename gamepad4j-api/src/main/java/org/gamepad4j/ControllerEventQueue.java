@@ -0,0 +1,246 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.gamepad4j.util.LatencyStatistics;
+
+
+/**
+ * Bounded multi producer single consumer queue of controller input events.
+ * <p>
+ * Events are kept in preallocated slots with the time they happened and the axis value at that time, offering does not allocate nor lock.
+ * When the queue is full, new events are dropped and counted. Draining fires the timestamped
+ * listener methods, so listeners see when an event happened, not when it was dispatched.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ * @see "https://www.1024cores.net/home/lock-free-algorithms/queues/bounded-mpmc-queue"
+ */
+final class ControllerEventQueue {
+
+    static final int BUTTON_DOWN = 0;
+    static final int BUTTON_UP = 1;
+    static final int MOVE_STICK = 2;
+
+    /** Receives a polled event. */
+    interface Sink {
+        /**
+         * @param value the axis value when offered, 1 or 0 for buttons
+         * @param time when the event happened
+         */
+        void accept(int kind, Object component, Object id, float value, long time);
+    }
+
+    /** slot / position + 1 when filled, position + capacity when free */
+    private final AtomicLongArray sequences;
+
+    private final int[] kinds;
+
+    /** {@link IButton} or {@link IAxis} */
+    private final Object[] components;
+
+    /** {@link ButtonID} or {@link StickID} */
+    private final Object[] ids;
+
+    private final int mask;
+
+    /** next position to offer */
+    private final AtomicLong tail = new AtomicLong();
+
+    /** when events happened */
+    private final long[] times;
+
+    /** axis values when offered */
+    private final float[] values;
+
+    /** next position to poll, written by the consumer only */
+    private volatile long head;
+
+    /** number of dropped events */
+    private final LongAdder overflow = new LongAdder();
+
+    /** @param capacity rounded up to a power of 2 */
+    ControllerEventQueue(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        if (size == 0) {
+            size = 1;
+        }
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.kinds = new int[size];
+        this.components = new Object[size];
+        this.ids = new Object[size];
+        this.times = new long[size];
+        this.values = new float[size];
+    }
+
+    /** */
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Adds an event, called by any thread. The value of an axis is taken now,
+     * on the firing thread, so that a consumer does not read a newer one.
+     *
+     * @param time when the event happened, in the time base of the clock of the environment
+     * @return false if the queue is full and the event is dropped
+     */
+    boolean offer(int kind, Object component, Object id, long time) {
+        long position;
+        int slot;
+        while (true) {
+            position = tail.get();
+            slot = (int) position & mask;
+            long difference = sequences.get(slot) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (difference < 0) {
+                overflow.increment();
+                return false;
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+        kinds[slot] = kind;
+        components[slot] = component;
+        ids[slot] = id;
+        times[slot] = time;
+        values[slot] = kind == MOVE_STICK ? ((IAxis) component).getValue() : kind == BUTTON_DOWN ? 1 : 0;
+        sequences.lazySet(slot, position + 1);
+        return true;
+    }
+
+    /**
+     * Delivers queued events in order to the listener support, called by the consumer thread only.
+     * Events offered while draining are delivered too, up to the capacity.
+     *
+     * @return number of events delivered
+     */
+    int drain(ControllerListenerSupport listenerSupport) {
+        return drain(listenerSupport, null);
+    }
+
+    /**
+     * Delivers queued events in order to the listener support, called by the consumer thread only.
+     * Events offered while draining are delivered too, up to the capacity.
+     *
+     * @param latency records time from the event to delivery by the clock of the listener support, nullable
+     * @return number of events delivered
+     */
+    int drain(ControllerListenerSupport listenerSupport, LatencyStatistics latency) {
+        return drain(listenerSupport, latency, capacity());
+    }
+
+    /**
+     * Delivers up to max queued events in order to the listener support, called by the consumer thread only.
+     *
+     * @param latency records time from the event to delivery by the clock of the listener support, nullable
+     * @param max maximum number of events to deliver, up to the capacity
+     * @return number of events delivered
+     */
+    int drain(ControllerListenerSupport listenerSupport, LatencyStatistics latency, int max) {
+        long head = this.head;
+        int count = 0;
+        max = Math.min(max, mask + 1);
+        try {
+            for (int i = 0; i < max; i++) {
+                int slot = (int) head & mask;
+                if (sequences.get(slot) != head + 1) {
+                    break;
+                }
+                int kind = kinds[slot];
+                Object component = components[slot];
+                Object id = ids[slot];
+                long time = times[slot];
+                components[slot] = null;
+                ids[slot] = null;
+                sequences.lazySet(slot, head + mask + 1);
+                head++;
+
+                if (latency != null) {
+                    latency.record(listenerSupport.getClock().nanoTime() - time);
+                }
+                switch (kind) {
+                case BUTTON_DOWN -> listenerSupport.fireButtonDown((IButton) component, (ButtonID) id, time);
+                case BUTTON_UP -> listenerSupport.fireButtonUp((IButton) component, (ButtonID) id, time);
+                case MOVE_STICK -> listenerSupport.fireMoveStick((IAxis) component, (StickID) id, time);
+                }
+                count++;
+            }
+        } finally {
+            this.head = head;
+        }
+        return count;
+    }
+
+    /**
+     * Removes the first event, called by the consumer thread only.
+     *
+     * @return false if no event is pending
+     */
+    boolean poll(Sink sink) {
+        long head = this.head;
+        int slot = (int) head & mask;
+        if (sequences.get(slot) != head + 1) {
+            return false;
+        }
+        int kind = kinds[slot];
+        Object component = components[slot];
+        Object id = ids[slot];
+        long time = times[slot];
+        float value = values[slot];
+        components[slot] = null;
+        ids[slot] = null;
+        sequences.lazySet(slot, head + mask + 1);
+        this.head = head + 1;
+        sink.accept(kind, component, id, value, time);
+        return true;
+    }
+
+    /**
+     * Returns the time of the first event, called by the consumer thread only.
+     *
+     * @return {@link Long#MAX_VALUE} if no event is pending
+     */
+    long peekTime() {
+        long head = this.head;
+        int slot = (int) head & mask;
+        if (sequences.get(slot) != head + 1) {
+            return Long.MAX_VALUE;
+        }
+        return times[slot];
+    }
+
+    /** Returns whether no event is pending, called by the consumer thread only. */
+    boolean isEmpty() {
+        long head = this.head;
+        return sequences.get((int) head & mask) != head + 1;
+    }
+
+    /** Returns number of pending events, approximately when called by other than the consumer thread. */
+    int size() {
+        return (int) Math.max(0, Math.min(tail.get() - head, capacity()));
+    }
+
+    /** Returns number of events dropped because the queue was full. */
+    long getOverflowCount() {
+        return overflow.sum();
+    }
+}
@@ -5,27 +5,242 @@
 package org.gamepad4j;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.gamepad4j.FanoutGenerator.Dispatch;
+import org.gamepad4j.util.Clock;
+import org.gamepad4j.util.LatencyStatistics;
 
 
 /**
  * Handles accessing controller listeners.
+ * <p>
+ * A listener is called inline on the firing thread by default. A listener registered
+ * with an {@link Executor} or {@link Delivery#DEDICATED_THREAD} gets its own bounded
+ * queue instead, so it cannot delay other listeners nor the firing thread.
+ * <p>
+ * A listener registered with an {@link Interest} is called only for those components.
+ * Listeners of each button code and axis number are kept in arrays rebuilt on registration,
+ * so firing costs by the number of interested listeners, not of all listeners.
+ * Each array is called through a generated fan-out, see {@link FanoutGenerator}.
+ * <p>
+ * Events fired without a timestamp are stamped by the {@link #setClock(Clock) clock}.
  *
  * @author Marcel Schoen
  * @version $Revision: $
  */
 public final class ControllerListenerSupport {
 
-    /** The list of registered listeners. */
-    private final List<IControllerListener> listeners = new ArrayList<>();
+    /** Default capacity of the queue of an asynchronous listener. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    /** How a listener is called. */
+    public enum Delivery {
+        /** on the firing thread */
+        INLINE,
+        /** on a thread dedicated to the listener */
+        DEDICATED_THREAD
+    }
+
+    /** Metrics of an asynchronous listener. */
+    public interface ListenerMetrics {
+        /** Returns number of events waiting for the listener. */
+        int getQueueDepth();
+        /** Returns number of events dropped because the queue was full. */
+        long getOverflowCount();
+        /** Returns time from firing to calling the listener, see {@link LatencyStatistics#getMax()}. */
+        LatencyStatistics getLatency();
+    }
+
+    /** for dedicated thread names */
+    private static final AtomicInteger threadNumber = new AtomicInteger();
+
+    /** A registered listener. */
+    private record Entry(IControllerListener listener, Interest interest) {}
+
+    /** A listener set compared by identity. */
+    private record Listeners(IControllerListener[] array) {
+        @Override public boolean equals(Object other) {
+            if (!(other instanceof Listeners that) || that.array.length != array.length) {
+                return false;
+            }
+            for (int i = 0; i < array.length; i++) {
+                if (array[i] != that.array[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override public int hashCode() {
+            int hash = 1;
+            for (IControllerListener listener : array) {
+                hash = 31 * hash + System.identityHashCode(listener);
+            }
+            return hash;
+        }
+    }
+
+    /** Listeners by component, replaced on registration. */
+    private static final class Table {
+        static final Table EMPTY = new Table(List.of());
+
+        /** calls listeners of buttons which code is not in {@link #buttons} */
+        final Dispatch allButtons;
+        /** calls listeners by button code */
+        final Dispatch[] buttons;
+        /** calls listeners of axes which number is not in {@link #axes} */
+        final Dispatch allAxes;
+        /** calls listeners by axis number */
+        final Dispatch[] axes;
+
+        Table(List<Entry> entries) {
+            int buttonLength = 0;
+            int axisLength = 0;
+            for (Entry entry : entries) {
+                if (!entry.interest.allButtons()) {
+                    buttonLength = Math.max(buttonLength, entry.interest.getButtons().length());
+                }
+                if (!entry.interest.allAxes()) {
+                    axisLength = Math.max(axisLength, entry.interest.getAxes().length());
+                }
+            }
+            // components of the same listeners share a fan-out
+            Map<Listeners, Dispatch> fanouts = new HashMap<>();
+            allButtons = build(entries, -1, true, fanouts);
+            allAxes = build(entries, -1, false, fanouts);
+            buttons = new Dispatch[buttonLength];
+            for (int i = 0; i < buttonLength; i++) {
+                buttons[i] = build(entries, i, true, fanouts);
+            }
+            axes = new Dispatch[axisLength];
+            for (int i = 0; i < axisLength; i++) {
+                axes[i] = build(entries, i, false, fanouts);
+            }
+        }
+
+        /** @param index -1 for listeners of all */
+        private static Dispatch build(List<Entry> entries, int index, boolean button, Map<Listeners, Dispatch> fanouts) {
+            List<IControllerListener> result = new ArrayList<>();
+            for (Entry entry : entries) {
+                BitSet bits = button ? entry.interest.getButtons() : entry.interest.getAxes();
+                if (bits == null || (index >= 0 && bits.get(index))) {
+                    result.add(entry.listener);
+                }
+            }
+            return fanouts.computeIfAbsent(new Listeners(result.toArray(IControllerListener[]::new)), k -> FanoutGenerator.of(k.array));
+        }
+
+        Dispatch buttons(IButton button) {
+            if (button == null) {
+                return allButtons;
+            }
+            int code = button.getCode();
+            return code >= 0 && code < buttons.length ? buttons[code] : allButtons;
+        }
+
+        Dispatch axes(IAxis axis) {
+            if (axis == null) {
+                return allAxes;
+            }
+            int number = axis.getNumber();
+            return number >= 0 && number < axes.length ? axes[number] : allAxes;
+        }
+    }
+
+    /** The list of registered listeners, listeners may be added while firing on another thread. */
+    private final List<Entry> listeners = new CopyOnWriteArrayList<>();
+
+    /** listeners by component, built from {@link #listeners} */
+    private volatile Table table = Table.EMPTY;
+
+    /** stamps events fired without a timestamp */
+    private volatile Clock clock = Clock.system();
+
+    /**
+     * Sets the clock which stamps events fired without a timestamp, {@link Clock#system()} by default.
+     * Listeners called on an executor stamp events and measure their latency by this clock too.
+     */
+    public synchronized void setClock(Clock clock) {
+        this.clock = Objects.requireNonNull(clock);
+        for (Entry entry : listeners) {
+            if (entry.listener instanceof AsyncListener async) {
+                async.setClock(clock);
+            }
+        }
+    }
+
+    /** */
+    public Clock getClock() {
+        return clock;
+    }
+
+    /** */
+    private synchronized void add(IControllerListener listener, Interest interest) {
+        if (listener instanceof AsyncListener async) {
+            async.setClock(clock);
+        }
+        listeners.add(new Entry(listener, interest));
+        table = new Table(listeners);
+    }
 
     /**
-     * Registers a listener for controller events.
+     * Registers a listener for controller events, called on the firing thread.
      *
      * @param listener The controller listener.
      */
     public void addListener(IControllerListener listener) {
-        listeners.add(listener);
+        add(listener, Interest.ALL);
+    }
+
+    /**
+     * Registers a listener for events of the components only, called on the firing thread.
+     *
+     * @param listener The controller listener.
+     * @param interest buttons and axes to be notified
+     */
+    public void addListener(IControllerListener listener, Interest interest) {
+        add(listener, interest);
+    }
+
+    /**
+     * Registers a listener for controller events with the delivery policy.
+     * A dedicated thread is stopped when the listener is removed.
+     *
+     * @param listener The controller listener.
+     * @param delivery how the listener is called
+     */
+    public void addListener(IControllerListener listener, Delivery delivery) {
+        switch (delivery) {
+        case INLINE -> addListener(listener);
+        case DEDICATED_THREAD -> add(new AsyncListener(listener, Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "gamepad4j-listener-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }), true, DEFAULT_CAPACITY), Interest.ALL);
+        }
+    }
+
+    /**
+     * Registers a listener for controller events, called on the executor through a bounded queue
+     * of the listener. The listener is called by one task at a time in order of events,
+     * events which do not fit the queue are dropped.
+     * e.g. {@code Executors.newVirtualThreadPerTaskExecutor()} on java 21 or later.
+     *
+     * @param listener The controller listener.
+     * @param executor executes the listener, not shut down by this
+     * @param capacity maximum number of pending events, rounded up to a power of 2
+     */
+    public void addListener(IControllerListener listener, Executor executor, int capacity) {
+        add(new AsyncListener(listener, executor, false, capacity), Interest.ALL);
     }
 
     /**
@@ -33,28 +248,63 @@ public final class ControllerListenerSupport {
      *
      * @param listener The controller listener to remove.
      */
-    public void removeListener(IControllerListener listener) {
-        listeners.remove(listener);
+    public synchronized void removeListener(IControllerListener listener) {
+        for (Entry entry : listeners) {
+            IControllerListener registered = entry.listener;
+            if (registered.equals(listener)) {
+                listeners.remove(entry);
+                table = new Table(listeners);
+                return;
+            } else if (registered instanceof AsyncListener async && async.listener == listener) {
+                listeners.remove(entry);
+                table = new Table(listeners);
+                async.close();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns metrics of a listener registered with an executor or a dedicated thread.
+     *
+     * @return null if the listener is not registered or called inline
+     */
+    public ListenerMetrics getMetrics(IControllerListener listener) {
+        for (Entry entry : listeners) {
+            if (entry.listener instanceof AsyncListener async && async.listener == listener) {
+                return async;
+            }
+        }
+        return null;
     }
 
     /** @see IControllerListener#buttonDown(IButton, ButtonID) */
     public void fireButtonDown(IButton button, ButtonID buttonID) {
-        for (IControllerListener listener : listeners) {
-            listener.buttonDown(button, buttonID);
-        }
+        fireButtonDown(button, buttonID, clock.nanoTime());
     }
 
     /** @see IControllerListener#buttonUp(IButton, ButtonID) */
     public void fireButtonUp(IButton button, ButtonID buttonID) {
-        for (IControllerListener listener : listeners) {
-            listener.buttonUp(button, buttonID);
-        }
+        fireButtonUp(button, buttonID, clock.nanoTime());
     }
 
     /** @see IControllerListener#moveStick(IAxis, StickID) */
     public void fireMoveStick(IAxis axis, StickID stick) {
-        for (IControllerListener listener : listeners) {
-            listener.moveStick(axis, stick);
-        }
+        fireMoveStick(axis, stick, clock.nanoTime());
+    }
+
+    /** @see IControllerListener#buttonDown(IButton, ButtonID, long) */
+    public void fireButtonDown(IButton button, ButtonID buttonID, long timestamp) {
+        table.buttons(button).buttonDown(button, buttonID, timestamp);
+    }
+
+    /** @see IControllerListener#buttonUp(IButton, ButtonID, long) */
+    public void fireButtonUp(IButton button, ButtonID buttonID, long timestamp) {
+        table.buttons(button).buttonUp(button, buttonID, timestamp);
+    }
+
+    /** @see IControllerListener#moveStick(IAxis, StickID, long) */
+    public void fireMoveStick(IAxis axis, StickID stick, long timestamp) {
+        table.axes(axis).moveStick(axis, stick, timestamp);
     }
 }
@@ -4,27 +4,103 @@
 
 package org.gamepad4j;
 
+import java.io.Closeable;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.gamepad4j.base.AbstractBaseController;
+import org.gamepad4j.base.ControllerRegistry;
+import org.gamepad4j.util.Clock;
+import org.gamepad4j.util.InputSignal;
+
 
 /**
  * Handles instantiating controller instances.
+ * <p>
+ * {@link #instance()} is the root environment, it holds all connected controllers
+ * as a shared pool. A {@link #newSeat(String) seat} is an independent environment
+ * for e.g. a game session, it owns controllers taken from the pool and dispatches
+ * their events on its own thread, so a busy seat does not delay others.
+ * A seat dispatches button events ahead of stick events, taking stick events of its
+ * controllers in turn, so neither a flood of stick events nor a chatty controller delays a button press.
+ * <p>
+ * With {@link #enableEventQueue(int)}, input events are queued instead and
+ * {@link #dispatchPending()} delivers them on the caller's thread, e.g. a game loop.
+ * <p>
+ * Timestamps of events and timing features such as {@link #openMergedStream(long, TimeUnit)} are
+ * based on the {@link #setClock(Clock) clock}, a virtual one lets recorded input be replayed
+ * faster than real time with the same results.
  *
  * @author Marcel Schoen
  * @version $Revision: $
  */
-public final class Controllers {
+public final class Controllers implements Closeable {
 
     private static final Logger logger = Logger.getLogger(Controllers.class.getName());
 
     /** The controller provider implementation. */
     private final IControllerProvider controllerProvider;
 
-    /** Singleton instance of this class. */
-    private static final Controllers instance = new Controllers();
+    /** Connected controllers indexed by deviceID and model, maintained on connect/disconnect. */
+    private final ControllerRegistry<IController> registry = new ControllerRegistry<>();
+
+    /** The root environment for a seat, null for the root. */
+    private final Controllers root;
+
+    /** The name of the seat, "root" for the root. */
+    private final String name;
+
+    /** Stores controllers listener support of a seat. */
+    private final ControllersListenerSupport listenerSupport;
+
+    /** Stores controller listener support for all controllers of this environment. */
+    private final ControllerListenerSupport controllerListenerSupport = new ControllerListenerSupport();
+
+    /** Dispatches events of a seat, null for the root. */
+    private final ExecutorService dispatcher;
+
+    /** Input events of a seat waiting for the dispatcher, null for the root. */
+    private final PriorityLanes lanes;
+
+    /** Wakes up threads in {@link #awaitInput(long, TimeUnit)}. */
+    private final InputSignal inputSignal = new InputSignal();
+
+    /** Input events to be dispatched by {@link #dispatchPending()}, null if not enabled. */
+    private volatile ControllerEventQueue eventQueue;
+
+    /** Moved axes to be dispatched by {@link #dispatchPending()}, null if axes are queued as is. */
+    private volatile AxisConflater conflater;
+
+    /** Opened merged streams. */
+    private final List<MergedEventStream> streams = new CopyOnWriteArrayList<>();
+
+    /** Subscriptions of {@link #events()}. */
+    private final List<ControllerEventPublisher.EventSubscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    /** Low level listeners registered to all controllers of this environment. */
+    private final List<IInputListener> inputListeners = new CopyOnWriteArrayList<>();
+
+    /** Identities of controllers assigned to a seat, to take them back when reconnected. */
+    private final Set<String> identities;
+
+    /** The time base of timestamps. */
+    private volatile Clock clock = Clock.system();
+
+    /** Holds the singleton instance of this class, created on the first {@link #instance()} call. */
+    private static final class Holder {
+        static final Controllers instance = new Controllers();
+    }
 
     /**
      * Initializes the controller factory. Must be called once
@@ -33,57 +109,641 @@ public final class Controllers {
      * @throws IllegalStateException no provider or something wrong.
      */
     private Controllers() {
+        this(loadProvider());
+    }
+
+    /** Finds the first supported provider. */
+    private static IControllerProvider loadProvider() {
+        for (IControllerProvider controllerProvider : ServiceLoader.load(IControllerProvider.class)) {
+            // TODO only one provider is activated
+            if (controllerProvider.isSupported()) {
+                return controllerProvider;
+            }
+        }
+        throw new IllegalStateException("no suitable provider");
+    }
+
+    /**
+     * Creates the root environment.
+     *
+     * @param controllerProvider provider to be opened
+     * @throws IllegalStateException something wrong.
+     */
+    Controllers(IControllerProvider controllerProvider) {
+        this.root = null;
+        this.name = "root";
+        this.listenerSupport = null;
+        this.dispatcher = null;
+        this.lanes = null;
+        this.identities = null;
         try {
-            for (IControllerProvider controllerProvider : ServiceLoader.load(IControllerProvider.class)) {
-                // TODO only one provider is activated
-                if (controllerProvider.isSupported()) {
-                    controllerProvider.open();
-                    this.controllerProvider = controllerProvider;
-                    logger.fine("Controller provider ready: " + controllerProvider.getClass().getName());
-                    return;
+            controllerProvider.addListener(new IControllersListener() {
+                @Override
+                public void connected(IController controller) {
+                    register(controller);
+                }
+
+                @Override
+                public void disConnected(IController controller) {
+                    synchronized (registry) {
+                        // not another one reconnected with the deviceID
+                        if (registry.get(controller.getDeviceID()) == controller) {
+                            registry.remove(controller.getDeviceID());
+                        }
+                        detach(controller);
+                    }
                 }
+            });
+            controllerProvider.open();
+            // ones connected before the listener, the notifier may be delivering them at the same time
+            for (IController controller : controllerProvider.getControllers()) {
+                register(controller);
             }
-            throw new IllegalStateException("no suitable provider");
+            this.controllerProvider = controllerProvider;
+            logger.fine("Controller provider ready: " + controllerProvider.getClass().getName());
         } catch (Exception e) {
             logger.log(Level.FINER, e.toString(), e);
             throw new IllegalStateException("Failed to initialize controller provider instance", e);
         }
     }
 
+    /** Registers and attaches the controller unless it is registered already. */
+    private void register(IController controller) {
+        synchronized (registry) {
+            if (registry.add(controller)) {
+                attach(controller);
+            }
+        }
+    }
+
+    /** Creates a seat. */
+    private Controllers(Controllers root, String name) {
+        this.root = root;
+        this.name = name;
+        this.controllerProvider = root.controllerProvider;
+        this.listenerSupport = new ControllersListenerSupport();
+        setClock(root.clock);
+        this.dispatcher = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "gamepad4j-seat-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.lanes = new PriorityLanes(controllerListenerSupport, dispatcher);
+        this.identities = ConcurrentHashMap.newKeySet();
+        root.addListener(poolListener);
+    }
+
     /**
      * Returns the Controllers instance.
      */
     public static Controllers instance() {
-        return instance;
+        return Holder.instance;
     }
 
     /**
-     * Returns all the available controllers.
+     * Creates a new seat, initially it has no controllers.
      *
-     * @return The available controllers.
+     * @param name name of the seat, used for the dispatch thread name
+     * @throws IllegalStateException this is not the root
+     * @see #assign(IController)
      */
-    public IController[] getControllers() {
-        return controllerProvider.getControllers();
+    public Controllers newSeat(String name) {
+        checkRoot();
+        return new Controllers(this, name);
     }
 
     /** */
-    public IController getController(int mid, int pid) {
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Sets the time base of timestamps and timing features of this environment, call this before
+     * streams are opened. {@link Clock#system()} by default, a seat takes the clock of the root.
+     * Backends stamp input events by their own clock, controllers stamp events notified without
+     * a timestamp by this clock.
+     */
+    public void setClock(Clock clock) {
+        this.clock = Objects.requireNonNull(clock);
+        controllerListenerSupport.setClock(clock);
         for (IController controller : getControllers()) {
-logger.fine(String.format("%s: %4x, %4x%n", controller.getDescription(), controller.getVendorID(), controller.getProductID()));
-            if (controller.getVendorID() == mid && controller.getProductID() == pid) {
-                return controller;
+            if (controller instanceof AbstractBaseController base) {
+                base.setClock(clock);
+            }
+        }
+    }
+
+    /** */
+    public Clock getClock() {
+        return clock;
+    }
+
+    /** Returns whether this is a seat or the root. */
+    public boolean isSeat() {
+        return root != null;
+    }
+
+    /** */
+    private void checkRoot() {
+        if (root != null) {
+            throw new IllegalStateException("not root: " + name);
+        }
+    }
+
+    /** */
+    private void checkSeat() {
+        if (root == null) {
+            throw new IllegalStateException("not a seat");
+        }
+    }
+
+    /** Watches the pool for a seat. */
+    private final IControllersListener poolListener = new IControllersListener() {
+        @Override
+        public void connected(IController controller) {
+            synchronized (Controllers.this) {
+                String identity = controller.getIdentity();
+                if (identity != null && identities.contains(identity) && root.claim(controller)) {
+logger.fine(name + ": reconnected: " + identity);
+                    add(controller);
+                }
+            }
+        }
+
+        @Override
+        public void disConnected(IController controller) {
+            synchronized (Controllers.this) {
+                if (registry.remove(controller.getDeviceID()) != null) {
+                    detach(controller);
+                    dispatcher.execute(() -> listenerSupport.fireDisconnected(controller));
+                }
             }
         }
-        throw new NoSuchElementException(String.format("no device: mid: %1$d(0x%1$x), pid: %2$d(0x%2$x))", mid, pid));
+    };
+
+    /**
+     * Forwards input events of controllers to the event queue if enabled, otherwise
+     * to the seat's dispatch thread, or to listeners directly for the root.
+     */
+    private final IControllerListener forwarder = new IControllerListener() {
+        @Override
+        public void buttonDown(IButton button, ButtonID buttonID) {
+            buttonDown(button, buttonID, clock.nanoTime());
+        }
+
+        @Override
+        public void buttonUp(IButton button, ButtonID buttonID) {
+            buttonUp(button, buttonID, clock.nanoTime());
+        }
+
+        @Override
+        public void moveStick(IAxis axis, StickID stick) {
+            moveStick(axis, stick, clock.nanoTime());
+        }
+
+        @Override
+        public void buttonDown(IButton button, ButtonID buttonID, long timestamp) {
+            forward(ControllerEventQueue.BUTTON_DOWN, button, buttonID, timestamp);
+        }
+
+        @Override
+        public void buttonUp(IButton button, ButtonID buttonID, long timestamp) {
+            forward(ControllerEventQueue.BUTTON_UP, button, buttonID, timestamp);
+        }
+
+        @Override
+        public void moveStick(IAxis axis, StickID stick, long timestamp) {
+            forward(ControllerEventQueue.MOVE_STICK, axis, stick, timestamp);
+        }
+    };
+
+    /** Starts forwarding input events of the controller. */
+    private void attach(IController controller) {
+        if (controller instanceof AbstractBaseController base) {
+            base.setClock(clock);
+        }
+        AxisConflater conflater = this.conflater;
+        if (conflater != null) {
+            conflater.register(controller);
+        }
+        if (lanes != null) {
+            lanes.register(controller);
+        }
+        for (MergedEventStream stream : streams) {
+            stream.register(controller);
+        }
+        for (ControllerEventPublisher.EventSubscription subscription : subscriptions) {
+            subscription.register(controller);
+        }
+        for (IInputListener listener : inputListeners) {
+            controller.addInputListener(listener);
+        }
+        controller.addListener(forwarder);
+    }
+
+    /** Stops forwarding input events of the controller. */
+    private void detach(IController controller) {
+        controller.removeListener(forwarder);
+        AxisConflater conflater = this.conflater;
+        if (conflater != null) {
+            conflater.unregister(controller);
+        }
+        if (lanes != null) {
+            lanes.unregister(controller);
+        }
+        for (MergedEventStream stream : streams) {
+            stream.unregister(controller);
+        }
+        for (ControllerEventPublisher.EventSubscription subscription : subscriptions) {
+            subscription.unregister(controller);
+        }
+        for (IInputListener listener : inputListeners) {
+            controller.removeInputListener(listener);
+        }
+    }
+
+    /** Queued events keep the timestamp too. */
+    private void forward(int kind, Object component, Object id, long timestamp) {
+        inputSignal.signal();
+        ControllerEventQueue eventQueue = this.eventQueue;
+        if (eventQueue != null) {
+            AxisConflater conflater = this.conflater;
+            if (kind == ControllerEventQueue.MOVE_STICK && conflater != null && conflater.offer((IAxis) component, (StickID) id, timestamp)) {
+                return;
+            }
+            eventQueue.offer(kind, component, id, timestamp);
+        } else if (lanes != null) {
+            lanes.offer(kind, component, id, timestamp);
+        } else {
+            fire(kind, component, id, timestamp);
+        }
+    }
+
+    /** */
+    private void fire(int kind, Object component, Object id, long timestamp) {
+        switch (kind) {
+        case ControllerEventQueue.BUTTON_DOWN -> controllerListenerSupport.fireButtonDown((IButton) component, (ButtonID) id, timestamp);
+        case ControllerEventQueue.BUTTON_UP -> controllerListenerSupport.fireButtonUp((IButton) component, (ButtonID) id, timestamp);
+        case ControllerEventQueue.MOVE_STICK -> controllerListenerSupport.fireMoveStick((IAxis) component, (StickID) id, timestamp);
+        }
+    }
+
+    /**
+     * Blocks the caller until any controller of this environment reports input, without polling.
+     * Threads delivering input events unpark the caller directly, so an idle caller uses no cpu.
+     * In pump mode, nothing arrives while the caller waits.
+     *
+     * @return false if timed out
+     * @throws InterruptedException the current thread is interrupted
+     * @see IController#awaitInput(long, TimeUnit)
+     */
+    public boolean awaitInput(long timeout, TimeUnit unit) throws InterruptedException {
+        return inputSignal.await(timeout, unit);
+    }
+
+    /**
+     * Queues input events of controllers of this environment from now on, they are delivered
+     * to {@link #addControllerListener(IControllerListener) controller listeners} only by
+     * {@link #dispatchPending()}. Events which do not fit are dropped and counted.
+     *
+     * @param capacity maximum number of pending events, rounded up to a power of 2
+     * @throws IllegalStateException already enabled
+     */
+    public void enableEventQueue(int capacity) {
+        enableEventQueue(capacity, false);
+    }
+
+    /**
+     * Queues input events of controllers of this environment from now on, they are delivered
+     * to {@link #addControllerListener(IControllerListener) controller listeners} only by
+     * {@link #dispatchPending()}. Events which do not fit are dropped and counted.
+     * <p>
+     * When axes are conflated, buttons are queued as is but only the fact that an axis moved
+     * is kept, {@link #dispatchPending()} delivers each moved axis once after pending buttons,
+     * and listeners read the newest value from the axis. Memory does not grow with the input rate
+     * of sticks, and a dispatcher which fell behind catches up in one call.
+     *
+     * @param capacity maximum number of pending button events, rounded up to a power of 2
+     * @param conflateAxes deliver only the latest state of moved axes
+     * @throws IllegalStateException already enabled
+     */
+    public synchronized void enableEventQueue(int capacity, boolean conflateAxes) {
+        if (eventQueue != null) {
+            throw new IllegalStateException("already enabled: " + name);
+        }
+        if (conflateAxes) {
+            AxisConflater conflater = new AxisConflater();
+            this.conflater = conflater;
+            for (IController controller : registry.getControllers()) {
+                conflater.register(controller);
+            }
+        }
+        eventQueue = new ControllerEventQueue(capacity);
+    }
+
+    /**
+     * Calls controller listeners for queued input events in order on the caller's thread.
+     * Call this from one thread only, e.g. once per frame of a game loop.
+     *
+     * @return number of events dispatched
+     * @throws IllegalStateException the event queue is not enabled
+     */
+    public int dispatchPending() {
+        ControllerEventQueue eventQueue = this.eventQueue;
+        if (eventQueue == null) {
+            throw new IllegalStateException("event queue is not enabled: " + name);
+        }
+        int count = eventQueue.drain(controllerListenerSupport);
+        AxisConflater conflater = this.conflater;
+        if (conflater != null) {
+            count += conflater.drain(controllerListenerSupport);
+        }
+        return count;
+    }
+
+    /**
+     * Starts merging input events of all controllers of this environment into a stream ordered by
+     * their timestamps, e.g. to decide which player pressed first. Close the stream when done.
+     *
+     * @param window how long an event is held for earlier events of other controllers to arrive,
+     *               the delay of the stream when not all controllers are active
+     * @see MergedEventStream
+     */
+    public synchronized MergedEventStream openMergedStream(long window, TimeUnit unit) {
+        MergedEventStream stream = new MergedEventStream(this, unit.toNanos(window));
+        streams.add(stream);
+        for (IController controller : registry.getControllers()) {
+            stream.register(controller);
+        }
+        return stream;
+    }
+
+    /** */
+    synchronized void closeMergedStream(MergedEventStream stream) {
+        streams.remove(stream);
+    }
+
+    /**
+     * Returns a publisher of input events of all controllers of this environment, with backpressure.
+     * Events are published on the threads delivering input of each controller.
+     *
+     * @see ControllerEventPublisher
+     */
+    public ControllerEventPublisher events() {
+        return new ControllerEventPublisher(this);
+    }
+
+    /** */
+    synchronized void openSubscription(ControllerEventPublisher.EventSubscription subscription) {
+        subscriptions.add(subscription);
+        for (IController controller : registry.getControllers()) {
+            subscription.register(controller);
+        }
+    }
+
+    /** */
+    synchronized void closeSubscription(ControllerEventPublisher.EventSubscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    /** Returns number of input events dropped because the event queue or a lane of a seat was full. */
+    public long getOverflowCount() {
+        ControllerEventQueue eventQueue = this.eventQueue;
+        return (eventQueue == null ? 0 : eventQueue.getOverflowCount()) + (lanes == null ? 0 : lanes.getOverflowCount());
+    }
+
+    /** */
+    private void add(IController controller) {
+        registry.put(controller);
+        attach(controller);
+        dispatcher.execute(() -> listenerSupport.fireConnected(controller));
+    }
+
+    /**
+     * Moves a controller from the pool to this seat. The controller comes back
+     * to this seat automatically when it is reconnected.
+     *
+     * @return false if the controller is not in the pool
+     * @throws IllegalStateException this is not a seat
+     */
+    public synchronized boolean assign(IController controller) {
+        checkSeat();
+        if (!root.claim(controller)) {
+            return false;
+        }
+        if (controller.getIdentity() != null) {
+            identities.add(controller.getIdentity());
+        }
+        add(controller);
+        return true;
+    }
+
+    /**
+     * Returns a controller of this seat to the pool.
+     *
+     * @return false if the controller is not in this seat
+     * @throws IllegalStateException this is not a seat
+     */
+    public synchronized boolean unassign(IController controller) {
+        checkSeat();
+        if (controller.getIdentity() != null) {
+            identities.remove(controller.getIdentity());
+        }
+        if (registry.remove(controller.getDeviceID()) == null) {
+            return false;
+        }
+        detach(controller);
+        root.release(controller);
+        dispatcher.execute(() -> listenerSupport.fireDisconnected(controller));
+        return true;
+    }
+
+    /**
+     * Registers a listener for input events of all controllers in this environment.
+     * The listener is called by {@link #dispatchPending()} if the event queue is enabled,
+     * otherwise on the seat's dispatch thread, or on native threads for the root.
+     */
+    public void addControllerListener(IControllerListener listener) {
+        controllerListenerSupport.addListener(listener);
+    }
+
+    /**
+     * Registers a listener for input events of the buttons and axes only of all controllers in this environment.
+     *
+     * @see ControllerListenerSupport#addListener(IControllerListener, Interest)
+     */
+    public void addControllerListener(IControllerListener listener, Interest interest) {
+        controllerListenerSupport.addListener(listener, interest);
+    }
+
+    /**
+     * Registers a listener for input events of all controllers in this environment with the delivery policy.
+     *
+     * @see ControllerListenerSupport#addListener(IControllerListener, ControllerListenerSupport.Delivery)
+     */
+    public void addControllerListener(IControllerListener listener, ControllerListenerSupport.Delivery delivery) {
+        controllerListenerSupport.addListener(listener, delivery);
+    }
+
+    /**
+     * Registers a listener for input events of all controllers in this environment,
+     * called on the executor through a bounded queue of the listener.
+     *
+     * @see ControllerListenerSupport#addListener(IControllerListener, Executor, int)
+     */
+    public void addControllerListener(IControllerListener listener, Executor executor, int capacity) {
+        controllerListenerSupport.addListener(listener, executor, capacity);
+    }
+
+    /**
+     * Registers a low level listener for input of all controllers in this environment.
+     * It is called directly on the thread delivering input of each controller,
+     * neither through the event queue nor on the seat's dispatch thread.
+     *
+     * @throws UnsupportedOperationException a controller does not support it
+     * @see IController#addInputListener(IInputListener)
+     */
+    public synchronized void addInputListener(IInputListener listener) {
+        inputListeners.add(listener);
+        for (IController controller : registry.getControllers()) {
+            controller.addInputListener(listener);
+        }
+    }
+
+    /**
+     * Removes a low level listener for input of all controllers in this environment.
+     */
+    public synchronized void removeInputListener(IInputListener listener) {
+        inputListeners.remove(listener);
+        for (IController controller : registry.getControllers()) {
+            controller.removeInputListener(listener);
+        }
+    }
+
+    /**
+     * Returns metrics of a listener registered with an executor or a dedicated thread.
+     *
+     * @return null if the listener is not registered or called inline
+     */
+    public ControllerListenerSupport.ListenerMetrics getControllerListenerMetrics(IControllerListener listener) {
+        return controllerListenerSupport.getMetrics(listener);
+    }
+
+    /**
+     * Removes a listener for input events of all controllers in this environment.
+     */
+    public void removeControllerListener(IControllerListener listener) {
+        controllerListenerSupport.removeListener(listener);
+    }
+
+    /**
+     * Returns all controllers of a seat to the pool and stops its dispatch thread.
+     *
+     * @throws IllegalStateException this is not a seat
+     */
+    @Override
+    public void close() {
+        checkSeat();
+        root.removeListener(poolListener);
+        for (IController controller : registry.getControllers()) {
+            unassign(controller);
+        }
+        dispatcher.shutdown();
+    }
+
+    /**
+     * Reads pending events of all controllers, updates their state and calls listeners
+     * on the caller's thread, when the provider runs in pump mode. Call this once per frame.
+     * Seats still dispatch events on their own threads.
+     *
+     * @return number of events processed, 0 if the provider does not need pumping
+     * @see IControllerProvider#pump()
+     */
+    public int pump() {
+        return controllerProvider.pump();
+    }
+
+    /**
+     * Returns all the available controllers, for a seat, controllers assigned to it.
+     * The returned array is shared, do not modify it.
+     *
+     * @return The available controllers.
+     */
+    public IController[] getControllers() {
+        return registry.getControllers();
+    }
+
+    /**
+     * Returns the first connected controller of the model.
+     *
+     * @param mid vendor id
+     * @param pid product id
+     * @throws NoSuchElementException no such controller is connected
+     */
+    public IController getController(int mid, int pid) {
+        IController controller = registry.get(mid, pid);
+        if (controller == null) {
+            throw new NoSuchElementException(String.format("no device: mid: %1$d(0x%1$x), pid: %2$d(0x%2$x))", mid, pid));
+        }
+        return controller;
+    }
+
+    /**
+     * Returns all connected controllers of the model in connected order.
+     * The returned array is shared, do not modify it.
+     *
+     * @param mid vendor id
+     * @param pid product id
+     * @return controllers, empty if none
+     */
+    public IController[] getControllers(int mid, int pid) {
+        return registry.getAll(mid, pid);
+    }
+
+    /**
+     * Returns the first connected controller of the model which is not claimed.
+     *
+     * @param mid vendor id
+     * @param pid product id
+     * @return a free controller, null if none
+     * @see #claim(IController)
+     */
+    public IController getFreeController(int mid, int pid) {
+        return registry.getFree(mid, pid);
+    }
+
+    /**
+     * Marks the controller as in use, e.g. assigned to a player.
+     * The claim is dropped when the controller is disconnected.
+     *
+     * @return false if the controller is not connected or already claimed
+     */
+    public boolean claim(IController controller) {
+        return registry.claim(controller);
+    }
+
+    /**
+     * Marks the controller as free.
+     *
+     * @return false if the controller was not claimed
+     */
+    public boolean release(IController controller) {
+        return registry.release(controller);
     }
 
     /**
      * Registers a listener for controllers events.
+     * For a seat, it is notified on the seat's dispatch thread when a controller
+     * is assigned to or removed from the seat.
      *
      * @param listener controllers listener.
      */
     public void addListener(IControllersListener listener) {
-        this.controllerProvider.addListener(listener);
+        if (root == null) {
+            this.controllerProvider.addListener(listener);
+        } else {
+            this.listenerSupport.addListener(listener);
+        }
     }
 
     /**
@@ -92,6 +752,10 @@ logger.fine(String.format("%s: %4x, %4x%n", controller.getDescription(), control
      * @param listener The controller listener to remove.
      */
     public void removeListener(IControllersListener listener) {
-        this.controllerProvider.removeListener(listener);
+        if (root == null) {
+            this.controllerProvider.removeListener(listener);
+        } else {
+            this.listenerSupport.removeListener(listener);
+        }
     }
 }
@@ -4,8 +4,8 @@
 
 package org.gamepad4j;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 
 /**
@@ -16,8 +16,8 @@ import java.util.List;
  */
 public final class ControllersListenerSupport {
 
-    /** The list of registered listeners. */
-    private final List<IControllersListener> listeners = new ArrayList<>();
+    /** The list of registered listeners, listeners may be added while firing on another thread. */
+    private final List<IControllersListener> listeners = new CopyOnWriteArrayList<>();
 
     /**
      * Registers a listener for controller events.
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+
+/**
+ * Calls up to four listeners without a loop.
+ * <p>
+ * This class is a template, {@link FanoutGenerator} defines a hidden copy of it for each
+ * listener set. Every copy has call sites of its own, so each of them sees one listener class
+ * and is inlined, while a loop over listeners of various classes has one megamorphic call site.
+ * More listeners are chained through the last one. The outermost copy is called through
+ * a {@link FanoutGenerator.Dispatch}, not through its interface.
+ * Keep this without static members nor nested classes, those would be copied too.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+final class Fanout implements IControllerListener {
+
+    private final IControllerListener l0;
+    private final IControllerListener l1;
+    private final IControllerListener l2;
+    private final IControllerListener l3;
+
+    /** */
+    Fanout(IControllerListener l0, IControllerListener l1, IControllerListener l2, IControllerListener l3) {
+        this.l0 = l0;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.l3 = l3;
+    }
+
+    @Override
+    public void buttonDown(IButton button, ButtonID buttonID) {
+        l0.buttonDown(button, buttonID);
+        l1.buttonDown(button, buttonID);
+        l2.buttonDown(button, buttonID);
+        l3.buttonDown(button, buttonID);
+    }
+
+    @Override
+    public void buttonUp(IButton button, ButtonID buttonID) {
+        l0.buttonUp(button, buttonID);
+        l1.buttonUp(button, buttonID);
+        l2.buttonUp(button, buttonID);
+        l3.buttonUp(button, buttonID);
+    }
+
+    @Override
+    public void moveStick(IAxis axis, StickID stick) {
+        l0.moveStick(axis, stick);
+        l1.moveStick(axis, stick);
+        l2.moveStick(axis, stick);
+        l3.moveStick(axis, stick);
+    }
+
+    @Override
+    public void buttonDown(IButton button, ButtonID buttonID, long timestamp) {
+        l0.buttonDown(button, buttonID, timestamp);
+        l1.buttonDown(button, buttonID, timestamp);
+        l2.buttonDown(button, buttonID, timestamp);
+        l3.buttonDown(button, buttonID, timestamp);
+    }
+
+    @Override
+    public void buttonUp(IButton button, ButtonID buttonID, long timestamp) {
+        l0.buttonUp(button, buttonID, timestamp);
+        l1.buttonUp(button, buttonID, timestamp);
+        l2.buttonUp(button, buttonID, timestamp);
+        l3.buttonUp(button, buttonID, timestamp);
+    }
+
+    @Override
+    public void moveStick(IAxis axis, StickID stick, long timestamp) {
+        l0.moveStick(axis, stick, timestamp);
+        l1.moveStick(axis, stick, timestamp);
+        l2.moveStick(axis, stick, timestamp);
+        l3.moveStick(axis, stick, timestamp);
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ * Generates {@link Dispatch}es calling listener sets, used by {@link ControllerListenerSupport}.
+ * <p>
+ * A loop over listeners of three or more classes has a megamorphic call site on the hottest path,
+ * so a hidden copy of {@link Fanout} is defined for each listener set, on each subscription change.
+ * Copies are not called through their interface, that call site would see every copy of every
+ * listener support and turn megamorphic in turn. A {@link Dispatch}, the only class the firing
+ * site sees, calls its copy by method handles bound to it.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+final class FanoutGenerator {
+
+    private static final Logger logger = Logger.getLogger(FanoutGenerator.class.getName());
+
+    /** for unused fields */
+    private static final IControllerListener NOP = new IControllerListener.IControllerAdapter();
+
+    private static final MethodType BUTTON = MethodType.methodType(void.class, IButton.class, ButtonID.class, long.class);
+
+    private static final MethodType AXIS = MethodType.methodType(void.class, IAxis.class, StickID.class, long.class);
+
+    /** whether to generate, false for a loop */
+    static final boolean generate = Boolean.parseBoolean(System.getProperty(FanoutGenerator.class.getName() + ".generate", "true"));
+
+    /** class file of {@link Fanout}, null if not available */
+    private static final byte[] template;
+
+    static {
+        byte[] bytes = null;
+        try (InputStream is = Fanout.class.getResourceAsStream(Fanout.class.getSimpleName() + ".class")) {
+            if (is != null) {
+                bytes = is.readAllBytes();
+            }
+        } catch (IOException e) {
+            logger.log(Level.FINER, e.toString(), e);
+        }
+        template = bytes;
+    }
+
+    private FanoutGenerator() {
+    }
+
+    /**
+     * Calls the timestamped methods of a fan-out through method handles bound to it, so that the
+     * calling site has this one receiver type whichever copies are in use.
+     */
+    static final class Dispatch {
+
+        /** the fan-out */
+        final IControllerListener target;
+
+        private final MethodHandle buttonDown;
+        private final MethodHandle buttonUp;
+        private final MethodHandle moveStick;
+
+        /** @param lookup finds methods of the class of the target */
+        Dispatch(IControllerListener target, MethodHandles.Lookup lookup) throws ReflectiveOperationException {
+            Class<?> c = target.getClass();
+            this.target = target;
+            this.buttonDown = lookup.findVirtual(c, "buttonDown", BUTTON).bindTo(target);
+            this.buttonUp = lookup.findVirtual(c, "buttonUp", BUTTON).bindTo(target);
+            this.moveStick = lookup.findVirtual(c, "moveStick", AXIS).bindTo(target);
+        }
+
+        /** @see IControllerListener#buttonDown(IButton, ButtonID, long) */
+        void buttonDown(IButton button, ButtonID buttonID, long timestamp) {
+            try {
+                buttonDown.invokeExact(button, buttonID, timestamp);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new UndeclaredThrowableException(t);
+            }
+        }
+
+        /** @see IControllerListener#buttonUp(IButton, ButtonID, long) */
+        void buttonUp(IButton button, ButtonID buttonID, long timestamp) {
+            try {
+                buttonUp.invokeExact(button, buttonID, timestamp);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new UndeclaredThrowableException(t);
+            }
+        }
+
+        /** @see IControllerListener#moveStick(IAxis, StickID, long) */
+        void moveStick(IAxis axis, StickID stick, long timestamp) {
+            try {
+                moveStick.invokeExact(axis, stick, timestamp);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new UndeclaredThrowableException(t);
+            }
+        }
+    }
+
+    /** Calls listeners in a loop, when a copy cannot be defined. */
+    static final class Loop implements IControllerListener {
+
+        private final IControllerListener[] listeners;
+
+        Loop(IControllerListener[] listeners) {
+            this.listeners = listeners;
+        }
+
+        @Override public void buttonDown(IButton button, ButtonID buttonID) {
+            for (IControllerListener listener : listeners) {
+                listener.buttonDown(button, buttonID);
+            }
+        }
+
+        @Override public void buttonUp(IButton button, ButtonID buttonID) {
+            for (IControllerListener listener : listeners) {
+                listener.buttonUp(button, buttonID);
+            }
+        }
+
+        @Override public void moveStick(IAxis axis, StickID stick) {
+            for (IControllerListener listener : listeners) {
+                listener.moveStick(axis, stick);
+            }
+        }
+
+        @Override public void buttonDown(IButton button, ButtonID buttonID, long timestamp) {
+            for (IControllerListener listener : listeners) {
+                listener.buttonDown(button, buttonID, timestamp);
+            }
+        }
+
+        @Override public void buttonUp(IButton button, ButtonID buttonID, long timestamp) {
+            for (IControllerListener listener : listeners) {
+                listener.buttonUp(button, buttonID, timestamp);
+            }
+        }
+
+        @Override public void moveStick(IAxis axis, StickID stick, long timestamp) {
+            for (IControllerListener listener : listeners) {
+                listener.moveStick(axis, stick, timestamp);
+            }
+        }
+    }
+
+    /**
+     * Returns a dispatch calling the listeners in order.
+     *
+     * @param listeners not modified after this
+     */
+    static Dispatch of(IControllerListener[] listeners) {
+        return of(listeners, generate);
+    }
+
+    /**
+     * Returns a dispatch calling the listeners in order.
+     *
+     * @param listeners not modified after this
+     * @param generate false for a loop
+     */
+    static Dispatch of(IControllerListener[] listeners, boolean generate) {
+        if (generate && template != null && listeners.length > 0) {
+            try {
+                return define(listeners, 0);
+            } catch (Throwable t) {
+logger.fine("fall back to loop: " + t);
+            }
+        }
+        try {
+            return new Dispatch(listeners.length == 0 ? NOP : new Loop(listeners), MethodHandles.lookup());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Defines copies for listeners, the outermost one is called by a dispatch. */
+    private static Dispatch define(IControllerListener[] listeners, int offset) throws Throwable {
+        MethodHandles.Lookup[] lookup = new MethodHandles.Lookup[1];
+        IControllerListener fanout = define(listeners, offset, lookup);
+        return new Dispatch(fanout, lookup[0]);
+    }
+
+    /** Defines copies for listeners from the offset, the lookup of the outermost one is set. */
+    private static IControllerListener define(IControllerListener[] listeners, int offset, MethodHandles.Lookup[] defined) throws Throwable {
+        IControllerListener[] args = new IControllerListener[4];
+        Arrays.fill(args, NOP);
+        int rest = listeners.length - offset;
+        if (rest <= args.length) {
+            System.arraycopy(listeners, offset, args, 0, rest);
+        } else {
+            System.arraycopy(listeners, offset, args, 0, args.length - 1);
+            args[args.length - 1] = define(listeners, offset + args.length - 1, defined);
+        }
+        MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(template, true);
+        defined[0] = lookup;
+        MethodHandle constructor = lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class,
+                IControllerListener.class, IControllerListener.class, IControllerListener.class, IControllerListener.class));
+        return (IControllerListener) constructor.invoke(args[0], args[1], args[2], args[3]);
+    }
+}
@@ -6,6 +6,10 @@ package org.gamepad4j;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.gamepad4j.util.Clock;
+import org.gamepad4j.util.InputSignal;
 
 
 /**
@@ -36,6 +40,16 @@ public interface IController extends Closeable {
      */
     int getDeviceID();
 
+    /**
+     * Returns an identity which stays the same for a physical device across
+     * reconnects, e.g. vendor, product and serial number.
+     *
+     * @return The identity, or null, if it's not available.
+     */
+    default String getIdentity() {
+        return null;
+    }
+
     /**
      * Returns the vendor deviceID of the joypad controller.
      * This is usually the USB vendor deviceID.
@@ -189,6 +203,53 @@ public interface IController extends Closeable {
      */
     void removeListener(IControllerListener listener);
 
+    /**
+     * Registers a low level listener for input of this controller.
+     *
+     * @throws UnsupportedOperationException the controller does not support it
+     */
+    default void addInputListener(IInputListener listener) {
+        throw new UnsupportedOperationException(getClass().getName());
+    }
+
+    /**
+     * Removes a low level listener for input of this controller.
+     */
+    default void removeInputListener(IInputListener listener) {
+    }
+
+    /**
+     * Blocks the caller until this controller reports any input, without polling.
+     *
+     * @return false if timed out
+     * @throws InterruptedException the current thread is interrupted
+     * @see Controllers#awaitInput(long, TimeUnit)
+     */
+    default boolean awaitInput(long timeout, TimeUnit unit) throws InterruptedException {
+        InputSignal signal = new InputSignal();
+        IControllerListener listener = signal.asListener();
+        addListener(listener);
+        try {
+            return signal.await(timeout, unit);
+        } finally {
+            removeListener(listener);
+        }
+    }
+
+    /** Returns the clock which stamps events of this controller notified without a timestamp. */
+    default Clock getClock() {
+        return Clock.system();
+    }
+
+    /**
+     * Returns a publisher of input events of this controller, with backpressure.
+     *
+     * @see ControllerEventPublisher
+     */
+    default ControllerEventPublisher events() {
+        return new ControllerEventPublisher(this);
+    }
+
     /** Retrieves all components which this controller has */
     IComponent[] getComponents();
 
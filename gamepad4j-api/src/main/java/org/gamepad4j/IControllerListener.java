@@ -38,6 +38,33 @@ public interface IControllerListener {
      */
     void moveStick(IAxis axis, StickID stick);
 
+    /**
+     * Notifies a button press with the time of the event. The default calls {@link #buttonDown(IButton, ButtonID)}.
+     *
+     * @param timestamp when the event happened, in {@link System#nanoTime()} time base
+     */
+    default void buttonDown(IButton button, ButtonID buttonID, long timestamp) {
+        buttonDown(button, buttonID);
+    }
+
+    /**
+     * Notifies a button release with the time of the event. The default calls {@link #buttonUp(IButton, ButtonID)}.
+     *
+     * @param timestamp when the event happened, in {@link System#nanoTime()} time base
+     */
+    default void buttonUp(IButton button, ButtonID buttonID, long timestamp) {
+        buttonUp(button, buttonID);
+    }
+
+    /**
+     * Notifies a stick move with the time of the event. The default calls {@link #moveStick(IAxis, StickID)}.
+     *
+     * @param timestamp when the event happened, in {@link System#nanoTime()} time base
+     */
+    default void moveStick(IAxis axis, StickID stick, long timestamp) {
+        moveStick(axis, stick);
+    }
+
     /** */
     class IControllerAdapter implements IControllerListener {
 
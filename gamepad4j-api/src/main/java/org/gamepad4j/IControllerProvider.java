@@ -39,8 +39,20 @@ public interface IControllerProvider extends Closeable {
     /** Is used at {@link Controllers} constructor. */
     boolean isSupported();
 
+    /**
+     * Processes pending events of all controllers on the caller's thread, for a provider
+     * which runs without background threads (e.g. once per frame of a game loop).
+     * Other providers deliver events on their own threads, and this does nothing.
+     *
+     * @return number of events processed
+     */
+    default int pump() {
+        return 0;
+    }
+
     /**
      * Returns all the available controllers.
+     * Implementations may return a shared array, callers must not modify it.
      *
      * @return The available controllers.
      */
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+/**
+ * Low level listener of controller input with primitive arguments.
+ * <p>
+ * Unlike {@link IControllerListener}, no component objects are passed, values come
+ * with the event, and indexes are those of the controller's layout, so a dispatcher
+ * needs no lookups and a listener may keep its state in plain arrays.
+ * The listener is called on the thread delivering input of the controller.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ * @see IController#addInputListener(IInputListener)
+ */
+public interface IInputListener {
+
+    /**
+     * Notifies a button press or release.
+     *
+     * @param slot {@link IController#getDeviceID()} of the controller
+     * @param buttonIndex index in {@link IController#getButtons()}, {@link IButton#getCode()}
+     * @param down true if pressed
+     * @param timestamp when the event happened, in {@link System#nanoTime()} time base
+     */
+    void onButton(int slot, int buttonIndex, boolean down, long timestamp);
+
+    /**
+     * Notifies an axis move.
+     *
+     * @param slot {@link IController#getDeviceID()} of the controller
+     * @param axisIndex index in {@link IController#getAxes()}, {@link IAxis#getNumber()}
+     * @param value the new value, usually between -1.0 and 1.0, before applying the dead zone
+     * @param timestamp when the event happened, in {@link System#nanoTime()} time base
+     */
+    void onAxis(int slot, int axisIndex, float value, long timestamp);
+}
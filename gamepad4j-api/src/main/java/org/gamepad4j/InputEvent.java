@@ -0,0 +1,31 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+/**
+ * An input event of a controller in a {@link MergedEventStream}.
+ *
+ * @param sequence global order of the event in the stream, starting at 1
+ * @param timestamp when the event happened, in {@link System#nanoTime()} time base
+ * @param controller the controller of the event
+ * @param type kind of the event
+ * @param component {@link IButton} or {@link IAxis}
+ * @param id {@link ButtonID} or {@link StickID}
+ * @param value the axis value when the event happened, 1 or 0 for buttons.
+ *              Use this rather than {@link IAxis#getValue()} which may have moved since.
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+public record InputEvent(long sequence, long timestamp, IController controller, Type type, IComponent component, Identifier id, float value) {
+
+    /** Kinds of input events. */
+    public enum Type {
+        BUTTON_DOWN,
+        BUTTON_UP,
+        MOVE_STICK
+    }
+}
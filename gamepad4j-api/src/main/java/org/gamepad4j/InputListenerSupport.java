@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.Arrays;
+
+
+/**
+ * Handles accessing {@link IInputListener}s.
+ * <p>
+ * Listeners are kept in an array replaced on registration, so firing is a plain loop.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+public final class InputListenerSupport {
+
+    private static final IInputListener[] EMPTY = {};
+
+    /** registered listeners, replaced on change */
+    private volatile IInputListener[] listeners = EMPTY;
+
+    /** */
+    public synchronized void addListener(IInputListener listener) {
+        IInputListener[] listeners = Arrays.copyOf(this.listeners, this.listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+        this.listeners = listeners;
+    }
+
+    /** */
+    public synchronized void removeListener(IInputListener listener) {
+        IInputListener[] listeners = this.listeners;
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                IInputListener[] removed = new IInputListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, removed, 0, i);
+                System.arraycopy(listeners, i + 1, removed, i, listeners.length - i - 1);
+                this.listeners = removed;
+                return;
+            }
+        }
+    }
+
+    /** Returns whether no listener is registered, to skip preparing events. */
+    public boolean isEmpty() {
+        return listeners.length == 0;
+    }
+
+    /** @see IInputListener#onButton(int, int, boolean, long) */
+    public void fireButton(int slot, int buttonIndex, boolean down, long timestamp) {
+        for (IInputListener listener : listeners) {
+            listener.onButton(slot, buttonIndex, down, timestamp);
+        }
+    }
+
+    /** @see IInputListener#onAxis(int, int, float, long) */
+    public void fireAxis(int slot, int axisIndex, float value, long timestamp) {
+        for (IInputListener listener : listeners) {
+            listener.onAxis(slot, axisIndex, value, timestamp);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.BitSet;
+
+
+/**
+ * Components a listener is interested in, buttons by {@link IButton#getCode()}
+ * and axes by {@link IAxis#getNumber()}. Immutable.
+ * <pre>
+ * // face buttons and the left stick only
+ * Interest interest = Interest.buttons(0, 1, 2, 3).andAxes(0, 1);
+ * </pre>
+ * Controllers are chosen by where the listener is registered, an {@link IController}
+ * or an environment of {@link Controllers}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ * @see ControllerListenerSupport#addListener(IControllerListener, Interest)
+ */
+public final class Interest {
+
+    /** all buttons and axes */
+    public static final Interest ALL = new Interest(null, null);
+
+    /** button codes, null for all */
+    private final BitSet buttons;
+
+    /** axis numbers, null for all */
+    private final BitSet axes;
+
+    /** */
+    private Interest(BitSet buttons, BitSet axes) {
+        this.buttons = buttons;
+        this.axes = axes;
+    }
+
+    /** */
+    private static BitSet of(BitSet base, int... indexes) {
+        BitSet bits = base == null ? new BitSet() : (BitSet) base.clone();
+        for (int index : indexes) {
+            if (index < 0) {
+                throw new IllegalArgumentException("index: " + index);
+            }
+            bits.set(index);
+        }
+        return bits;
+    }
+
+    /** Returns an interest in the buttons and no axes. */
+    public static Interest buttons(int... codes) {
+        return new Interest(of(null, codes), new BitSet());
+    }
+
+    /** Returns an interest in the axes and no buttons. */
+    public static Interest axes(int... numbers) {
+        return new Interest(new BitSet(), of(null, numbers));
+    }
+
+    /** Returns an interest in the buttons too. */
+    public Interest andButtons(int... codes) {
+        return buttons == null ? this : new Interest(of(buttons, codes), axes);
+    }
+
+    /** Returns an interest in the axes too. */
+    public Interest andAxes(int... numbers) {
+        return axes == null ? this : new Interest(buttons, of(axes, numbers));
+    }
+
+    /** Returns whether all buttons are interesting. */
+    boolean allButtons() {
+        return buttons == null;
+    }
+
+    /** Returns whether all axes are interesting. */
+    boolean allAxes() {
+        return axes == null;
+    }
+
+    /** Returns the button codes, null for all. */
+    BitSet getButtons() {
+        return buttons;
+    }
+
+    /** Returns the axis numbers, null for all. */
+    BitSet getAxes() {
+        return axes;
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.gamepad4j.util.Clock;
+import org.gamepad4j.util.InputSignal;
+
+
+/**
+ * Input events of all controllers of an environment in one stream ordered by their timestamps.
+ * <p>
+ * Each controller has its own queue, the stream merges their heads by timestamp. An event is
+ * released when every controller has a pending event, or when it is older than the reorder window,
+ * so that an event of another controller which happened earlier but was delivered later still
+ * comes first, e.g. to decide who pressed first. An event delivered after the window is released
+ * out of order and counted by {@link #getLateCount()}. Events which do not fit the queue of
+ * a controller are dropped and counted by {@link #getOverflowCount()}.
+ * <p>
+ * Events are taken from one thread only, by {@link #poll()}, {@link #take(long, TimeUnit)}
+ * or {@link #drainTo(Consumer)}.
+ * <p>
+ * The window and timeouts are measured by the {@link Controllers#getClock() clock of the environment},
+ * the time base of the timestamps.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ * @see Controllers#openMergedStream(long, TimeUnit)
+ */
+public final class MergedEventStream implements Closeable {
+
+    /** capacity of the queue of a controller */
+    static final int CAPACITY = 1024;
+
+    /** Queues events of a controller. */
+    private final class DeviceQueue implements IControllerListener {
+        final IController controller;
+        final ControllerEventQueue queue = new ControllerEventQueue(CAPACITY);
+
+        DeviceQueue(IController controller) {
+            this.controller = controller;
+        }
+
+        @Override public void buttonDown(IButton button, ButtonID buttonID) {
+            buttonDown(button, buttonID, clock.nanoTime());
+        }
+
+        @Override public void buttonUp(IButton button, ButtonID buttonID) {
+            buttonUp(button, buttonID, clock.nanoTime());
+        }
+
+        @Override public void moveStick(IAxis axis, StickID stick) {
+            moveStick(axis, stick, clock.nanoTime());
+        }
+
+        @Override public void buttonDown(IButton button, ButtonID buttonID, long timestamp) {
+            offer(ControllerEventQueue.BUTTON_DOWN, button, buttonID, timestamp);
+        }
+
+        @Override public void buttonUp(IButton button, ButtonID buttonID, long timestamp) {
+            offer(ControllerEventQueue.BUTTON_UP, button, buttonID, timestamp);
+        }
+
+        @Override public void moveStick(IAxis axis, StickID stick, long timestamp) {
+            offer(ControllerEventQueue.MOVE_STICK, axis, stick, timestamp);
+        }
+
+        private void offer(int kind, Object component, Object id, long timestamp) {
+            if (queue.offer(kind, component, id, timestamp)) {
+                signal.signal();
+            }
+        }
+    }
+
+    private static final InputEvent.Type[] types = InputEvent.Type.values();
+
+    /** the environment, to stop on {@link #close()} */
+    private final Controllers controllers;
+
+    /** reorder window in nanoseconds */
+    private final long window;
+
+    /** the time base of timestamps */
+    private final Clock clock;
+
+    /** queues by device id */
+    private final Map<Integer, DeviceQueue> queues = new ConcurrentHashMap<>();
+
+    /** snapshot of {@link #queues} for merging */
+    private volatile DeviceQueue[] heads = {};
+
+    /** wakes up {@link #take(long, TimeUnit)} */
+    private final InputSignal signal = new InputSignal();
+
+    /** the consumer only */
+    private long sequence;
+
+    /** timestamp of the last released event, the consumer only */
+    private long last = Long.MIN_VALUE;
+
+    private final LongAdder late = new LongAdder();
+
+    /** the queue taken by {@link #poll()}, the consumer only */
+    private DeviceQueue polling;
+
+    /** the event taken by {@link #poll()}, the consumer only */
+    private InputEvent polled;
+
+    /** turns a queued event into {@link #polled} */
+    private final ControllerEventQueue.Sink sink = (kind, component, id, value, time) ->
+            polled = new InputEvent(++sequence, time, polling.controller, types[kind], (IComponent) component, (Identifier) id, value);
+
+    /** */
+    MergedEventStream(Controllers controllers, long window) {
+        this.controllers = controllers;
+        this.window = window;
+        this.clock = controllers.getClock();
+    }
+
+    /** Starts queuing events of the controller. */
+    synchronized void register(IController controller) {
+        DeviceQueue queue = new DeviceQueue(controller);
+        DeviceQueue old = queues.put(controller.getDeviceID(), queue);
+        if (old != null) {
+            old.controller.removeListener(old);
+        }
+        controller.addListener(queue);
+        heads = queues.values().toArray(DeviceQueue[]::new);
+    }
+
+    /** Stops queuing events of the controller, pending events are discarded. */
+    synchronized void unregister(IController controller) {
+        DeviceQueue queue = queues.remove(controller.getDeviceID());
+        if (queue != null) {
+            queue.controller.removeListener(queue);
+            heads = queues.values().toArray(DeviceQueue[]::new);
+        }
+    }
+
+    /**
+     * Removes the next event in timestamp order if it is released.
+     *
+     * @return null if no event is released yet
+     */
+    public InputEvent poll() {
+        DeviceQueue first = null;
+        long firstTime = Long.MAX_VALUE;
+        boolean all = true;
+        for (DeviceQueue queue : heads) {
+            long time = queue.queue.peekTime();
+            if (time == Long.MAX_VALUE) {
+                all = false;
+            } else if (first == null || time - firstTime < 0) {
+                first = queue;
+                firstTime = time;
+            }
+        }
+        if (first == null || (!all && clock.nanoTime() - firstTime < window)) {
+            return null;
+        }
+        polling = first;
+        first.queue.poll(sink);
+        InputEvent event = polled;
+        polling = null;
+        polled = null;
+        if (last != Long.MIN_VALUE && event.timestamp() - last < 0) {
+            late.increment();
+        } else {
+            last = event.timestamp();
+        }
+        return event;
+    }
+
+    /**
+     * Removes the next event in timestamp order, waiting until it is released.
+     *
+     * @return null if timed out
+     * @throws InterruptedException the current thread is interrupted
+     */
+    public InputEvent take(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = clock.nanoTime() + unit.toNanos(timeout);
+        while (true) {
+            InputEvent event = poll();
+            if (event != null) {
+                return event;
+            }
+            long now = clock.nanoTime();
+            long remaining = deadline - now;
+            if (remaining <= 0) {
+                return null;
+            }
+            // until the oldest pending event gets released by the window, or a new one arrives
+            long oldest = Long.MAX_VALUE;
+            for (DeviceQueue queue : heads) {
+                oldest = Math.min(oldest, queue.queue.peekTime());
+            }
+            if (oldest != Long.MAX_VALUE) {
+                remaining = Math.min(remaining, Math.max(1, oldest + window - now));
+            }
+            signal.awaitUntil(clock, now + remaining);
+        }
+    }
+
+    /**
+     * Passes all released events in order to the listener on the caller's thread, e.g. once per frame.
+     *
+     * @return number of events passed
+     */
+    public int drainTo(Consumer<InputEvent> listener) {
+        int count = 0;
+        InputEvent event;
+        while ((event = poll()) != null) {
+            listener.accept(event);
+            count++;
+        }
+        return count;
+    }
+
+    /** Returns number of events released after a later one because they arrived after the window. */
+    public long getLateCount() {
+        return late.sum();
+    }
+
+    /** Returns number of events dropped because the queue of a controller was full. */
+    public long getOverflowCount() {
+        long count = 0;
+        for (DeviceQueue queue : heads) {
+            count += queue.queue.getOverflowCount();
+        }
+        return count;
+    }
+
+    /** Stops queuing events of all controllers. */
+    @Override
+    public void close() {
+        controllers.closeMergedStream(this);
+        for (DeviceQueue queue : heads) {
+            unregister(queue.controller);
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+
+/**
+ * Assigns controllers to fixed player slots.
+ * <p>
+ * {@link #getPlayer(int)} is an array read, a slot keeps its controller
+ * until the controller is disconnected or the slot is released. Other
+ * slots are not shifted on hotplug. Controllers in slots are
+ * {@link Controllers#claim(IController) claimed}.
+ *
+ * <pre>
+ * PlayerSlots players = new PlayerSlots(Controllers.instance(), 4, Policy.STICKY);
+ * ...
+ * IController player1 = players.getPlayer(0); // null if no controller
+ * </pre>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+public final class PlayerSlots implements IControllersListener {
+
+    private static final Logger logger = Logger.getLogger(PlayerSlots.class.getName());
+
+    /** How connected controllers are assigned. */
+    public enum Policy {
+        /** a connected controller takes the first empty slot */
+        FIRST_COME,
+        /**
+         * a reconnected controller takes the slot it had before (by {@link IController#getIdentity()}),
+         * others take the first empty slot which has not been used by another controller.
+         */
+        STICKY,
+        /** no automatic assignment, use {@link #assign(int, IController)} */
+        EXPLICIT
+    }
+
+    /** */
+    private final Policy policy;
+
+    /** slot / controller */
+    private final AtomicReferenceArray<IController> slots;
+
+    /** slot / identity of the last controller, for {@link Policy#STICKY} */
+    private final String[] identities;
+
+    /** */
+    private final Predicate<IController> claimer;
+
+    /** */
+    private final Consumer<IController> releaser;
+
+    /**
+     * Creates slots and assigns already connected controllers.
+     *
+     * @param controllers controllers to be assigned
+     * @param size number of slots
+     * @param policy assignment policy
+     */
+    public PlayerSlots(Controllers controllers, int size, Policy policy) {
+        this(size, policy, controllers::claim, controllers::release);
+        controllers.addListener(this);
+        for (IController controller : controllers.getControllers()) {
+            connected(controller);
+        }
+    }
+
+    /** for tests */
+    PlayerSlots(int size, Policy policy, Predicate<IController> claimer, Consumer<IController> releaser) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size: " + size);
+        }
+        this.policy = Objects.requireNonNull(policy);
+        this.slots = new AtomicReferenceArray<>(size);
+        this.identities = new String[size];
+        this.claimer = claimer;
+        this.releaser = releaser;
+    }
+
+    /** */
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    /** Returns number of slots. */
+    public int size() {
+        return slots.length();
+    }
+
+    /**
+     * Returns the controller of the player.
+     *
+     * @param slot 0 origin
+     * @return null if the slot is empty
+     * @throws IndexOutOfBoundsException slot is out of range
+     */
+    public IController getPlayer(int slot) {
+        return slots.get(slot);
+    }
+
+    /**
+     * Returns the slot of the controller.
+     *
+     * @return -1 if the controller is not assigned
+     */
+    public int getSlot(IController controller) {
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) == controller) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Assigns the controller to the slot explicitly, the controller previously
+     * in the slot is released. If the controller is in another slot, it is moved.
+     *
+     * @return false if the controller is claimed by others
+     */
+    public synchronized boolean assign(int slot, IController controller) {
+        int current = getSlot(controller);
+        if (current == slot) {
+            return true;
+        }
+        if (current == -1 && !claimer.test(controller)) {
+logger.fine("already claimed: " + controller.getDeviceID());
+            return false;
+        }
+        if (current != -1) {
+            slots.set(current, null);
+        }
+        release(slot);
+        set(slot, controller);
+        return true;
+    }
+
+    /**
+     * Empties the slot.
+     *
+     * @return the controller which was in the slot, null if empty
+     */
+    public synchronized IController release(int slot) {
+        IController controller = slots.getAndSet(slot, null);
+        if (controller != null) {
+            releaser.accept(controller);
+        }
+        return controller;
+    }
+
+    /** */
+    private void set(int slot, IController controller) {
+        slots.set(slot, controller);
+        identities[slot] = controller.getIdentity();
+logger.fine("player " + slot + ": " + controller.getDeviceID() + ", " + controller.getIdentity());
+    }
+
+    /** Finds a slot for the connected controller by the policy, -1 if none */
+    private int findSlot(IController controller) {
+        if (policy == Policy.EXPLICIT) {
+            return -1;
+        }
+        if (policy == Policy.STICKY) {
+            String identity = controller.getIdentity();
+            if (identity != null) {
+                for (int i = 0; i < identities.length; i++) {
+                    if (identity.equals(identities[i]) && slots.get(i) == null) {
+                        return i;
+                    }
+                }
+            }
+            for (int i = 0; i < identities.length; i++) {
+                if (identities[i] == null && slots.get(i) == null) {
+                    return i;
+                }
+            }
+        }
+        for (int i = 0; i < slots.length(); i++) {
+            if (slots.get(i) == null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public synchronized void connected(IController controller) {
+        if (getSlot(controller) != -1) {
+            return;
+        }
+        int slot = findSlot(controller);
+        if (slot != -1 && claimer.test(controller)) {
+            set(slot, controller);
+        }
+    }
+
+    @Override
+    public synchronized void disConnected(IController controller) {
+        int slot = getSlot(controller);
+        if (slot != -1) {
+            slots.set(slot, null);
+logger.fine("player " + slot + ": disconnected");
+        }
+    }
+}
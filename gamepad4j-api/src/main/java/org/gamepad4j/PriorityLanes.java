@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ * Dispatches input events on an executor with button events ahead of axis events.
+ * <p>
+ * Button events go to a digital lane, axis events to an analog lane of their controller,
+ * each a bounded queue. A dispatch run delivers all pending button events before each
+ * {@link #QUANTUM} of axis events, taking the analog lanes in round robin. So a button press
+ * waits for at most a quantum of stick updates however many are pending, and a chatty
+ * controller cannot starve the others. Events which do not fit a lane are dropped and counted.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+final class PriorityLanes implements Runnable {
+
+    private static final Logger logger = Logger.getLogger(PriorityLanes.class.getName());
+
+    /** number of axis events of a lane delivered in a turn */
+    static final int QUANTUM = 8;
+
+    /** capacity of a lane */
+    static final int CAPACITY = 1024;
+
+    private final ControllerEventQueue digital = new ControllerEventQueue(CAPACITY);
+
+    /** for axes of unknown controllers */
+    private final ControllerEventQueue other = new ControllerEventQueue(CAPACITY);
+
+    /** analog lanes by device id */
+    private final Map<Integer, ControllerEventQueue> lanes = new ConcurrentHashMap<>();
+
+    /** analog lane of axes */
+    private final Map<IAxis, ControllerEventQueue> lanesByAxis = new ConcurrentHashMap<>();
+
+    /** analog lanes in round robin order, {@link #other} first */
+    private volatile ControllerEventQueue[] analog = {other};
+
+    /** the consumer only */
+    private int next;
+
+    private final ControllerListenerSupport listenerSupport;
+
+    /** runs {@link #run()} */
+    private final Executor executor;
+
+    /** true while {@link #run()} is submitted or running */
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /** */
+    PriorityLanes(ControllerListenerSupport listenerSupport, Executor executor) {
+        this.listenerSupport = listenerSupport;
+        this.executor = executor;
+    }
+
+    /** Adds an analog lane for the controller. */
+    synchronized void register(IController controller) {
+        ControllerEventQueue lane = new ControllerEventQueue(CAPACITY);
+        ControllerEventQueue old = lanes.put(controller.getDeviceID(), lane);
+        lanesByAxis.values().removeIf(l -> l == old);
+        for (IAxis axis : controller.getAxes()) {
+            lanesByAxis.put(axis, lane);
+        }
+        rebuild();
+    }
+
+    /** Removes the analog lane of the controller, pending axis events are discarded. */
+    synchronized void unregister(IController controller) {
+        ControllerEventQueue lane = lanes.remove(controller.getDeviceID());
+        if (lane != null) {
+            lanesByAxis.values().removeIf(l -> l == lane);
+            rebuild();
+        }
+    }
+
+    /** */
+    private void rebuild() {
+        ControllerEventQueue[] analog = new ControllerEventQueue[lanes.size() + 1];
+        analog[0] = other;
+        int i = 1;
+        for (ControllerEventQueue lane : lanes.values()) {
+            analog[i++] = lane;
+        }
+        this.analog = analog;
+    }
+
+    /**
+     * Adds an event and schedules dispatching, called by any thread.
+     *
+     * @param timestamp when the event happened, passed to listeners
+     * @return false if the lane is full and the event is dropped
+     */
+    boolean offer(int kind, Object component, Object id, long timestamp) {
+        boolean offered;
+        if (kind == ControllerEventQueue.MOVE_STICK) {
+            offered = lanesByAxis.getOrDefault((IAxis) component, other).offer(kind, component, id, timestamp);
+        } else {
+            offered = digital.offer(kind, component, id, timestamp);
+        }
+        if (offered && scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+logger.fine("rejected: " + e);
+            }
+        }
+        return offered;
+    }
+
+    /**
+     * Delivers pending button events and a quantum of each analog lane, then yields
+     * the executor to other tasks, and is submitted again if events are left.
+     */
+    @Override
+    public void run() {
+        try {
+            ControllerEventQueue[] analog = this.analog;
+            digital.drain(listenerSupport);
+            for (int i = 0; i < analog.length; i++) {
+                next = (next + 1) % analog.length;
+                analog[next].drain(listenerSupport, null, QUANTUM);
+                digital.drain(listenerSupport);
+            }
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, e.getMessage(), e);
+        }
+        scheduled.set(false);
+        if (!isEmpty() && scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+            }
+        }
+    }
+
+    /** */
+    private boolean isEmpty() {
+        if (!digital.isEmpty()) {
+            return false;
+        }
+        for (ControllerEventQueue lane : analog) {
+            if (!lane.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Returns number of events dropped because a lane was full. */
+    long getOverflowCount() {
+        long count = digital.getOverflowCount();
+        for (ControllerEventQueue lane : analog) {
+            count += lane.getOverflowCount();
+        }
+        return count;
+    }
+}
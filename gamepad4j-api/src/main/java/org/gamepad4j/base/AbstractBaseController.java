@@ -9,6 +9,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 import org.gamepad4j.AxisID;
@@ -18,10 +20,13 @@ import org.gamepad4j.IAxis;
 import org.gamepad4j.IButton;
 import org.gamepad4j.IComponent;
 import org.gamepad4j.IController;
+import org.gamepad4j.IControllerListener;
+import org.gamepad4j.IInputListener;
 import org.gamepad4j.IStick;
 import org.gamepad4j.ITrigger;
 import org.gamepad4j.StickID;
 import org.gamepad4j.TriggerID;
+import org.gamepad4j.util.Clock;
 
 
 /**
@@ -47,6 +52,9 @@ public abstract class AbstractBaseController implements IController {
     /** Stores the description of this controller. */
     protected String description = "";
 
+    /** Stores the identity of this controller, null if not available. */
+    protected String identity = null;
+
     /** Stores the last d-pad direction. */
     protected DpadDirection lastDirection = null;
 
@@ -144,6 +152,11 @@ public abstract class AbstractBaseController implements IController {
         return this.deviceID;
     }
 
+    @Override
+    public String getIdentity() {
+        return this.identity;
+    }
+
     @Override
     public int getVendorID() {
         return vendorID;
@@ -292,6 +305,65 @@ public abstract class AbstractBaseController implements IController {
         return this.axes;
     }
 
+    /** stamps events notified without a timestamp */
+    private volatile Clock clock = Clock.system();
+
+    /**
+     * Sets the clock which stamps events notified without a timestamp, {@link Clock#system()} by default.
+     * The environment sets its clock when it attaches this controller.
+     */
+    public void setClock(Clock clock) {
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    @Override
+    public Clock getClock() {
+        return clock;
+    }
+
+    /** adapters of low level listeners, for {@link #addInputListener(IInputListener)} */
+    private final Map<IInputListener, IControllerListener> inputAdapters = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a low level listener through an {@link IControllerListener} adapter,
+     * which passes {@link IAxis#getValue()} as the axis value.
+     * Subclasses which know the raw input should override this.
+     */
+    @Override
+    public void addInputListener(IInputListener listener) {
+        IControllerListener adapter = new IControllerListener() {
+            @Override public void buttonDown(IButton button, ButtonID buttonID) {
+                buttonDown(button, buttonID, clock.nanoTime());
+            }
+            @Override public void buttonUp(IButton button, ButtonID buttonID) {
+                buttonUp(button, buttonID, clock.nanoTime());
+            }
+            @Override public void moveStick(IAxis axis, StickID stick) {
+                moveStick(axis, stick, clock.nanoTime());
+            }
+            @Override public void buttonDown(IButton button, ButtonID buttonID, long timestamp) {
+                listener.onButton(deviceID, button.getCode(), true, timestamp);
+            }
+            @Override public void buttonUp(IButton button, ButtonID buttonID, long timestamp) {
+                listener.onButton(deviceID, button.getCode(), false, timestamp);
+            }
+            @Override public void moveStick(IAxis axis, StickID stick, long timestamp) {
+                listener.onAxis(deviceID, axis.getNumber(), axis.getValue(), timestamp);
+            }
+        };
+        if (inputAdapters.putIfAbsent(listener, adapter) == null) {
+            addListener(adapter);
+        }
+    }
+
+    @Override
+    public void removeInputListener(IInputListener listener) {
+        IControllerListener adapter = inputAdapters.remove(listener);
+        if (adapter != null) {
+            removeListener(adapter);
+        }
+    }
+
     @Override
     public IComponent[] getComponents() {
         List<IComponent> components = new ArrayList<>();
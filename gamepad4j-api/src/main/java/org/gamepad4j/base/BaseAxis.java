@@ -119,6 +119,14 @@ public class BaseAxis implements IAxis {
 //        }
     }
 
+    /**
+     * Clears the value, e.g. when the device is reconnected.
+     */
+    public void reset() {
+        this.previousValue = 0f;
+        this.value = 0f;
+    }
+
     @Override
     public String toString() {
         return "Axis" + number + ":" + ID.toString();
@@ -96,6 +96,14 @@ public class BaseButton implements IButton {
         // TODO: Implement listener for buttons
     }
 
+    /**
+     * Clears the pressed state, e.g. when the device is reconnected.
+     */
+    public void reset() {
+        this.isPressed = false;
+        this.lastPressed = false;
+    }
+
     @Override
     public boolean isPressedOnce() {
         boolean pressed = isPressed();
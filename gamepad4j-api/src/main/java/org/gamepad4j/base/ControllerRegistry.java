@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.base;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.gamepad4j.IController;
+
+
+/**
+ * Thread safe registry of connected controllers.
+ * <p>
+ * Writes (hotplug, claim) are serialized and rebuild immutable snapshot arrays,
+ * reads (game loop) are lock free and do not allocate.
+ * A controller is "free" until it is {@link #claim(IController) claimed} e.g. by a player.
+ * Arrays returned by this class are shared, do not modify them.
+ *
+ * @param <T> controller type
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+public final class ControllerRegistry<T extends IController> {
+
+    /** */
+    private static final IController[] EMPTY = new IController[0];
+
+    /** deviceID / controller */
+    private final Map<Integer, T> byDeviceID = new ConcurrentHashMap<>();
+
+    /** {@link IController#getDeviceTypeIdentifier()} / controllers in attached order */
+    private final Map<Long, IController[]> byType = new ConcurrentHashMap<>();
+
+    /** {@link IController#getDeviceTypeIdentifier()} / not claimed controllers in attached order */
+    private final Map<Long, IController[]> freeByType = new ConcurrentHashMap<>();
+
+    /** deviceIDs of claimed controllers */
+    private final Set<Integer> claimed = ConcurrentHashMap.newKeySet();
+
+    /** all controllers in attached order */
+    private volatile IController[] snapshot = EMPTY;
+
+    /**
+     * Registers a controller, a controller having the same deviceID is replaced.
+     *
+     * @return the replaced controller, null if none
+     */
+    public synchronized T put(T controller) {
+        T old = byDeviceID.put(controller.getDeviceID(), controller);
+        if (old != null) {
+            unindex(old);
+        }
+        long type = controller.getDeviceTypeIdentifier();
+        byType.put(type, append(byType.getOrDefault(type, EMPTY), controller));
+        updateFree(type);
+        snapshot = append(snapshot, controller);
+        return old;
+    }
+
+    /**
+     * Registers a controller unless it is registered already, a controller having the same deviceID
+     * is replaced. Callers which attach to registered controllers hold the lock of this registry
+     * around this and the attach, so that a controller notified and listed at once is attached once.
+     *
+     * @return false if the controller is registered already
+     */
+    public synchronized boolean add(T controller) {
+        if (byDeviceID.get(controller.getDeviceID()) == controller) {
+            return false;
+        }
+        put(controller);
+        return true;
+    }
+
+    /**
+     * Unregisters a controller.
+     *
+     * @return the removed controller, null if none
+     */
+    public synchronized T remove(int deviceID) {
+        T old = byDeviceID.remove(deviceID);
+        if (old != null) {
+            unindex(old);
+        }
+        return old;
+    }
+
+    /** */
+    private void unindex(IController controller) {
+        claimed.remove(controller.getDeviceID());
+        long type = controller.getDeviceTypeIdentifier();
+        IController[] controllers = without(byType.getOrDefault(type, EMPTY), controller);
+        if (controllers.length == 0) {
+            byType.remove(type);
+        } else {
+            byType.put(type, controllers);
+        }
+        updateFree(type);
+        snapshot = without(snapshot, controller);
+    }
+
+    /** rebuilds the free controllers array of the model */
+    private void updateFree(long type) {
+        IController[] free = Arrays.stream(byType.getOrDefault(type, EMPTY))
+                .filter(c -> !claimed.contains(c.getDeviceID()))
+                .toArray(IController[]::new);
+        if (free.length == 0) {
+            freeByType.remove(type);
+        } else {
+            freeByType.put(type, free);
+        }
+    }
+
+    /**
+     * Marks the controller as in use. A claim is dropped when the controller is removed.
+     *
+     * @return false if the controller is not registered or already claimed
+     */
+    public synchronized boolean claim(IController controller) {
+        if (byDeviceID.get(controller.getDeviceID()) != controller || !claimed.add(controller.getDeviceID())) {
+            return false;
+        }
+        updateFree(controller.getDeviceTypeIdentifier());
+        return true;
+    }
+
+    /**
+     * Marks the controller as free.
+     *
+     * @return false if the controller was not claimed
+     */
+    public synchronized boolean release(IController controller) {
+        if (byDeviceID.get(controller.getDeviceID()) != controller || !claimed.remove(controller.getDeviceID())) {
+            return false;
+        }
+        updateFree(controller.getDeviceTypeIdentifier());
+        return true;
+    }
+
+    /** */
+    public boolean isClaimed(IController controller) {
+        return byDeviceID.get(controller.getDeviceID()) == controller && claimed.contains(controller.getDeviceID());
+    }
+
+    /** */
+    private static IController[] append(IController[] controllers, IController controller) {
+        IController[] result = Arrays.copyOf(controllers, controllers.length + 1);
+        result[controllers.length] = controller;
+        return result;
+    }
+
+    /** */
+    private static IController[] without(IController[] controllers, IController controller) {
+        return Arrays.stream(controllers).filter(c -> c != controller).toArray(IController[]::new);
+    }
+
+    /**
+     * @return the controller, null if not found
+     */
+    public T get(int deviceID) {
+        return byDeviceID.get(deviceID);
+    }
+
+    /**
+     * @return the first attached controller of the model, null if not found
+     */
+    public IController get(int vendorID, int productID) {
+        IController[] controllers = byType.get(((long) vendorID << 16) + productID);
+        return controllers != null ? controllers[0] : null;
+    }
+
+    /**
+     * @return the first attached controller of the model which is not claimed, null if not found
+     */
+    public IController getFree(int vendorID, int productID) {
+        IController[] controllers = freeByType.get(((long) vendorID << 16) + productID);
+        return controllers != null ? controllers[0] : null;
+    }
+
+    /**
+     * @return all controllers of the model in attached order, shared array
+     */
+    public IController[] getAll(int vendorID, int productID) {
+        return byType.getOrDefault(((long) vendorID << 16) + productID, EMPTY);
+    }
+
+    /**
+     * @return all controllers in attached order, shared array
+     */
+    public IController[] getControllers() {
+        return snapshot;
+    }
+
+    /** */
+    public int size() {
+        return snapshot.length;
+    }
+}
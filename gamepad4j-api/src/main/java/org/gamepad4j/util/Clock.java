@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Source of event timestamps and of the time which timing features wait for.
+ * <p>
+ * Times are in nanoseconds and only differences are meaningful, like {@link System#nanoTime()}
+ * which is {@link #system() the system clock}. Replacing it by a {@link VirtualClock} lets
+ * time dependent logic run faster or slower than real time, e.g. to replay recorded input
+ * in seconds with the same results. Components which are not given a clock use the system clock.
+ * Blocking waits for input stay in real time unless they are given a deadline of a clock,
+ * see {@link InputSignal#awaitUntil(Clock, long)}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ * @see VirtualClock
+ */
+public abstract class Clock {
+
+    /** {@link System#nanoTime()} */
+    private static final Clock SYSTEM = new Clock() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public void sleepUntil(long deadline) throws InterruptedException {
+            long wait;
+            while ((wait = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, wait);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+
+        @Override
+        public void parkUntil(Object blocker, long deadline) {
+            LockSupport.parkNanos(blocker, deadline - System.nanoTime());
+        }
+
+        @Override
+        public String toString() {
+            return "system";
+        }
+    };
+
+    /** slice of real time in which {@link #parkUntil(Object, long)} checks the time by default */
+    private static final long PARK_SLICE = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** Returns the current time in nanoseconds. */
+    public abstract long nanoTime();
+
+    /**
+     * Waits until {@link #nanoTime()} reaches the deadline.
+     *
+     * @param deadline in the time base of {@link #nanoTime()}, returns at once if passed
+     * @throws InterruptedException the current thread is interrupted
+     */
+    public abstract void sleepUntil(long deadline) throws InterruptedException;
+
+    /**
+     * Parks the current thread until {@link #nanoTime()} reaches the deadline at most, like
+     * {@link LockSupport#parkNanos(Object, long)} it may return earlier, e.g. when unparked or interrupted.
+     * Callers check their condition and the time again.
+     * The default parks in slices of a millisecond of real time.
+     *
+     * @param deadline in the time base of {@link #nanoTime()}, returns at once if passed
+     */
+    public void parkUntil(Object blocker, long deadline) {
+        long wait = deadline - nanoTime();
+        if (wait > 0) {
+            LockSupport.parkNanos(blocker, Math.min(wait, PARK_SLICE));
+        }
+    }
+
+    /** Returns the clock of {@link System#nanoTime()}. */
+    public static Clock system() {
+        return SYSTEM;
+    }
+
+    /** Returns whether this is {@link #system() the system clock}, e.g. to use timestamps of a driver. */
+    public final boolean isSystem() {
+        return this == SYSTEM;
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.util;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.gamepad4j.ButtonID;
+import org.gamepad4j.IAxis;
+import org.gamepad4j.IButton;
+import org.gamepad4j.IControllerListener;
+import org.gamepad4j.StickID;
+
+
+/**
+ * Lets threads wait for the next input without polling.
+ * <p>
+ * {@link #signal()} is called by threads which deliver input events, it costs an atomic
+ * increment when nobody waits. Waiting threads are parked and unparked directly by the signaling thread.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+public final class InputSignal {
+
+    /** incremented on each input */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /** parked threads */
+    private final Set<Thread> waiters = ConcurrentHashMap.newKeySet();
+
+    /** Wakes up all waiting threads. */
+    public void signal() {
+        sequence.incrementAndGet();
+        if (!waiters.isEmpty()) {
+            for (Thread waiter : waiters) {
+                LockSupport.unpark(waiter);
+            }
+        }
+    }
+
+    /**
+     * Waits until {@link #signal()} is called after this call.
+     *
+     * @return false if timed out
+     * @throws InterruptedException the current thread is interrupted
+     */
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        return awaitUntil(Clock.system(), System.nanoTime() + unit.toNanos(timeout));
+    }
+
+    /**
+     * Waits until {@link #signal()} is called after this call, or the clock reaches the deadline.
+     *
+     * @param deadline in the time base of the clock
+     * @return false if timed out
+     * @throws InterruptedException the current thread is interrupted
+     */
+    public boolean awaitUntil(Clock clock, long deadline) throws InterruptedException {
+        long current = sequence.get();
+        Thread thread = Thread.currentThread();
+        waiters.add(thread);
+        try {
+            while (sequence.get() == current) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                if (deadline - clock.nanoTime() <= 0) {
+                    return false;
+                }
+                clock.parkUntil(this, deadline);
+            }
+            return true;
+        } finally {
+            waiters.remove(thread);
+        }
+    }
+
+    /** Returns a listener which signals on any input event. */
+    public IControllerListener asListener() {
+        return new IControllerListener() {
+            @Override
+            public void buttonDown(IButton button, ButtonID buttonID) {
+                signal();
+            }
+
+            @Override
+            public void buttonUp(IButton button, ButtonID buttonID) {
+                signal();
+            }
+
+            @Override
+            public void moveStick(IAxis axis, StickID stick) {
+                signal();
+            }
+        };
+    }
+}
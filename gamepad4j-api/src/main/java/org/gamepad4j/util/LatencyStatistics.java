@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Thread safe latency recorder with a power of 2 histogram.
+ * <p>
+ * Recording does not allocate nor lock, percentiles are approximated
+ * by the upper bound of the bucket.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+public final class LatencyStatistics {
+
+    /** bucket i counts values in [2^(i-1), 2^i) nanoseconds, bucket 0 counts 0 */
+    private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder total = new LongAdder();
+
+    private final LongAccumulator min = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /** */
+    private final String name;
+
+    /** */
+    public LatencyStatistics(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos latency in nanoseconds, negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(nanos));
+        count.increment();
+        total.add(nanos);
+        min.accumulate(nanos);
+        max.accumulate(nanos);
+    }
+
+    /** */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /** @return nanoseconds, 0 if nothing recorded */
+    public long getMin() {
+        long value = min.get();
+        return value == Long.MAX_VALUE ? 0 : value;
+    }
+
+    /** @return nanoseconds */
+    public long getMax() {
+        return max.get();
+    }
+
+    /** @return nanoseconds, 0 if nothing recorded */
+    public long getMean() {
+        long n = count.sum();
+        return n == 0 ? 0 : total.sum() / n;
+    }
+
+    /**
+     * @param percentile 0.0 ~ 100.0
+     * @return upper bound nanoseconds of the bucket where the percentile falls, 0 if nothing recorded
+     */
+    public long getPercentile(double percentile) {
+        long n = count.sum();
+        if (n == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(n * percentile / 100);
+        long sum = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            sum += buckets.get(i);
+            if (sum >= threshold) {
+                return i == 0 ? 0 : Math.min((1L << i) - 1, getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /** Clears all records. */
+    public void reset() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        min.reset();
+        max.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: count=%d, min=%.1fus, mean=%.1fus, p50=%.1fus, p99=%.1fus, max=%.1fus",
+                name, getCount(), getMin() / 1000d, getMean() / 1000d,
+                getPercentile(50) / 1000d, getPercentile(99) / 1000d, getMax() / 1000d);
+    }
+}
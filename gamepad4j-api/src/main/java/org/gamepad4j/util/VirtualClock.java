@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.util;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * A clock which moves only when told to.
+ * <p>
+ * Manually, the time is moved by {@link #advance(long)} and threads sleeping until a deadline
+ * wake up when it is reached, e.g. in a test which pumps a backend step by step.
+ * Auto advancing, {@link #sleepUntil(long)} moves the time to the deadline at once instead of waiting,
+ * so that a timing thread runs as fast as it can while seeing the time it expects,
+ * e.g. to replay an hour of recorded input in seconds. Auto advancing is meant for one timing thread,
+ * sleepers of several threads wake up in the order they call. {@link #parkUntil(Object, long) Parked} threads
+ * are unparked when the time moves.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+public final class VirtualClock extends Clock {
+
+    /** guarded by this */
+    private long now;
+
+    private final boolean autoAdvance;
+
+    /** threads in {@link #parkUntil(Object, long)}, guarded by this */
+    private final Set<Thread> parked = new HashSet<>();
+
+    /** A manual clock starting at 0. */
+    public VirtualClock() {
+        this(0, false);
+    }
+
+    /**
+     * @param start the initial time
+     * @param autoAdvance true to move the time by {@link #sleepUntil(long)}
+     */
+    public VirtualClock(long start, boolean autoAdvance) {
+        this.now = start;
+        this.autoAdvance = autoAdvance;
+    }
+
+    @Override
+    public synchronized long nanoTime() {
+        return now;
+    }
+
+    /**
+     * Moves the time forward and wakes up sleepers whose deadline is reached.
+     *
+     * @throws IllegalArgumentException nanos is negative
+     */
+    public synchronized void advance(long nanos) {
+        if (nanos < 0) {
+            throw new IllegalArgumentException("nanos: " + nanos);
+        }
+        now += nanos;
+        wakeUp();
+    }
+
+    /** Moves the time to the time if it is later than now. */
+    public synchronized void advanceTo(long time) {
+        if (time - now > 0) {
+            now = time;
+            wakeUp();
+        }
+    }
+
+    /** Wakes up sleepers and parked threads to check the time, the caller holds the lock. */
+    private void wakeUp() {
+        notifyAll();
+        for (Thread thread : parked) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public synchronized void sleepUntil(long deadline) throws InterruptedException {
+        if (autoAdvance) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            advanceTo(deadline);
+            return;
+        }
+        while (deadline - now > 0) {
+            wait();
+        }
+    }
+
+    /** Auto advancing, moves the time to the deadline at once instead of parking. */
+    @Override
+    public void parkUntil(Object blocker, long deadline) {
+        Thread thread = Thread.currentThread();
+        synchronized (this) {
+            if (autoAdvance) {
+                advanceTo(deadline);
+                return;
+            }
+            if (deadline - now <= 0) {
+                return;
+            }
+            parked.add(thread);
+        }
+        try {
+            // unparked before parking, this returns at once
+            LockSupport.park(blocker);
+        } finally {
+            synchronized (this) {
+                parked.remove(thread);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "virtual: " + nanoTime();
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.gamepad4j.ControllerListenerSupport.Delivery;
+import org.gamepad4j.ControllerListenerSupport.ListenerMetrics;
+import org.gamepad4j.IControllerListener.IControllerAdapter;
+import org.gamepad4j.util.VirtualClock;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Tests listeners registered with an executor.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class AsyncListenerTest {
+
+    private static final Logger logger = Logger.getLogger(AsyncListenerTest.class.getName());
+
+    /** a blocked listener delays neither the firing thread nor an inline listener */
+    @Test
+    void test1() throws Exception {
+        DummyController controller = new DummyController(0, 1, 1);
+        IButton button = controller.getButton(0);
+        ControllerListenerSupport listenerSupport = new ControllerListenerSupport();
+
+        CountDownLatch release = new CountDownLatch(1);
+        List<ButtonID> slowEvents = new CopyOnWriteArrayList<>();
+        IControllerListener slow = new IControllerAdapter() {
+            @Override public void buttonDown(IButton button, ButtonID buttonID) {
+                try { release.await(); } catch (InterruptedException ignore) {}
+                slowEvents.add(buttonID);
+            }
+        };
+        int[] fast = new int[1];
+        listenerSupport.addListener(slow, Delivery.DEDICATED_THREAD);
+        listenerSupport.addListener(new IControllerAdapter() {
+            @Override public void buttonDown(IButton button, ButtonID buttonID) {
+                fast[0]++;
+            }
+        }, Delivery.INLINE);
+
+        ButtonID[] ids = {ButtonID.FACE_DOWN, ButtonID.FACE_UP, ButtonID.FACE_LEFT};
+        long start = System.nanoTime();
+        for (ButtonID id : ids) {
+            listenerSupport.fireButtonDown(button, id);
+        }
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(3, fast[0]);
+
+        ListenerMetrics metrics = listenerSupport.getMetrics(slow);
+        assertNotNull(metrics);
+        assertTrue(metrics.getQueueDepth() >= 2);
+
+        Thread.sleep(50);
+        release.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (slowEvents.size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of(ids), slowEvents);
+        assertEquals(0, metrics.getQueueDepth());
+        assertEquals(3, metrics.getLatency().getCount());
+        assertTrue(metrics.getLatency().getMax() >= TimeUnit.MILLISECONDS.toNanos(50));
+        logger.fine(metrics.getLatency().toString());
+
+        listenerSupport.removeListener(slow);
+        assertNull(listenerSupport.getMetrics(slow));
+    }
+
+    /** overflow of a bounded queue, in order on a multithreaded executor */
+    @Test
+    void test2() throws Exception {
+        DummyController controller = new DummyController(0, 1, 1);
+        IButton button = controller.getButton(0);
+        ControllerListenerSupport listenerSupport = new ControllerListenerSupport();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> events = new CopyOnWriteArrayList<>();
+        IControllerListener listener = new IControllerAdapter() {
+            @Override public void buttonDown(IButton button, ButtonID buttonID) {
+                try { release.await(); } catch (InterruptedException ignore) {}
+                events.add(buttonID.ordinal());
+            }
+        };
+        listenerSupport.addListener(listener, executor, 8);
+
+        for (int i = 0; i < 20; i++) {
+            listenerSupport.fireButtonDown(button, ButtonID.values()[i]);
+        }
+        ListenerMetrics metrics = listenerSupport.getMetrics(listener);
+        assertNotEquals(0, metrics.getOverflowCount());
+        release.countDown();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (events.size() + metrics.getOverflowCount() < 20 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(20, events.size() + metrics.getOverflowCount());
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i - 1) < events.get(i));
+        }
+
+        for (int i = 0; i < 100; i++) {
+            listenerSupport.fireButtonDown(button, ButtonID.values()[i % 20]);
+            if (i % 7 == 0) {
+                Thread.sleep(1);
+            }
+        }
+        deadline = System.currentTimeMillis() + 5000;
+        while (events.size() + metrics.getOverflowCount() < 120 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(120, events.size() + metrics.getOverflowCount());
+        executor.shutdown();
+    }
+
+    /** async listeners stamp events and measure latency by the clock of the listener support */
+    @Test
+    void test3() throws Exception {
+        DummyController controller = new DummyController(0, 1, 1);
+        IButton button = controller.getButton(0);
+        ControllerListenerSupport listenerSupport = new ControllerListenerSupport();
+        List<Runnable> tasks = new ArrayList<>();
+        Executor executor = tasks::add;
+
+        List<Long> before = new ArrayList<>();
+        IControllerListener listener1 = new IControllerAdapter() {
+            @Override public void buttonDown(IButton button, ButtonID buttonID, long timestamp) {
+                before.add(timestamp);
+            }
+        };
+        List<Long> after = new ArrayList<>();
+        IControllerListener listener2 = new IControllerAdapter() {
+            @Override public void buttonDown(IButton button, ButtonID buttonID, long timestamp) {
+                after.add(timestamp);
+            }
+        };
+        // added before and after the clock is set
+        listenerSupport.addListener(listener1, executor, 8);
+        VirtualClock clock = new VirtualClock(1000, false);
+        listenerSupport.setClock(clock);
+        listenerSupport.addListener(listener2, executor, 8);
+
+        listenerSupport.fireButtonDown(button, ButtonID.FACE_DOWN);
+        clock.advance(500);
+        assertEquals(2, tasks.size());
+        tasks.forEach(Runnable::run);
+
+        assertEquals(List.of(1000L), before);
+        assertEquals(List.of(1000L), after);
+        for (IControllerListener listener : List.of(listener1, listener2)) {
+            ListenerMetrics metrics = listenerSupport.getMetrics(listener);
+            assertEquals(1, metrics.getLatency().getCount());
+            assertEquals(500, metrics.getLatency().getMax());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.gamepad4j.util.InputSignal;
+import org.gamepad4j.util.LatencyStatistics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Tests {@link InputSignal} and awaitInput.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class AwaitInputTest {
+
+    private static final Logger logger = Logger.getLogger(AwaitInputTest.class.getName());
+
+    @Test
+    void test1() throws Exception {
+        InputSignal signal = new InputSignal();
+        assertFalse(signal.await(10, TimeUnit.MILLISECONDS));
+
+        LatencyStatistics latency = new LatencyStatistics("wakeup");
+        for (int i = 0; i < 100; i++) {
+            long[] signaled = new long[1];
+            Thread thread = new Thread(() -> {
+                try { Thread.sleep(1); } catch (InterruptedException ignore) {}
+                signaled[0] = System.nanoTime();
+                signal.signal();
+            });
+            thread.start();
+            assertTrue(signal.await(1, TimeUnit.SECONDS));
+            latency.record(System.nanoTime() - signaled[0]);
+            thread.join();
+        }
+        logger.fine(latency.toString());
+        assertEquals(100, latency.getCount());
+    }
+
+    @Test
+    void test2() throws Exception {
+        DummyProvider provider = new DummyProvider();
+        Controllers root = new Controllers(provider);
+        DummyController a = new DummyController(0, 1, 1);
+        provider.connect(a);
+
+        assertFalse(root.awaitInput(10, TimeUnit.MILLISECONDS));
+        assertFalse(a.awaitInput(10, TimeUnit.MILLISECONDS));
+
+        Thread thread = new Thread(() -> {
+            try { Thread.sleep(50); } catch (InterruptedException ignore) {}
+            a.getListenerSupport().fireButtonDown(a.getButton(0), ButtonID.FACE_DOWN);
+        });
+        thread.start();
+        assertTrue(root.awaitInput(1, TimeUnit.SECONDS));
+        thread.join();
+
+        thread = new Thread(() -> {
+            try { Thread.sleep(50); } catch (InterruptedException ignore) {}
+            a.getListenerSupport().fireButtonUp(a.getButton(0), ButtonID.FACE_DOWN);
+        });
+        thread.start();
+        assertTrue(a.awaitInput(1, TimeUnit.SECONDS));
+        thread.join();
+    }
+}
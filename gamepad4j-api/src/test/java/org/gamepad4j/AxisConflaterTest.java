@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.gamepad4j.IControllerListener.IControllerAdapter;
+import org.gamepad4j.base.BaseAxis;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+/**
+ * Tests the event queue of {@link Controllers} with conflated axes.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class AxisConflaterTest {
+
+    @Test
+    void test1() throws Exception {
+        DummyProvider provider = new DummyProvider();
+        Controllers root = new Controllers(provider);
+        DummyController a = new DummyController(0, 1, 1);
+        BaseAxis x = new BaseAxis(AxisID.X, 0);
+        BaseAxis y = new BaseAxis(AxisID.Y, 1);
+        a.setAxes(x, y);
+        provider.connect(a);
+        root.enableEventQueue(4, true);
+
+        List<String> events = new ArrayList<>();
+        root.addControllerListener(new IControllerAdapter() {
+            @Override public void buttonDown(IButton button, ButtonID buttonID) {
+                events.add("down" + buttonID);
+            }
+            @Override public void moveStick(IAxis axis, StickID stick) {
+                events.add(axis.getID() + "=" + axis.getValue());
+            }
+        });
+
+        // a flood of stick samples between button edges, more than the queue capacity
+        IButton button = a.getButton(0);
+        for (int i = 0; i <= 10000; i++) {
+            x.setValue(i / 10000f);
+            a.getListenerSupport().fireMoveStick(x, StickID.LEFT);
+            if (i % 5000 == 0) {
+                y.setValue(-i / 10000f);
+                a.getListenerSupport().fireMoveStick(y, StickID.LEFT);
+                a.getListenerSupport().fireButtonDown(button, ButtonID.values()[i / 5000]);
+            }
+        }
+
+        assertEquals(5, root.dispatchPending());
+        assertEquals(List.of("down" + ButtonID.values()[0], "down" + ButtonID.values()[1], "down" + ButtonID.values()[2],
+                "X=1.0", "Y=-1.0"), events);
+        assertEquals(0, root.getOverflowCount());
+        assertEquals(0, root.dispatchPending());
+
+        // axes of a controller connected later are conflated too, disconnected ones are dropped
+        DummyController b = new DummyController(1, 1, 1);
+        BaseAxis z = new BaseAxis(AxisID.X, 0);
+        b.setAxes(z);
+        provider.connect(b);
+        b.getListenerSupport().fireMoveStick(z, StickID.RIGHT);
+        b.getListenerSupport().fireMoveStick(z, StickID.RIGHT);
+        assertEquals(1, root.dispatchPending());
+        b.getListenerSupport().fireMoveStick(z, StickID.RIGHT);
+        provider.disconnect(b);
+        assertEquals(0, root.dispatchPending());
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Flow;
+
+import org.gamepad4j.base.BaseAxis;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Tests {@link ControllerEventPublisher}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class ControllerEventPublisherTest {
+
+    /** records events as "down@1", "x=0.5" */
+    static class Recorder implements Flow.Subscriber<ControllerEvent> {
+        Flow.Subscription subscription;
+        final List<String> events = new ArrayList<>();
+        final List<IController> controllers = new ArrayList<>();
+        final Set<ControllerEvent> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        Throwable error;
+
+        @Override public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override public void onNext(ControllerEvent event) {
+            instances.add(event);
+            controllers.add(event.getController());
+            switch (event.getType()) {
+            case BUTTON_DOWN -> events.add("down@" + event.getTimestamp());
+            case BUTTON_UP -> events.add("up@" + event.getTimestamp());
+            case MOVE_STICK -> events.add(((IAxis) event.getComponent()).getID() + "=" + event.getValue());
+            }
+        }
+
+        @Override public void onError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override public void onComplete() {
+        }
+    }
+
+    @Test
+    void test1() {
+        DummyController a = new DummyController(0, 1, 1);
+        ControllerEventPublisher publisher = a.events();
+
+        Recorder recorder = new Recorder();
+        publisher.subscribe(recorder, ControllerEventPublisher.Overflow.BUFFER, 4);
+        ControllerListenerSupport support = a.getListenerSupport();
+        for (int i = 1; i <= 6; i++) {
+            support.fireButtonDown(a.getButton(0), ButtonID.FACE_DOWN, i);
+        }
+        // no demand
+        assertEquals(0, recorder.events.size());
+        assertEquals(2, publisher.getOverflowCount());
+
+        recorder.subscription.request(2);
+        assertEquals(List.of("down@1", "down@2"), recorder.events);
+        recorder.subscription.request(10);
+        assertEquals(List.of("down@1", "down@2", "down@3", "down@4"), recorder.events);
+        assertSame(a, recorder.controllers.get(0));
+
+        // delivered on the firing thread while demanded
+        for (int i = 0; i < 100; i++) {
+            support.fireButtonUp(a.getButton(0), ButtonID.FACE_DOWN, 5);
+        }
+        assertEquals(12, recorder.events.size());
+        // pooled
+        assertTrue(recorder.instances.size() <= 5 + 1, "" + recorder.instances.size());
+
+        recorder.subscription.cancel();
+        recorder.subscription.request(100);
+        assertEquals(12, recorder.events.size());
+    }
+
+    @Test
+    void test2() {
+        DummyController a = new DummyController(0, 1, 1);
+        BaseAxis x = new BaseAxis(AxisID.X, 0);
+        BaseAxis y = new BaseAxis(AxisID.Y, 1);
+        a.setAxes(x, y);
+        ControllerListenerSupport support = a.getListenerSupport();
+
+        Recorder oldest = new Recorder();
+        a.events().subscribe(oldest, ControllerEventPublisher.Overflow.DROP_OLDEST, 2);
+        Recorder conflated = new Recorder();
+        a.events().subscribe(conflated, ControllerEventPublisher.Overflow.CONFLATE_AXES, 4);
+
+        for (int i = 1; i <= 5; i++) {
+            x.setValue(i / 10f);
+            support.fireMoveStick(x, StickID.LEFT);
+        }
+        support.fireButtonDown(a.getButton(0), ButtonID.FACE_DOWN, 7);
+        y.setValue(-1);
+        support.fireMoveStick(y, StickID.LEFT);
+
+        oldest.subscription.request(Long.MAX_VALUE);
+        assertEquals(List.of("down@7", "Y=-1.0"), oldest.events);
+        conflated.subscription.request(Long.MAX_VALUE);
+        assertEquals(List.of("X=0.5", "down@7", "Y=-1.0"), conflated.events);
+
+        // illegal demand
+        Recorder illegal = new Recorder();
+        a.events().subscribe(illegal);
+        illegal.subscription.request(0);
+        assertInstanceOf(IllegalArgumentException.class, illegal.error);
+        support.fireButtonDown(a.getButton(0), ButtonID.FACE_DOWN, 8);
+        illegal.subscription.request(1);
+        assertEquals(0, illegal.events.size());
+    }
+
+    @Test
+    void test3() throws Exception {
+        DummyProvider provider = new DummyProvider();
+        Controllers root = new Controllers(provider);
+        DummyController a = new DummyController(0, 1, 1);
+        provider.connect(a);
+
+        Recorder recorder = new Recorder();
+        root.events().subscribe(recorder);
+        recorder.subscription.request(Long.MAX_VALUE);
+        a.getListenerSupport().fireButtonDown(a.getButton(0), ButtonID.FACE_DOWN, 1);
+
+        // a controller connected later
+        DummyController b = new DummyController(1, 1, 1);
+        provider.connect(b);
+        b.getListenerSupport().fireButtonUp(b.getButton(0), ButtonID.FACE_DOWN, 2);
+        assertEquals(List.of("down@1", "up@2"), recorder.events);
+        assertEquals(List.of(a, b), recorder.controllers);
+
+        recorder.subscription.cancel();
+        a.getListenerSupport().fireButtonDown(a.getButton(0), ButtonID.FACE_DOWN, 3);
+        assertEquals(2, recorder.events.size());
+    }
+}
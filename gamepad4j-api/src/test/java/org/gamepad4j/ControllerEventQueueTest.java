@@ -0,0 +1,207 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.gamepad4j.IControllerListener.IControllerAdapter;
+import org.gamepad4j.base.BaseAxis;
+import org.gamepad4j.base.BaseButton;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Tests the event queue of {@link Controllers}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class ControllerEventQueueTest {
+
+    @Test
+    void test1() throws Exception {
+        DummyProvider provider = new DummyProvider();
+        Controllers root = new Controllers(provider);
+        DummyController a = new DummyController(0, 1, 1);
+        provider.connect(a);
+        BaseButton button = (BaseButton) a.getButton(0);
+
+        assertThrows(IllegalStateException.class, root::dispatchPending);
+        root.enableEventQueue(4);
+        assertThrows(IllegalStateException.class, () -> root.enableEventQueue(4));
+
+        List<String> events = new ArrayList<>();
+        Thread caller = Thread.currentThread();
+        root.addControllerListener(new IControllerAdapter() {
+            @Override public void buttonDown(IButton button, ButtonID buttonID) {
+                assertEquals(caller, Thread.currentThread());
+                events.add("down" + buttonID);
+            }
+            @Override public void buttonUp(IButton button, ButtonID buttonID) {
+                events.add("up" + buttonID);
+            }
+        });
+
+        Thread thread = new Thread(() -> {
+            a.getListenerSupport().fireButtonDown(button, ButtonID.FACE_DOWN);
+            a.getListenerSupport().fireButtonUp(button, ButtonID.FACE_DOWN);
+            a.getListenerSupport().fireButtonDown(button, ButtonID.FACE_UP);
+            a.getListenerSupport().fireButtonUp(button, ButtonID.FACE_UP);
+            a.getListenerSupport().fireButtonDown(button, ButtonID.FACE_LEFT); // overflow
+        });
+        thread.start();
+        thread.join();
+        assertEquals(List.of(), events);
+
+        assertEquals(4, root.dispatchPending());
+        assertEquals(List.of("downFACE_DOWN", "upFACE_DOWN", "downFACE_UP", "upFACE_UP"), events);
+        assertEquals(1, root.getOverflowCount());
+        assertEquals(0, root.dispatchPending());
+    }
+
+    /** 4 producers, a consumer, nothing lost nor reordered per producer */
+    @Test
+    void test2() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        ButtonID[] ids = ButtonID.values();
+        ControllerEventQueue queue = new ControllerEventQueue(1024);
+        DummyController[] controllers = new DummyController[producers];
+        IButton[] buttons = new IButton[producers];
+        for (int i = 0; i < producers; i++) {
+            controllers[i] = new DummyController(i, 1, 1);
+            buttons[i] = controllers[i].getButton(0);
+        }
+
+        int[] last = new int[producers];
+        int[] received = new int[1];
+        boolean[] ordered = {true};
+        ControllerListenerSupport listenerSupport = new ControllerListenerSupport();
+        listenerSupport.addListener(new IControllerAdapter() {
+            @Override public void buttonDown(IButton button, ButtonID buttonID) {
+                int producer = List.of(buttons).indexOf(button);
+                int sequence = buttonID.ordinal();
+                if (sequence != (last[producer] + 1) % ids.length) {
+                    ordered[0] = false;
+                }
+                last[producer] = sequence;
+                received[0]++;
+            }
+        });
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            Thread thread = new Thread(() -> {
+                try { start.await(); } catch (InterruptedException ignore) {}
+                for (int i = 1; i <= perProducer; i++) {
+                    ButtonID id = ids[i % ids.length];
+                    while (!queue.offer(ControllerEventQueue.BUTTON_DOWN, buttons[producer], id, i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        while (received[0] < producers * perProducer) {
+            queue.drain(listenerSupport);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(producers * perProducer, received[0]);
+        assertEquals(true, ordered[0]);
+    }
+
+    /** records "down@1", "x@2" with timestamps */
+    static IControllerListener timed(List<String> events) {
+        return new IControllerAdapter() {
+            @Override public void buttonDown(IButton button, ButtonID buttonID, long timestamp) {
+                synchronized (events) {
+                    events.add("down@" + timestamp);
+                }
+            }
+            @Override public void moveStick(IAxis axis, StickID stick, long timestamp) {
+                synchronized (events) {
+                    events.add(axis.getID() + "@" + timestamp);
+                }
+            }
+        };
+    }
+
+    /** device timestamps are kept through the queue, the conflater, seat lanes and asynchronous listeners */
+    @Test
+    void test3() throws Exception {
+        DummyProvider provider = new DummyProvider();
+        Controllers root = new Controllers(provider);
+        DummyController a = new DummyController(0, 1, 1);
+        BaseAxis x = new BaseAxis(AxisID.X, 0);
+        a.setAxes(x);
+        provider.connect(a);
+        IButton button = a.getButton(0);
+
+        root.enableEventQueue(4, true);
+        List<String> queued = new ArrayList<>();
+        root.addControllerListener(timed(queued));
+        List<String> async = new ArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(2);
+        IControllerListener asyncListener = timed(async);
+        root.addControllerListener(new IControllerAdapter() {
+            @Override public void buttonDown(IButton button, ButtonID buttonID, long timestamp) {
+                asyncListener.buttonDown(button, buttonID, timestamp);
+                delivered.countDown();
+            }
+            @Override public void moveStick(IAxis axis, StickID stick, long timestamp) {
+                asyncListener.moveStick(axis, stick, timestamp);
+                delivered.countDown();
+            }
+        }, ControllerListenerSupport.Delivery.DEDICATED_THREAD);
+
+        try (Controllers seat = root.newSeat("timed")) {
+            List<String> laned = new ArrayList<>();
+            CountDownLatch dispatched = new CountDownLatch(2);
+            seat.addControllerListener(new IControllerAdapter() {
+                @Override public void buttonDown(IButton button, ButtonID buttonID, long timestamp) {
+                    timed(laned).buttonDown(button, buttonID, timestamp);
+                    dispatched.countDown();
+                }
+                @Override public void moveStick(IAxis axis, StickID stick, long timestamp) {
+                    timed(laned).moveStick(axis, stick, timestamp);
+                    dispatched.countDown();
+                }
+            });
+            seat.assign(a);
+
+            a.getListenerSupport().fireButtonDown(button, ButtonID.FACE_DOWN, 1);
+            a.getListenerSupport().fireMoveStick(x, StickID.LEFT, 2);
+            a.getListenerSupport().fireMoveStick(x, StickID.LEFT, 3);
+
+            assertEquals(2, root.dispatchPending());
+            assertEquals(List.of("down@1", "X@3"), queued);
+            assertTrue(dispatched.await(1, TimeUnit.SECONDS));
+            synchronized (laned) {
+                assertEquals(List.of("down@1", "X@2"), laned.subList(0, 2));
+            }
+            assertTrue(delivered.await(1, TimeUnit.SECONDS));
+            // behind the conflating queue of the root
+            synchronized (async) {
+                assertEquals(List.of("down@1", "X@3"), async);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.gamepad4j.IControllerListener.IControllerAdapter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+/**
+ * Tests the root of {@link Controllers}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class ControllersTest {
+
+    /** connects a controller on open, the notification is delivered on another thread */
+    static class RacingProvider extends DummyProvider {
+        final DummyController controller = new DummyController(0, 1, 1);
+        Thread notifier;
+
+        @Override
+        public void open() {
+            CountDownLatch listed = new CountDownLatch(1);
+            notifier = new Thread(() -> {
+                try {
+                    listed.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                connect(controller);
+            });
+            notifier.start();
+            // published, the notification is pending
+            listed.countDown();
+        }
+
+        @Override
+        public IController[] getControllers() {
+            return new IController[] {controller};
+        }
+    }
+
+    @Test
+    void test1() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            RacingProvider provider = new RacingProvider();
+            Controllers root = new Controllers(provider);
+            provider.notifier.join();
+
+            // listed and notified, forwarded once
+            AtomicInteger count = new AtomicInteger();
+            root.addControllerListener(new IControllerAdapter() {
+                @Override public void buttonDown(IButton button, ButtonID buttonID) { count.incrementAndGet(); }
+            });
+            DummyController controller = provider.controller;
+            controller.getListenerSupport().fireButtonDown(controller.getButton(0), ButtonID.FACE_DOWN, 1);
+            assertEquals(1, count.get());
+            assertEquals(1, root.getControllers().length);
+        }
+    }
+}
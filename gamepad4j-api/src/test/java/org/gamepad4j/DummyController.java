@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import org.gamepad4j.base.AbstractBaseController;
+import org.gamepad4j.base.BaseAxis;
+import org.gamepad4j.base.BaseButton;
+
+
+/**
+ * Controller without a device for tests.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+public class DummyController extends AbstractBaseController {
+
+    private final ControllerListenerSupport listenerSupport = new ControllerListenerSupport();
+
+    public DummyController(int deviceID, int vendorID, int productID) {
+        this(deviceID, vendorID, productID, null);
+    }
+
+    public DummyController(int deviceID, int vendorID, int productID, String identity) {
+        super(deviceID, "dummy" + deviceID);
+        this.vendorID = vendorID;
+        this.productID = productID;
+        this.identity = identity;
+        this.buttons = new BaseButton[] {new BaseButton(this, 0, "A", "A")};
+    }
+
+    public void setAxes(BaseAxis... axes) {
+        this.axes = axes;
+    }
+
+    public ControllerListenerSupport getListenerSupport() {
+        return listenerSupport;
+    }
+
+    @Override
+    public void open() {
+    }
+
+    @Override
+    public void addListener(IControllerListener listener) {
+        listenerSupport.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(IControllerListener listener) {
+        listenerSupport.removeListener(listener);
+    }
+
+    @Override
+    public void write(byte[] data, int length, int reportId) {
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import org.gamepad4j.base.ControllerRegistry;
+
+
+/**
+ * Provider without devices for tests, controllers are connected manually.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+public class DummyProvider implements IControllerProvider {
+
+    private final ControllersListenerSupport listenerSupport = new ControllersListenerSupport();
+
+    private final ControllerRegistry<IController> connected = new ControllerRegistry<>();
+
+    public void connect(IController controller) {
+        connected.put(controller);
+        listenerSupport.fireConnected(controller);
+    }
+
+    public void disconnect(IController controller) {
+        connected.remove(controller.getDeviceID());
+        listenerSupport.fireDisconnected(controller);
+    }
+
+    @Override
+    public void open() {
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void addListener(IControllersListener listener) {
+        listenerSupport.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(IControllersListener listener) {
+        listenerSupport.removeListener(listener);
+    }
+
+    @Override
+    public boolean isSupported() {
+        return true;
+    }
+
+    @Override
+    public IController[] getControllers() {
+        return connected.getControllers();
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.gamepad4j.FanoutGenerator.Dispatch;
+import org.gamepad4j.FanoutGenerator.Loop;
+import org.gamepad4j.base.BaseButton;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Tests {@link FanoutGenerator}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class FanoutGeneratorTest {
+
+    private static final Logger logger = Logger.getLogger(FanoutGeneratorTest.class.getName());
+
+    static class A extends IControllerListener.IControllerAdapter {
+        int count;
+        @Override public void buttonDown(IButton button, ButtonID buttonID) { count++; }
+    }
+
+    static class B extends IControllerListener.IControllerAdapter {
+        int count;
+        @Override public void buttonDown(IButton button, ButtonID buttonID) { count += 2; }
+    }
+
+    static class C extends IControllerListener.IControllerAdapter {
+        int count;
+        @Override public void buttonDown(IButton button, ButtonID buttonID) { count += 3; }
+    }
+
+    /** in order, by a copy or by a loop */
+    @Test
+    void test1() {
+        IButton button = new BaseButton(null, 0, "A", "A");
+        for (int n = 0; n <= 9; n++) {
+            List<Integer> calls = new ArrayList<>();
+            IControllerListener[] listeners = new IControllerListener[n];
+            for (int i = 0; i < n; i++) {
+                int number = i;
+                listeners[i] = new IControllerListener.IControllerAdapter() {
+                    @Override public void buttonUp(IButton button, ButtonID buttonID) { calls.add(number); }
+                };
+            }
+            for (boolean generate : new boolean[] {true, false}) {
+                calls.clear();
+                Dispatch dispatch = FanoutGenerator.of(listeners, generate);
+                dispatch.buttonUp(button, ButtonID.FACE_DOWN, 0);
+                assertEquals(n, calls.size());
+                for (int i = 0; i < n; i++) {
+                    assertEquals(i, calls.get(i));
+                }
+                assertEquals(generate && n > 0, dispatch.target.getClass().isHidden(), dispatch.target.getClass().getName());
+            }
+        }
+        assertFalse(FanoutGenerator.of(new IControllerListener[] {new A()}, false).target.getClass().isHidden());
+    }
+
+    /** listeners of three classes in one of several orders */
+    static IControllerListener[] listeners(int n, int order) {
+        IControllerListener[] listeners = new IControllerListener[n];
+        for (int i = 0; i < n; i++) {
+            listeners[i] = switch ((i + order) % 3) {
+                case 0 -> new A();
+                case 1 -> new B();
+                default -> new C();
+            };
+        }
+        return listeners;
+    }
+
+    /**
+     * Generated fan-outs against a loop over listeners of three classes, measured in real time.
+     * Sets of several listener supports are fired from one site, as {@link ControllerListenerSupport} does.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "vavi.test", matches = "ide")
+    void test2() {
+        IButton button = new BaseButton(null, 0, "A", "A");
+        int sets = 8;
+        int rounds = 2_000_000;
+        for (int n : new int[] {1, 4, 16}) {
+            Loop[] loops = new Loop[sets];
+            Dispatch[] dispatches = new Dispatch[sets];
+            for (int s = 0; s < sets; s++) {
+                IControllerListener[] listeners = listeners(n, s);
+                loops[s] = new Loop(listeners);
+                dispatches[s] = FanoutGenerator.of(listeners, true);
+            }
+            long[] nanos = new long[2];
+            for (int w = 0; w < 5; w++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < rounds; i++) {
+                    loops[i & (sets - 1)].buttonDown(button, ButtonID.FACE_DOWN, 0);
+                }
+                nanos[0] = System.nanoTime() - start;
+                start = System.nanoTime();
+                for (int i = 0; i < rounds; i++) {
+                    dispatches[i & (sets - 1)].buttonDown(button, ButtonID.FACE_DOWN, 0);
+                }
+                nanos[1] = System.nanoTime() - start;
+            }
+            logger.fine(String.format("%2d listeners: loop %.1f ns/event, generated %.1f ns/event", n, nanos[0] / (double) rounds, nanos[1] / (double) rounds));
+            if (n > 1) {
+                assertTrue(nanos[1] < nanos[0], n + " listeners: loop " + nanos[0] + ", generated " + nanos[1]);
+            }
+        }
+    }
+}
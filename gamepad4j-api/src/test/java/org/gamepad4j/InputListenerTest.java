@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.gamepad4j.base.BaseAxis;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+/**
+ * Tests {@link IInputListener}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class InputListenerTest {
+
+    @Test
+    void test1() throws Exception {
+        DummyProvider provider = new DummyProvider();
+        Controllers root = new Controllers(provider);
+        DummyController a = new DummyController(3, 1, 1);
+        BaseAxis x = new BaseAxis(AxisID.X, 0);
+        BaseAxis y = new BaseAxis(AxisID.Y, 1);
+        a.setAxes(x, y);
+        provider.connect(a);
+
+        List<String> events = new ArrayList<>();
+        IInputListener listener = new IInputListener() {
+            @Override public void onButton(int slot, int buttonIndex, boolean down, long timestamp) {
+                events.add(slot + ":b" + buttonIndex + ":" + down + "@" + timestamp);
+            }
+            @Override public void onAxis(int slot, int axisIndex, float value, long timestamp) {
+                events.add(slot + ":a" + axisIndex + ":" + value + "@" + timestamp);
+            }
+        };
+        root.addInputListener(listener);
+
+        a.getListenerSupport().fireButtonDown(a.getButton(0), ButtonID.FACE_DOWN, 100);
+        y.setValue(0.5f);
+        a.getListenerSupport().fireMoveStick(y, StickID.LEFT, 101);
+        a.getListenerSupport().fireButtonUp(a.getButton(0), ButtonID.FACE_DOWN, 102);
+        assertEquals(List.of("3:b0:true@100", "3:a1:0.5@101", "3:b0:false@102"), events);
+
+        // registered to controllers connected later
+        DummyController b = new DummyController(4, 1, 1);
+        provider.connect(b);
+        b.getListenerSupport().fireButtonDown(b.getButton(0), ButtonID.FACE_UP, 103);
+        assertEquals("4:b0:true@103", events.get(3));
+
+        root.removeInputListener(listener);
+        a.getListenerSupport().fireButtonDown(a.getButton(0), ButtonID.FACE_DOWN, 104);
+        b.getListenerSupport().fireButtonDown(b.getButton(0), ButtonID.FACE_DOWN, 105);
+        assertEquals(4, events.size());
+    }
+
+    @Test
+    void test2() {
+        InputListenerSupport support = new InputListenerSupport();
+        int[] count = new int[1];
+        IInputListener a = new IInputListener() {
+            @Override public void onButton(int slot, int buttonIndex, boolean down, long timestamp) { count[0]++; }
+            @Override public void onAxis(int slot, int axisIndex, float value, long timestamp) { count[0] += 10; }
+        };
+        IInputListener b = new IInputListener() {
+            @Override public void onButton(int slot, int buttonIndex, boolean down, long timestamp) { count[0] += 100; }
+            @Override public void onAxis(int slot, int axisIndex, float value, long timestamp) { count[0] += 1000; }
+        };
+        support.addListener(a);
+        support.addListener(b);
+        support.fireButton(0, 0, true, 0);
+        support.fireAxis(0, 0, 0f, 0);
+        assertEquals(1111, count[0]);
+        support.removeListener(a);
+        support.fireButton(0, 0, true, 0);
+        assertEquals(1211, count[0]);
+        support.removeListener(b);
+        assertEquals(true, support.isEmpty());
+    }
+}
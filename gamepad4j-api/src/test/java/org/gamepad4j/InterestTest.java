@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.gamepad4j.base.BaseAxis;
+import org.gamepad4j.base.BaseButton;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Tests {@link Interest}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class InterestTest {
+
+    private static final Logger logger = Logger.getLogger(InterestTest.class.getName());
+
+    /** records events as "name:b0+" */
+    static IControllerListener listener(String name, List<String> events) {
+        return new IControllerListener() {
+            @Override public void buttonDown(IButton button, ButtonID buttonID) { events.add(name + ":b" + button.getCode() + "+"); }
+            @Override public void buttonUp(IButton button, ButtonID buttonID) { events.add(name + ":b" + button.getCode() + "-"); }
+            @Override public void moveStick(IAxis axis, StickID stick) { events.add(name + ":a" + axis.getNumber()); }
+        };
+    }
+
+    static IButton button(IController controller, int code) {
+        return new BaseButton(controller, code, "b" + code, "b" + code);
+    }
+
+    @Test
+    void test1() throws Exception {
+        DummyProvider provider = new DummyProvider();
+        Controllers root = new Controllers(provider);
+        DummyController a = new DummyController(0, 1, 1);
+        BaseAxis x = new BaseAxis(AxisID.X, 0);
+        BaseAxis y = new BaseAxis(AxisID.Y, 1);
+        a.setAxes(x, y);
+        provider.connect(a);
+
+        List<String> events = new ArrayList<>();
+        root.addControllerListener(listener("all", events));
+        IControllerListener face = listener("face", events);
+        root.addControllerListener(face, Interest.buttons(1));
+        root.addControllerListener(listener("y", events), Interest.axes(1).andButtons(2));
+
+        ControllerListenerSupport support = a.getListenerSupport();
+        support.fireButtonDown(button(a, 0), ButtonID.FACE_DOWN);
+        support.fireButtonDown(button(a, 1), ButtonID.FACE_UP);
+        support.fireButtonUp(button(a, 2), ButtonID.FACE_LEFT);
+        support.fireMoveStick(x, StickID.LEFT);
+        support.fireMoveStick(y, StickID.LEFT);
+        // codes out of any interest
+        support.fireButtonDown(button(a, 9), ButtonID.START);
+        assertEquals(List.of("all:b0+", "all:b1+", "face:b1+", "all:b2-", "y:b2-", "all:a0", "all:a1", "y:a1", "all:b9+"), events);
+
+        events.clear();
+        root.removeControllerListener(face);
+        support.fireButtonDown(button(a, 1), ButtonID.FACE_UP);
+        assertEquals(List.of("all:b1+"), events);
+
+        assertThrows(IllegalArgumentException.class, () -> Interest.buttons(-1));
+        assertTrue(Interest.ALL.andButtons(1).allButtons());
+    }
+
+    /** cost of firing by the number of interested listeners out of all, measured in real time */
+    @Test
+    @EnabledIfSystemProperty(named = "vavi.test", matches = "ide")
+    void test2() throws Exception {
+        int total = 64;
+        DummyController a = new DummyController(0, 1, 1);
+        int[] count = new int[1];
+        IControllerListener counter = new IControllerListener() {
+            @Override public void buttonDown(IButton button, ButtonID buttonID) { count[0]++; }
+            @Override public void buttonUp(IButton button, ButtonID buttonID) {}
+            @Override public void moveStick(IAxis axis, StickID stick) {}
+        };
+        int rounds = 200_000;
+        long[] nanos = new long[2];
+        for (int w = 0; w < 3; w++) {
+            for (int interested : new int[] {1, total}) {
+                ControllerListenerSupport support = new ControllerListenerSupport();
+                // every listener is interested in its own button, "interested" of them in button 0 too
+                for (int i = 0; i < total; i++) {
+                    support.addListener(counter, i < interested ? Interest.buttons(0, i) : Interest.buttons(i));
+                }
+                IButton button = a.getButton(0);
+                count[0] = 0;
+                long start = System.nanoTime();
+                for (int i = 0; i < rounds; i++) {
+                    support.fireButtonDown(button, ButtonID.FACE_DOWN, 0);
+                }
+                long elapsed = System.nanoTime() - start;
+                assertEquals(rounds * interested, count[0]);
+                nanos[interested == 1 ? 0 : 1] = elapsed;
+            }
+        }
+        logger.fine(String.format("%d listeners, 1 interested: %d ns/event, %d interested: %d ns/event", total, nanos[0] / rounds, total, nanos[1] / rounds));
+        assertTrue(nanos[0] < nanos[1]);
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.gamepad4j.base.BaseAxis;
+import org.gamepad4j.util.VirtualClock;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Tests {@link MergedEventStream}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class MergedEventStreamTest {
+
+    @Test
+    void test1() throws Exception {
+        DummyProvider provider = new DummyProvider();
+        Controllers root = new Controllers(provider);
+        DummyController a = new DummyController(0, 1, 1);
+        DummyController b = new DummyController(1, 1, 1);
+        provider.connect(a);
+        provider.connect(b);
+
+        long window = TimeUnit.MILLISECONDS.toNanos(50);
+        try (MergedEventStream stream = root.openMergedStream(window, TimeUnit.NANOSECONDS)) {
+            // b pressed first but delivered later
+            long now = System.nanoTime();
+            a.getListenerSupport().fireButtonDown(a.getButton(0), ButtonID.FACE_DOWN, now + 2);
+            a.getListenerSupport().fireButtonUp(a.getButton(0), ButtonID.FACE_DOWN, now + 4);
+            b.getListenerSupport().fireButtonDown(b.getButton(0), ButtonID.FACE_DOWN, now + 1);
+
+            // every controller has a pending event, no need to wait
+            InputEvent event = stream.poll();
+            assertNotNull(event);
+            assertEquals(1, event.sequence());
+            assertSame(b, event.controller());
+            assertEquals(InputEvent.Type.BUTTON_DOWN, event.type());
+            assertEquals(now + 1, event.timestamp());
+
+            // b has nothing pending, a is held for the window
+            event = stream.poll();
+            if (System.nanoTime() - now < window) {
+                assertNull(event);
+                event = stream.take(1, TimeUnit.SECONDS);
+            }
+            assertNotNull(event);
+            assertEquals(2, event.sequence());
+            assertSame(a, event.controller());
+            assertTrue(System.nanoTime() - now >= window);
+
+            List<InputEvent> events = new ArrayList<>();
+            assertEquals(1, stream.drainTo(events::add));
+            assertEquals(InputEvent.Type.BUTTON_UP, events.get(0).type());
+            assertEquals(3, events.get(0).sequence());
+
+            // delivered after the window
+            b.getListenerSupport().fireButtonUp(b.getButton(0), ButtonID.FACE_DOWN, now + 3);
+            event = stream.take(1, TimeUnit.SECONDS);
+            assertSame(b, event.controller());
+            assertEquals(1, stream.getLateCount());
+
+            assertNull(stream.take(10, TimeUnit.MILLISECONDS));
+
+            // a controller connected later is merged too
+            DummyController c = new DummyController(2, 1, 1);
+            provider.connect(c);
+            c.getListenerSupport().fireButtonDown(c.getButton(0), ButtonID.FACE_UP);
+            event = stream.take(1, TimeUnit.SECONDS);
+            assertSame(c, event.controller());
+        }
+
+        // closed
+        a.getListenerSupport().fireButtonDown(a.getButton(0), ButtonID.FACE_DOWN);
+    }
+
+    /** an axis event held for the window keeps the value at the event time */
+    @Test
+    void test3() throws Exception {
+        DummyProvider provider = new DummyProvider();
+        Controllers root = new Controllers(provider);
+        DummyController a = new DummyController(0, 1, 1);
+        DummyController b = new DummyController(1, 1, 1);
+        BaseAxis x = new BaseAxis(AxisID.X, 0);
+        a.setAxes(x);
+        provider.connect(a);
+        provider.connect(b);
+
+        try (MergedEventStream stream = root.openMergedStream(10, TimeUnit.MILLISECONDS)) {
+            x.setValue(0.5f);
+            a.getListenerSupport().fireMoveStick(x, StickID.LEFT);
+            a.getListenerSupport().fireButtonDown(a.getButton(0), ButtonID.FACE_DOWN);
+            // moved again while the event is held
+            x.setValue(-1f);
+            InputEvent event = stream.take(1, TimeUnit.SECONDS);
+            assertEquals(InputEvent.Type.MOVE_STICK, event.type());
+            assertEquals(0.5f, event.value());
+            assertEquals(1f, stream.take(1, TimeUnit.SECONDS).value());
+        }
+    }
+
+    /** the window passes by the virtual clock, not in real time */
+    @Test
+    void test2() throws Exception {
+        DummyProvider provider = new DummyProvider();
+        Controllers root = new Controllers(provider);
+        VirtualClock clock = new VirtualClock(1000, false);
+        root.setClock(clock);
+        DummyController a = new DummyController(0, 1, 1);
+        DummyController b = new DummyController(1, 1, 1);
+        a.getListenerSupport().setClock(clock);
+        provider.connect(a);
+        provider.connect(b);
+
+        try (MergedEventStream stream = root.openMergedStream(1, TimeUnit.HOURS)) {
+            a.getListenerSupport().fireButtonDown(a.getButton(0), ButtonID.FACE_DOWN);
+            assertNull(stream.poll());
+            clock.advance(TimeUnit.MINUTES.toNanos(59));
+            assertNull(stream.poll());
+            clock.advance(TimeUnit.MINUTES.toNanos(1));
+            InputEvent event = stream.poll();
+            assertNotNull(event);
+            // stamped by the clock
+            assertEquals(1000, event.timestamp());
+        }
+    }
+
+    /** take waits for the window by the virtual clock, not in real time */
+    @Test
+    void test4() throws Exception {
+        DummyProvider provider = new DummyProvider();
+        Controllers root = new Controllers(provider);
+        VirtualClock clock = new VirtualClock(1000, false);
+        root.setClock(clock);
+        DummyController a = new DummyController(0, 1, 1);
+        DummyController b = new DummyController(1, 1, 1);
+        a.getListenerSupport().setClock(clock);
+        provider.connect(a);
+        provider.connect(b);
+
+        try (MergedEventStream stream = root.openMergedStream(1, TimeUnit.HOURS)) {
+            a.getListenerSupport().fireButtonDown(a.getButton(0), ButtonID.FACE_DOWN);
+            List<InputEvent> taken = new CopyOnWriteArrayList<>();
+            Thread taker = new Thread(() -> {
+                try {
+                    taken.add(stream.take(2, TimeUnit.HOURS));
+                    taken.add(stream.take(1, TimeUnit.HOURS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            taker.start();
+            Thread.sleep(100);
+            assertTrue(taker.isAlive());
+
+            // released by the window
+            clock.advance(TimeUnit.HOURS.toNanos(1));
+            // timed out
+            while (taken.isEmpty()) {
+                Thread.sleep(10);
+            }
+            Thread.sleep(100);
+            clock.advance(TimeUnit.HOURS.toNanos(1));
+            taker.join(TimeUnit.SECONDS.toMillis(5));
+            assertFalse(taker.isAlive());
+            assertEquals(2, taken.size());
+            assertEquals(1000, taken.get(0).timestamp());
+            assertNull(taken.get(1));
+        }
+    }
+}
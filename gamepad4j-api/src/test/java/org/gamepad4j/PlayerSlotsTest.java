@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import org.gamepad4j.PlayerSlots.Policy;
+import org.gamepad4j.base.ControllerRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * PlayerSlotsTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class PlayerSlotsTest {
+
+    ControllerRegistry<IController> registry = new ControllerRegistry<>();
+
+    PlayerSlots newSlots(Policy policy) {
+        return new PlayerSlots(3, policy, registry::claim, registry::release);
+    }
+
+    void connect(PlayerSlots slots, IController controller) {
+        registry.put(controller);
+        slots.connected(controller);
+    }
+
+    void disconnect(PlayerSlots slots, IController controller) {
+        registry.remove(controller.getDeviceID());
+        slots.disConnected(controller);
+    }
+
+    @Test
+    void testFirstCome() {
+        PlayerSlots slots = newSlots(Policy.FIRST_COME);
+        IController a = new DummyController(0, 1, 1, "a");
+        IController b = new DummyController(1, 1, 1, "b");
+        IController c = new DummyController(2, 1, 1, "c");
+        connect(slots, a);
+        connect(slots, b);
+        assertSame(a, slots.getPlayer(0));
+        assertSame(b, slots.getPlayer(1));
+        assertTrue(registry.isClaimed(a));
+
+        disconnect(slots, a);
+        assertNull(slots.getPlayer(0));
+        assertSame(b, slots.getPlayer(1)); // not shifted
+
+        connect(slots, c);
+        assertSame(c, slots.getPlayer(0));
+    }
+
+    @Test
+    void testSticky() {
+        PlayerSlots slots = newSlots(Policy.STICKY);
+        IController a = new DummyController(0, 1, 1, "a");
+        IController b = new DummyController(1, 1, 1, "b");
+        IController c = new DummyController(2, 1, 1, "c");
+        connect(slots, a);
+        connect(slots, b);
+        disconnect(slots, a);
+        disconnect(slots, b);
+
+        connect(slots, c); // takes a slot nobody used
+        assertSame(c, slots.getPlayer(2));
+        IController b2 = new DummyController(1, 1, 1, "b");
+        connect(slots, b2);
+        assertSame(b2, slots.getPlayer(1));
+        IController a2 = new DummyController(3, 1, 1, "a");
+        connect(slots, a2);
+        assertSame(a2, slots.getPlayer(0));
+    }
+
+    @Test
+    void testExplicit() {
+        PlayerSlots slots = newSlots(Policy.EXPLICIT);
+        IController a = new DummyController(0, 1, 1, "a");
+        IController b = new DummyController(1, 1, 1, "b");
+        connect(slots, a);
+        connect(slots, b);
+        assertNull(slots.getPlayer(0));
+
+        assertTrue(slots.assign(1, a));
+        assertSame(a, slots.getPlayer(1));
+        assertEquals(1, slots.getSlot(a));
+        assertTrue(slots.assign(0, a)); // move
+        assertNull(slots.getPlayer(1));
+        assertTrue(slots.assign(0, b)); // replace
+        assertFalse(registry.isClaimed(a));
+        assertEquals(-1, slots.getSlot(a));
+
+        registry.claim(a);
+        assertFalse(slots.assign(2, a)); // claimed by others
+        assertSame(b, slots.release(0));
+        assertFalse(registry.isClaimed(b));
+    }
+}
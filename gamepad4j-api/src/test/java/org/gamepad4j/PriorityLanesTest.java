@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+import org.gamepad4j.IControllerListener.IControllerAdapter;
+import org.gamepad4j.base.BaseAxis;
+import org.gamepad4j.util.LatencyStatistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Button press latency of a seat while pads flood stick events.
+ * <p>
+ * Each flooding pad fires a burst of {@link #BURST} stick events every millisecond, and the listener
+ * spends a few microseconds on each, so the seat's dispatcher falls behind with 16 pads.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class PriorityLanesTest {
+
+    private static final Logger logger = Logger.getLogger(PriorityLanesTest.class.getName());
+
+    static final int PRESSES = 100;
+
+    static final int BURST = 64;
+
+    static LatencyStatistics measure(int pads) throws Exception {
+        DummyProvider provider = new DummyProvider();
+        Controllers root = new Controllers(provider);
+        LatencyStatistics statistics = new LatencyStatistics(pads + " flooding pads");
+        try (Controllers seat = root.newSeat("bench")) {
+            DummyController button = new DummyController(0, 1, 1);
+            provider.connect(button);
+            seat.assign(button);
+            List<DummyController> flooders = new ArrayList<>();
+            for (int i = 0; i < pads; i++) {
+                DummyController pad = new DummyController(i + 1, 1, 1);
+                pad.setAxes(new BaseAxis(AxisID.X, 0));
+                provider.connect(pad);
+                seat.assign(pad);
+                flooders.add(pad);
+            }
+
+            long[] pressed = new long[1];
+            int[] received = new int[1];
+            seat.addControllerListener(new IControllerAdapter() {
+                @Override public void buttonDown(IButton b, ButtonID buttonID) {
+                    statistics.record(System.nanoTime() - pressed[0]);
+                    synchronized (received) {
+                        received[0]++;
+                        received.notify();
+                    }
+                }
+                @Override public void moveStick(IAxis axis, StickID stick) {
+                    long until = System.nanoTime() + 2000;
+                    while (System.nanoTime() < until) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+
+            List<Thread> threads = new ArrayList<>();
+            AtomicBoolean stop = new AtomicBoolean();
+            for (DummyController pad : flooders) {
+                Thread thread = new Thread(() -> {
+                    IAxis axis = pad.getAxes()[0];
+                    while (!stop.get()) {
+                        for (int i = 0; i < BURST; i++) {
+                            pad.getListenerSupport().fireMoveStick(axis, StickID.LEFT);
+                        }
+                        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                    }
+                });
+                thread.start();
+                threads.add(thread);
+            }
+
+            Thread.sleep(100); // fill lanes
+            for (int i = 0; i < PRESSES; i++) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(2));
+                synchronized (received) {
+                    pressed[0] = System.nanoTime();
+                    button.getListenerSupport().fireButtonDown(button.getButton(0), ButtonID.FACE_DOWN);
+                    while (received[0] <= i) {
+                        received.wait(1000);
+                    }
+                }
+            }
+            stop.set(true);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            logger.fine("overflow: " + seat.getOverflowCount());
+        }
+        return statistics;
+    }
+
+    /** every press is delivered while pads flood */
+    @Test
+    void test1() throws Exception {
+        LatencyStatistics statistics = measure(4);
+        assertEquals(PRESSES, statistics.getCount());
+    }
+
+    /** presses overtake floods, measured in real time */
+    @Test
+    @EnabledIfSystemProperty(named = "vavi.test", matches = "ide")
+    void test2() throws Exception {
+        for (int pads : new int[] {0, 1, 4, 16}) {
+            LatencyStatistics statistics = measure(pads);
+            logger.fine(statistics + ", p90=" + statistics.getPercentile(90) / 1000d + "us");
+            assertEquals(PRESSES, statistics.getCount());
+            // a fifo would take over 16 * 1024 * 2us here
+            assertTrue(statistics.getPercentile(90) < TimeUnit.MILLISECONDS.toNanos(10));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.gamepad4j.IControllerListener.IControllerAdapter;
+import org.gamepad4j.base.BaseButton;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Tests seats of {@link Controllers}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class SeatTest {
+
+    @Test
+    void testAssign() throws Exception {
+        DummyProvider provider = new DummyProvider();
+        Controllers root = new Controllers(provider);
+        DummyController a = new DummyController(0, 1, 1, "a");
+        DummyController b = new DummyController(1, 1, 1, "b");
+        provider.connect(a);
+        provider.connect(b);
+        DummyController a2 = new DummyController(2, 1, 1, "a");
+
+        try (Controllers seat1 = root.newSeat("1"); Controllers seat2 = root.newSeat("2")) {
+            assertThrows(IllegalStateException.class, () -> seat1.newSeat("x"));
+            assertThrows(IllegalStateException.class, root::close);
+
+            assertTrue(seat1.assign(a));
+            assertFalse(seat2.assign(a));
+            assertTrue(seat2.assign(b));
+            assertArrayEquals(new IController[] {a}, seat1.getControllers());
+            assertArrayEquals(new IController[] {a, b}, root.getControllers());
+            assertEquals(null, root.getFreeController(1, 1));
+
+            // reconnect goes back to the seat
+            CountDownLatch connected = new CountDownLatch(1);
+            seat1.addListener(new IControllersListener() {
+                @Override public void connected(IController controller) { connected.countDown(); }
+                @Override public void disConnected(IController controller) {}
+            });
+            provider.disconnect(a);
+            assertEquals(0, seat1.getControllers().length);
+            provider.connect(a2);
+            assertTrue(connected.await(1, TimeUnit.SECONDS));
+            assertArrayEquals(new IController[] {a2}, seat1.getControllers());
+
+            assertTrue(seat2.unassign(b));
+            assertSame(b, root.getFreeController(1, 1));
+        }
+        assertTrue(root.claim(a2)); // returned by close
+    }
+
+    @Test
+    void testIsolation() throws Exception {
+        DummyProvider provider = new DummyProvider();
+        Controllers root = new Controllers(provider);
+        DummyController a = new DummyController(0, 1, 1, "a");
+        DummyController b = new DummyController(1, 1, 1, "b");
+        provider.connect(a);
+        provider.connect(b);
+
+        try (Controllers seat1 = root.newSeat("1"); Controllers seat2 = root.newSeat("2")) {
+            seat1.assign(a);
+            seat2.assign(b);
+
+            CountDownLatch blocked = new CountDownLatch(1);
+            seat1.addControllerListener(new IControllerAdapter() {
+                @Override public void buttonDown(IButton button, ButtonID buttonID) {
+                    try { blocked.await(); } catch (InterruptedException ignore) {}
+                }
+            });
+            CountDownLatch received = new CountDownLatch(1);
+            Thread[] thread = new Thread[1];
+            seat2.addControllerListener(new IControllerAdapter() {
+                @Override public void buttonDown(IButton button, ButtonID buttonID) {
+                    thread[0] = Thread.currentThread();
+                    received.countDown();
+                }
+            });
+
+            BaseButton button = (BaseButton) a.getButton(0);
+            a.getListenerSupport().fireButtonDown(button, ButtonID.FACE_DOWN);
+            b.getListenerSupport().fireButtonDown(b.getButton(0), ButtonID.FACE_DOWN);
+
+            assertTrue(received.await(1, TimeUnit.SECONDS), "seat2 is not delayed by seat1");
+            assertEquals("gamepad4j-seat-2", thread[0].getName());
+            blocked.countDown();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.base;
+
+import org.gamepad4j.DummyController;
+import org.gamepad4j.IController;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * ControllerRegistryTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class ControllerRegistryTest {
+
+    @Test
+    void test1() {
+        ControllerRegistry<DummyController> registry = new ControllerRegistry<>();
+        DummyController c0 = new DummyController(0, 0x54c, 0x5c4);
+        DummyController c1 = new DummyController(1, 0x45e, 0x28e);
+        DummyController c2 = new DummyController(2, 0x54c, 0x5c4);
+        registry.put(c0);
+        registry.put(c1);
+        registry.put(c2);
+
+        IController[] snapshot = registry.getControllers();
+        assertArrayEquals(new IController[] {c0, c1, c2}, snapshot);
+        assertSame(snapshot, registry.getControllers());
+        assertSame(c1, registry.get(1));
+        assertSame(c0, registry.get(0x54c, 0x5c4));
+        assertArrayEquals(new IController[] {c0, c2}, registry.getAll(0x54c, 0x5c4));
+
+        assertSame(c0, registry.remove(0));
+        assertArrayEquals(new IController[] {c1, c2}, registry.getControllers());
+        assertArrayEquals(new IController[] {c0, c1, c2}, snapshot); // old snapshot is immutable
+        assertSame(c2, registry.get(0x54c, 0x5c4));
+        assertNull(registry.get(0));
+        assertNull(registry.remove(0));
+
+        registry.remove(2);
+        assertNull(registry.get(0x54c, 0x5c4));
+        assertEquals(0, registry.getAll(0x54c, 0x5c4).length);
+        assertEquals(1, registry.size());
+    }
+
+    @Test
+    void testAdd() {
+        ControllerRegistry<DummyController> registry = new ControllerRegistry<>();
+        DummyController c0 = new DummyController(0, 0x54c, 0x5c4);
+        assertTrue(registry.add(c0));
+        assertFalse(registry.add(c0));
+        assertArrayEquals(new IController[] {c0}, registry.getControllers());
+
+        // another controller of the same deviceID replaces it
+        DummyController c0b = new DummyController(0, 0x54c, 0x5c4);
+        assertTrue(registry.add(c0b));
+        assertArrayEquals(new IController[] {c0b}, registry.getControllers());
+    }
+
+    @Test
+    void testReplace() {
+        ControllerRegistry<DummyController> registry = new ControllerRegistry<>();
+        DummyController c0 = new DummyController(0, 0x54c, 0x5c4);
+        DummyController c0b = new DummyController(0, 0x45e, 0x28e);
+        registry.put(c0);
+        assertSame(c0, registry.put(c0b));
+        assertArrayEquals(new IController[] {c0b}, registry.getControllers());
+        assertNull(registry.get(0x54c, 0x5c4));
+    }
+
+    @Test
+    void testClaim() {
+        ControllerRegistry<DummyController> registry = new ControllerRegistry<>();
+        DummyController c0 = new DummyController(0, 0x54c, 0x5c4);
+        DummyController c1 = new DummyController(1, 0x54c, 0x5c4);
+        registry.put(c0);
+        registry.put(c1);
+
+        assertSame(c0, registry.getFree(0x54c, 0x5c4));
+        assertTrue(registry.claim(c0));
+        assertFalse(registry.claim(c0));
+        assertTrue(registry.isClaimed(c0));
+        assertSame(c1, registry.getFree(0x54c, 0x5c4));
+        assertTrue(registry.claim(c1));
+        assertNull(registry.getFree(0x54c, 0x5c4));
+        assertSame(c0, registry.get(0x54c, 0x5c4));
+
+        assertTrue(registry.release(c0));
+        assertFalse(registry.release(c0));
+        assertSame(c0, registry.getFree(0x54c, 0x5c4));
+
+        registry.remove(1);
+        registry.put(c1);
+        assertFalse(registry.isClaimed(c1)); // claims are dropped on removal
+        assertFalse(registry.claim(new DummyController(9, 0x54c, 0x5c4)));
+    }
+}
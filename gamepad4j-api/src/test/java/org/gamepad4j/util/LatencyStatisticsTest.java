@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * LatencyStatisticsTest.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class LatencyStatisticsTest {
+
+    @Test
+    void test1() {
+        LatencyStatistics statistics = new LatencyStatistics("test");
+        assertEquals(0, statistics.getPercentile(50));
+        for (int i = 1; i <= 100; i++) {
+            statistics.record(i * 1000L);
+        }
+        assertEquals(100, statistics.getCount());
+        assertEquals(1000, statistics.getMin());
+        assertEquals(100_000, statistics.getMax());
+        assertEquals(50_500, statistics.getMean());
+        long p50 = statistics.getPercentile(50);
+        assertTrue(p50 >= 50_000 && p50 < 100_000, String.valueOf(p50));
+        assertEquals(100_000, statistics.getPercentile(100));
+
+        statistics.reset();
+        assertEquals(0, statistics.getCount());
+        assertEquals(0, statistics.getMax());
+    }
+}
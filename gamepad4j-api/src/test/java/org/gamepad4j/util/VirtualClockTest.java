@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Tests {@link VirtualClock}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class VirtualClockTest {
+
+    /** a sleeper wakes up when the time is advanced to its deadline */
+    @Test
+    void test1() throws Exception {
+        VirtualClock clock = new VirtualClock();
+        AtomicLong woke = new AtomicLong(-1);
+        Thread sleeper = new Thread(() -> {
+            try {
+                clock.sleepUntil(100);
+                woke.set(clock.nanoTime());
+            } catch (InterruptedException e) {
+                woke.set(-2);
+            }
+        });
+        sleeper.start();
+        clock.advance(99);
+        sleeper.join(100);
+        assertTrue(sleeper.isAlive());
+        clock.advance(1);
+        sleeper.join(1000);
+        assertFalse(sleeper.isAlive());
+        assertEquals(100, woke.get());
+
+        // passed deadline
+        clock.sleepUntil(50);
+        clock.advanceTo(10);
+        assertEquals(100, clock.nanoTime());
+        assertThrows(IllegalArgumentException.class, () -> clock.advance(-1));
+    }
+
+    /** an hour of sleeps passes at once */
+    @Test
+    void test2() throws Exception {
+        VirtualClock clock = new VirtualClock(0, true);
+        long step = TimeUnit.MILLISECONDS.toNanos(1);
+        long start = System.nanoTime();
+        for (long deadline = step; deadline <= TimeUnit.HOURS.toNanos(1); deadline += step) {
+            clock.sleepUntil(deadline);
+        }
+        assertEquals(TimeUnit.HOURS.toNanos(1), clock.nanoTime());
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedException.class, () -> clock.sleepUntil(Long.MAX_VALUE));
+
+        assertTrue(Clock.system().isSystem());
+        assertFalse(clock.isSystem());
+    }
+}
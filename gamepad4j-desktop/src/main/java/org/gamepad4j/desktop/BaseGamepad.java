@@ -7,10 +7,17 @@
 package org.gamepad4j.desktop;
 
 
-import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Logger;
 
+import org.gamepad4j.util.Clock;
+
 
 /**
  * BaseGamepad.
@@ -25,8 +32,30 @@ public abstract class BaseGamepad implements Gamepad {
     /** */
     public record Hat(int x, int y) {}
 
+    /** added and removed while devices fire on reader threads */
+    protected final List<GamepadListener> listeners = new CopyOnWriteArrayList<>();
+
+    /** device identity / device id, kept over the session for reattached devices */
+    private final Map<String, Integer> deviceIDs = new HashMap<>();
+
+    /** device ids of currently attached devices */
+    private final Set<Integer> deviceIDsInUse = new HashSet<>();
+
     /** */
-    protected final List<GamepadListener> listeners = new ArrayList<>();
+    private int nextDeviceID = 0;
+
+    /** stamps events, pass this to devices */
+    protected Clock clock = Clock.system();
+
+    @Override
+    public void setClock(Clock clock) {
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    @Override
+    public Clock getClock() {
+        return clock;
+    }
 
     @Override
     public void addGamepadListener(GamepadListener l) {
@@ -37,4 +66,26 @@ public abstract class BaseGamepad implements Gamepad {
     public void removeGamepadListener(GamepadListener l) {
         listeners.remove(l);
     }
+
+    /**
+     * Assigns {@link Device#deviceID}. A device which has been attached before
+     * gets the same id again if its {@link Device#getIdentity() identity} is known.
+     */
+    protected synchronized void assignDeviceID(Device device) {
+        String identity = device.getIdentity();
+        Integer deviceID = identity != null ? deviceIDs.get(identity) : null;
+        if (deviceID == null || deviceIDsInUse.contains(deviceID)) {
+            deviceID = nextDeviceID++;
+            if (identity != null) {
+                deviceIDs.put(identity, deviceID);
+            }
+        }
+        deviceIDsInUse.add(deviceID);
+        device.deviceID = deviceID;
+    }
+
+    /** Marks {@link Device#deviceID} as free, call this when the device is removed. */
+    protected synchronized void releaseDeviceID(Device device) {
+        deviceIDsInUse.remove(device.deviceID);
+    }
 }
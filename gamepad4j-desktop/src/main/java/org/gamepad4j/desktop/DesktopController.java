@@ -5,6 +5,7 @@
 package org.gamepad4j.desktop;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.logging.Logger;
 import java.util.stream.IntStream;
 
@@ -12,6 +13,8 @@ import org.gamepad4j.AxisID;
 import org.gamepad4j.ButtonID;
 import org.gamepad4j.ControllerListenerSupport;
 import org.gamepad4j.IControllerListener;
+import org.gamepad4j.IInputListener;
+import org.gamepad4j.InputListenerSupport;
 import org.gamepad4j.IStick;
 import org.gamepad4j.StickID;
 import org.gamepad4j.TriggerID;
@@ -24,6 +27,7 @@ import org.gamepad4j.desktop.Gamepad.Device;
 import org.gamepad4j.desktop.Gamepad.GamepadAdapter;
 import org.gamepad4j.desktop.Gamepad.GamepadListener;
 import org.gamepad4j.desktop.Mapping.MappingType;
+import org.gamepad4j.util.Clock;
 
 
 /**
@@ -39,11 +43,14 @@ public class DesktopController extends AbstractBaseController {
     /** Stores controller listener support. */
     private final ControllerListenerSupport listenerSupport = new ControllerListenerSupport();
 
+    /** low level listeners, called with device indexes directly */
+    private final InputListenerSupport inputListenerSupport = new InputListenerSupport();
+
     /** Default deadzone value for desktop controller axes. */
     public static final float DEFAULT_DEADZONE = 0.1f;
 
-    /** Stores the controller code value. */
-    private final Device device;
+    /** Stores the controller code value, replaced when the device is reconnected. */
+    private volatile Device device;
 
     /** Default deadzone value. */
     private float defaultDeadZone = DEFAULT_DEADZONE;
@@ -66,11 +73,111 @@ public class DesktopController extends AbstractBaseController {
         this.description = device.description;
         this.vendorID = device.vendorID;
         this.productID = device.productID;
+        this.identity = device.getIdentity();
 
-        // TODO below
         this.initializeMapping();
         this.createButtons(device.numButtons);
         this.createAxes(device.numAxes);
+        this.applyEventMask();
+    }
+
+    /**
+     * Binds this controller to a reconnected device which has the same identity.
+     * Buttons, axes and listeners are kept, their state is reset.
+     * If the layout of the device changed, the components are created again.
+     *
+     * @param device The reconnected device, its deviceID must be the same as this controller's one.
+     * @throws IllegalArgumentException when the deviceID differs
+     */
+    public void reattach(Device device) {
+        if (device.deviceID != this.deviceID) {
+            throw new IllegalArgumentException("device id mismatch: " + device.deviceID + ", " + this.deviceID);
+        }
+
+        this.device = device;
+        this.description = device.description;
+
+        if (buttons.length == device.numButtons && axes.length == device.numAxes) {
+logger.fine("reuse components: " + deviceID);
+            for (BaseButton button : buttons) {
+                button.reset();
+            }
+            for (BaseAxis axis : axes) {
+                if (axis != null) {
+                    axis.reset();
+                }
+            }
+        } else {
+logger.fine("layout changed: " + deviceID + ", buttons: " + buttons.length + " -> " + device.numButtons + ", axes: " + axes.length + " -> " + device.numAxes);
+            this.buttonMap.clear();
+            this.buttonAliasMap.clear();
+            this.triggerMap.clear();
+            this.stickMap.clear();
+            this.dpadAxisMap.clear();
+            this.createButtons(device.numButtons);
+            this.createAxes(device.numAxes);
+        }
+        this.applyEventMask();
+    }
+
+    /**
+     * Adds buttons and axes the device gained, e.g. an input node of the physical device
+     * which showed up after the device was attached. Existing components and their state are kept.
+     */
+    public synchronized void grow() {
+        Device device = this.device;
+        if (buttons.length >= device.numButtons && axes.length >= device.numAxes) {
+            return;
+        }
+logger.fine("layout grown: " + deviceID + ", buttons: " + buttons.length + " -> " + device.numButtons + ", axes: " + axes.length + " -> " + device.numAxes);
+        if (buttons.length < device.numButtons) {
+            int from = buttons.length;
+            this.buttons = Arrays.copyOf(buttons, device.numButtons);
+            for (int buttonNo = from; buttonNo < buttons.length; buttonNo++) {
+                createButton(buttonNo);
+            }
+        }
+        if (axes.length < device.numAxes) {
+            int from = axes.length;
+            this.axes = Arrays.copyOf(axes, device.numAxes);
+            int triggerNo = (int) Arrays.stream(triggers).filter(t -> t != null).count();
+            for (int axisNo = from; axisNo < axes.length; axisNo++) {
+                triggerNo = createAxis(axisNo, triggerNo);
+            }
+            this.sticks = stickMap.values().toArray(BaseStick[]::new);
+        }
+        this.applyEventMask();
+    }
+
+    /**
+     * Tells the device the components in use. All buttons are kept because their state
+     * can be polled, axes without a mapping are never read, so they are masked.
+     */
+    private void applyEventMask() {
+        boolean[] buttonMask = new boolean[buttons.length];
+        Arrays.fill(buttonMask, true);
+        boolean[] axisMask = new boolean[axes.length];
+        for (int i = 0; i < axes.length; i++) {
+            axisMask[i] = axes[i] != null;
+        }
+        device.setEventMask(buttonMask, axisMask);
+    }
+
+    /**
+     * Copies the current state of the device to buttons and axes,
+     * for events which arrived before this controller is published.
+     */
+    public void syncState() {
+        grow();
+        Device device = this.device;
+        for (int i = 0; i < Math.min(buttons.length, device.buttonStates.length); i++) {
+            buttons[i].setPressed(device.buttonStates[i]);
+        }
+        for (int i = 0; i < Math.min(axes.length, device.axisStates.length); i++) {
+            if (axes[i] != null) {
+                axes[i].setValue(Math.max(-1f, Math.min(1f, device.axisStates[i])));
+            }
+        }
     }
 
     /**
@@ -80,6 +187,12 @@ public class DesktopController extends AbstractBaseController {
         Mapping.loadMapping(this);
     }
 
+    @Override
+    public void setClock(Clock clock) {
+        super.setClock(clock);
+        listenerSupport.setClock(clock);
+    }
+
     /**
      * @param deadZone
      */
@@ -91,28 +204,56 @@ public class DesktopController extends AbstractBaseController {
     private final GamepadListener inputListener = new GamepadAdapter() {
         @Override
         public void buttonDown(Device device, int buttonID, double timestamp) {
+            if (device != DesktopController.this.device) {
+                return;
+            }
 logger.finest("buttonDown: " + buttonID);
+            if (buttonID >= buttons.length) {
+logger.finest("no button yet: " + buttonID);
+                return;
+            }
             BaseButton button = (BaseButton) DesktopController.this.getButton(buttonID);
             button.setPressed(true);
-            DesktopController.this.listenerSupport.fireButtonDown(button, ButtonID.UNKNOWN);
+            inputListenerSupport.fireButton(deviceID, buttonID, true, (long) timestamp);
+            DesktopController.this.listenerSupport.fireButtonDown(button, ButtonID.UNKNOWN, (long) timestamp);
         }
 
         @Override
         public void buttonUp(Device device, int buttonID, double timestamp) {
+            if (device != DesktopController.this.device) {
+                return;
+            }
+            if (buttonID >= buttons.length) {
+logger.finest("no button yet: " + buttonID);
+                return;
+            }
             BaseButton button = (BaseButton) DesktopController.this.getButton(buttonID);
             button.setPressed(false);
-            DesktopController.this.listenerSupport.fireButtonUp(button, ButtonID.UNKNOWN);
+            inputListenerSupport.fireButton(deviceID, buttonID, false, (long) timestamp);
+            DesktopController.this.listenerSupport.fireButtonUp(button, ButtonID.UNKNOWN, (long) timestamp);
+        }
+
+        @Override
+        public void deviceChange(Device device) {
+            if (device == DesktopController.this.device) {
+                grow();
+            }
         }
 
         @Override
         public void axisMove(Device device, int axisID, float value, double timestamp) {
-            BaseAxis axes = (BaseAxis) DesktopController.this.getAxes()[axisID];
+            if (device != DesktopController.this.device) {
+                return;
+            }
+            BaseAxis[] all = DesktopController.this.axes;
+            BaseAxis axes = axisID < all.length ? all[axisID] : null;
             if (axes == null) {
 logger.finest("no axis for: " + axisID);
             } else {
 logger.finest("axis: " + axes + ", " + value);
                 axes.setValue(value);
-                DesktopController.this.listenerSupport.fireMoveStick(axes, StickID.UNKNOWN);
+                inputListenerSupport.fireAxis(deviceID, axisID, value, (long) timestamp);
+                DesktopController.this.listenerSupport.fireMoveStick(axes, StickID.UNKNOWN, (long) timestamp);
             }
         }
     };
@@ -141,30 +282,36 @@ logger.finest("axis: " + axes + ", " + value);
     public void createButtons(int numberOfButtons) {
         logger.fine("Create " + numberOfButtons + " buttons for pad...");
 
-        // TODO Use pooling for button instances
         this.buttons = new BaseButton[numberOfButtons];
         for (int buttonNo = 0; buttonNo < numberOfButtons; buttonNo++) {
-            this.buttons[buttonNo] = new BaseButton(this, buttonNo, "", "");
+            createButton(buttonNo);
         }
+    }
 
-        for (int buttonNo = 0; buttonNo < numberOfButtons; buttonNo++) {
-            String mapping = Mapping.getMapping(this, MappingType.BUTTON, buttonNo);
-            if (mapping != null) {
-                ButtonID buttonID = ButtonID.getButtonIDfromString(mapping);
-                logger.finer("Map button no. " + buttonNo + " from mapping " + mapping + " to button ID " + buttonID);
-                this.buttons[buttonNo].setID(buttonID);
-                this.buttonMap.put(buttonID, this.buttons[buttonNo]);
-                String label = Mapping.getButtonLabel(this, buttonID);
-                if (label == null) {
-                    label = Mapping.getDefaultButtonLabel(buttonID);
-                }
-                if (label != null) {
-                    this.buttons[buttonNo].setDefaultLabel(label);
-                }
-                String labelKey = Mapping.getButtonLabelKey(this, buttonID);
-                if (labelKey != null) {
-                    this.buttons[buttonNo].setLabelKey(labelKey);
-                }
+    /**
+     * Creates a button based on the mapping configuration.
+     *
+     * @param buttonNo The number of the button.
+     */
+    private void createButton(int buttonNo) {
+        this.buttons[buttonNo] = new BaseButton(this, buttonNo, "", "");
+
+        String mapping = Mapping.getMapping(this, MappingType.BUTTON, buttonNo);
+        if (mapping != null) {
+            ButtonID buttonID = ButtonID.getButtonIDfromString(mapping);
+            logger.finer("Map button no. " + buttonNo + " from mapping " + mapping + " to button ID " + buttonID);
+            this.buttons[buttonNo].setID(buttonID);
+            this.buttonMap.put(buttonID, this.buttons[buttonNo]);
+            String label = Mapping.getButtonLabel(this, buttonID);
+            if (label == null) {
+                label = Mapping.getDefaultButtonLabel(buttonID);
+            }
+            if (label != null) {
+                this.buttons[buttonNo].setDefaultLabel(label);
+            }
+            String labelKey = Mapping.getButtonLabelKey(this, buttonID);
+            if (labelKey != null) {
+                this.buttons[buttonNo].setLabelKey(labelKey);
             }
         }
     }
@@ -178,29 +325,40 @@ logger.finest("axis: " + axes + ", " + value);
     public void createAxes(int numberOfAxes) {
         logger.fine("Process " + numberOfAxes + " analog axes...");
 
-        // TODO Use pooling for these
         this.axes = new BaseAxis[numberOfAxes];
         this.triggers = new BaseTrigger[Mapping.getNumberOfTriggers(this)];
 
         int triggerNo = 0;
         for (int axisNo = 0; axisNo < axes.length; axisNo++) {
-            String mapping = Mapping.getMapping(this, Mapping.MappingType.TRIGGER_AXIS, axisNo);
-            if (mapping != null) {
-                processTriggerAxis(mapping, axisNo, triggerNo++);
-            }
-            mapping = Mapping.getMapping(this, Mapping.MappingType.STICK_AXIS, axisNo);
-            if (mapping != null) {
-                processStickAxis(mapping, axisNo);
-            }
-            mapping = Mapping.getMapping(this, Mapping.MappingType.DPAD_AXIS, axisNo);
-            if (mapping != null) {
-                processDpadAxis(mapping, axisNo);
-            }
+            triggerNo = createAxis(axisNo, triggerNo);
         }
 
         this.sticks = stickMap.values().toArray(BaseStick[]::new);
     }
 
+    /**
+     * Creates an axis and its trigger, stick or d-pad based on the mapping configuration.
+     *
+     * @param axisNo The number of the analog axis.
+     * @param triggerNo The number of the next trigger.
+     * @return The number of the next trigger.
+     */
+    private int createAxis(int axisNo, int triggerNo) {
+        String mapping = Mapping.getMapping(this, Mapping.MappingType.TRIGGER_AXIS, axisNo);
+        if (mapping != null) {
+            processTriggerAxis(mapping, axisNo, triggerNo++);
+        }
+        mapping = Mapping.getMapping(this, Mapping.MappingType.STICK_AXIS, axisNo);
+        if (mapping != null) {
+            processStickAxis(mapping, axisNo);
+        }
+        mapping = Mapping.getMapping(this, Mapping.MappingType.DPAD_AXIS, axisNo);
+        if (mapping != null) {
+            processDpadAxis(mapping, axisNo);
+        }
+        return triggerNo;
+    }
+
     /**
      * Processes D-Pad mappings.
      *
@@ -300,6 +458,17 @@ logger.finer(mapping + ", " + axisNo);
         this.listenerSupport.removeListener(listener);
     }
 
+    /** Called with device button and axis ids, which are indexes of buttons and axes. */
+    @Override
+    public void addInputListener(IInputListener listener) {
+        this.inputListenerSupport.addListener(listener);
+    }
+
+    @Override
+    public void removeInputListener(IInputListener listener) {
+        this.inputListenerSupport.removeListener(listener);
+    }
+
     @Override
     public void write(byte[] data, int length, int reportId) throws IOException {
         this.device.write(data, length, reportId);
@@ -4,20 +4,42 @@
 
 package org.gamepad4j.desktop;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.gamepad4j.ControllersListenerSupport;
 import org.gamepad4j.IController;
 import org.gamepad4j.IControllerProvider;
 import org.gamepad4j.IControllersListener;
+import org.gamepad4j.base.ControllerRegistry;
+import org.gamepad4j.util.LatencyStatistics;
 import org.gamepad4j.desktop.Gamepad.Device;
 import org.gamepad4j.desktop.Gamepad.GamepadAdapter;
+import org.gamepad4j.replay.EventRecorder;
 
 
 /**
  * Controller provider for desktop systems (Linux, MacOS X, Windows).
+ * <p>
+ * Attaching is staged: a native device is notified, its controller is built
+ * (mapping, components) on an attach thread, published to the registry atomically,
+ * then listeners are notified in order on a notifier thread.
+ * Native threads are never blocked by building controllers or by listeners.
+ * <p>
+ * With the system property {@code org.gamepad4j.desktop.DesktopControllerProvider.pump=true},
+ * the provider runs without background threads, all stages run in {@link #pump()}
+ * on the caller's thread.
+ * <p>
+ * With the system property {@code org.gamepad4j.desktop.DesktopControllerProvider.record=file},
+ * raw events are recorded into the file, see {@link EventRecorder}.
  *
  * @author Marcel Schoen
  * @version $Revision: $
@@ -32,47 +54,174 @@ public class DesktopControllerProvider implements IControllerProvider {
     /** native */
     private final Gamepad gamepad;
 
-    /** Map of all connected controllers (deviceID / controller). */
-    private static final Map<Integer, DesktopController> connected = new HashMap<>();
+    /** All connected controllers. */
+    private final ControllerRegistry<DesktopController> connected = new ControllerRegistry<>();
+
+    /** Map of disconnected controllers to be reused when reconnected (identity / controller). */
+    private final Map<String, DesktopController> disconnected = new ConcurrentHashMap<>();
+
+    /** deviceID / device whose controller is being built */
+    private final Map<Integer, Device> pending = new ConcurrentHashMap<>();
+
+    /** Serializes publishing to {@link #connected} and queueing notifications. */
+    private final Object publishLock = new Object();
+
+    /** whether to run without background threads */
+    private static final boolean pumpMode = Boolean.getBoolean(DesktopControllerProvider.class.getName() + ".pump");
+
+    /** file to record raw events into, null not to record */
+    private static final String recordFile = System.getProperty(DesktopControllerProvider.class.getName() + ".record");
+
+    /** null if not recording */
+    private EventRecorder recorder;
+
+    /** Builds controllers, the caller's thread in pump mode. */
+    private final Executor attachExecutor;
+
+    /** Notifies connected/disconnected in published order, the caller's thread in pump mode. */
+    private final Executor notifier;
+
+    /** Time from a native attach to the controller published. */
+    private final LatencyStatistics attachLatency = new LatencyStatistics("attach");
+
+    /** */
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
 
     public DesktopControllerProvider() {
-        gamepad = Gamepad.getGamepad();
+        this(Gamepad.getGamepad());
+    }
+
+    /** Uses the native adapter, e.g. a simulated one. */
+    public DesktopControllerProvider(Gamepad gamepad) {
+        this.gamepad = gamepad;
+        if (pumpMode) {
+            gamepad.setPumpMode(true);
+            attachExecutor = Runnable::run;
+            notifier = Runnable::run;
+        } else {
+            attachExecutor = Executors.newFixedThreadPool(
+                    Math.min(4, Runtime.getRuntime().availableProcessors()), daemon("gamepad4j-attach"));
+            notifier = Executors.newSingleThreadExecutor(daemon("gamepad4j-notify"));
+        }
+    }
+
+    /** Returns time from a native attach to the controller published. */
+    public LatencyStatistics getAttachLatency() {
+        return attachLatency;
+    }
+
+    /** Builds a controller or reuses the disconnected one. */
+    private DesktopController build(Device device) {
+        DesktopController controller = null;
+        String identity = device.getIdentity();
+        if (identity != null) {
+            controller = disconnected.remove(identity);
+        }
+        if (controller != null && controller.getDeviceID() == device.deviceID) {
+logger.fine("reconnected: " + identity);
+            controller.reattach(device);
+        } else {
+            controller = new DesktopController(device, gamepad);
+        }
+        return controller;
+    }
+
+    /** Builds, publishes and notifies, runs on an attach thread. */
+    private void attach(Device device, long start) {
+        DesktopController controller;
+        try {
+            controller = build(device);
+        } catch (RuntimeException e) {
+            pending.remove(device.deviceID, device);
+            logger.log(Level.WARNING, "failed to build controller: " + device.deviceID, e);
+            return;
+        }
+
+        synchronized (publishLock) {
+            if (!pending.remove(device.deviceID, device)) {
+logger.fine("removed while building: " + device.deviceID);
+                if (controller.getIdentity() != null) {
+                    disconnected.put(controller.getIdentity(), controller);
+                }
+                return;
+            }
+            controller.syncState();
+            connected.put(controller);
+            notifier.execute(() -> listenerSupport.fireConnected(controller));
+        }
+
+        attachLatency.record(System.nanoTime() - start);
+logger.fine(String.format("newly connected controller found: %d (%x/%x) / %s, %s",
+ controller.getDeviceID(),
+ controller.getVendorID(),
+ controller.getProductID(),
+ controller.getDescription(),
+ attachLatency));
     }
 
     @Override
     public void open() {
         logger.fine("initialize: native...: " + gamepad.getClass().getName());
-        gamepad.open();
-        logger.fine("initialize: done.");
+        // listeners first, simulated and replay adapters start firing as soon as opened
         gamepad.addGamepadListener(new GamepadAdapter() {
             @Override
             public void deviceAttach(Device device) {
 logger.finer("deviceAttach: " + device.deviceID);
-                DesktopController controller = new DesktopController(device, gamepad);
-
-                listenerSupport.fireConnected(controller);
-
-                connected.put(device.deviceID, controller);
-logger.fine(String.format("newly connected controller found: %d (%x/%x) / %s",
- controller.getDeviceID(),
- controller.getVendorID(),
- controller.getProductID(),
- controller.getDescription()));
+                long start = System.nanoTime();
+                pending.put(device.deviceID, device);
+                attachExecutor.execute(() -> attach(device, start));
             }
 
             @Override
             public void deviceRemove(Device device) {
-                if (connected.isEmpty() || connected.get(device.deviceID) == null) {
-logger.finer("deviceRemove: " + connected + ", " + device.deviceID);
-                    return;
-                }
-                DesktopController controller = connected.get(device.deviceID);
+                synchronized (publishLock) {
+                    if (pending.remove(device.deviceID, device)) {
+logger.finer("deviceRemove: not published yet: " + device.deviceID);
+                        return;
+                    }
+                    DesktopController controller = connected.remove(device.deviceID);
+                    if (controller == null) {
+logger.finer("deviceRemove: not connected: " + device.deviceID);
+                        return;
+                    }
+                    if (controller.getIdentity() != null) {
+                        disconnected.put(controller.getIdentity(), controller);
+                    }
 
-                listenerSupport.fireDisconnected(controller);
+                    notifier.execute(() -> listenerSupport.fireDisconnected(controller));
+                }
+            }
 
-                connected.remove(device.deviceID);
+            @Override
+            public void deviceChange(Device device) {
+                // a controller being built grows when published
+                attachExecutor.execute(() -> {
+                    DesktopController controller;
+                    synchronized (publishLock) {
+                        controller = connected.get(device.deviceID);
+                    }
+                    if (controller != null) {
+                        controller.grow();
+                    }
+                });
             }
         });
+        if (recordFile != null) {
+            try {
+                recorder = new EventRecorder(Paths.get(recordFile));
+                gamepad.addGamepadListener(recorder);
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "cannot record: " + recordFile, e);
+            }
+        }
+        gamepad.open();
+        logger.fine("initialize: done.");
         Runtime.getRuntime().addShutdownHook(new Thread(this::close));
     }
 
@@ -80,6 +229,25 @@ logger.finer("deviceRemove: " + connected + ", " + device.deviceID);
     public void close() {
         logger.fine("Shutdown native Gamepad API.");
         gamepad.close();
+        if (recorder != null) {
+            try {
+                recorder.close();
+            } catch (IOException e) {
+                logger.log(Level.WARNING, e.getMessage(), e);
+            }
+        }
+        if (attachExecutor instanceof ExecutorService es) {
+            es.shutdownNow();
+        }
+        if (notifier instanceof ExecutorService es) {
+            es.shutdown();
+        }
+    }
+
+    /** Reads events, attaches and removes devices on the caller's thread, in pump mode. */
+    @Override
+    public int pump() {
+        return pumpMode ? gamepad.pump() : 0;
     }
 
     @Override
@@ -99,6 +267,6 @@ logger.finer("deviceRemove: " + connected + ", " + device.deviceID);
 
     @Override
     public IController[] getControllers() {
-        return connected.values().toArray(IController[]::new);
+        return connected.getControllers();
     }
 }
@@ -24,6 +24,8 @@ import java.io.IOException;
 import java.util.List;
 import java.util.ServiceLoader;
 
+import org.gamepad4j.util.Clock;
+
 
 /**
  * This represents not a device but whole devices.
@@ -32,8 +34,19 @@ import java.util.ServiceLoader;
  */
 public interface Gamepad {
 
-    /** Returns a suitable service provider. */
+    /**
+     * Returns a suitable service provider. The system property {@code org.gamepad4j.desktop.Gamepad}
+     * selects one by class name, e.g. a simulated one for tests.
+     */
     static Gamepad getGamepad() {
+        String name = System.getProperty(Gamepad.class.getName());
+        if (name != null) {
+            return ServiceLoader.load(Gamepad.class).stream()
+                    .filter(provider -> provider.type().getName().equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("no such native adapter: " + name))
+                    .get();
+        }
         for (Gamepad gamepad : ServiceLoader.load(Gamepad.class)) {
             if (gamepad.isSupported()) {
                 return gamepad;
@@ -48,7 +61,8 @@ public interface Gamepad {
         /**
          * Unique device identifier for application session, starting at 0 for the first device attached and
          * incrementing by 1 for each additional device. If a device is removed and subsequently reattached
-         * during the same application session, it will have a new deviceID.
+         * during the same application session, it will have the same deviceID when {@link #getIdentity()}
+         * is available, otherwise it will have a new deviceID.
          */
         public int deviceID;
 
@@ -59,6 +73,12 @@ public interface Gamepad {
         public int vendorID;
         public int productID;
 
+        /** Serial number or bluetooth address as returned by the driver, null or empty if not available */
+        public String uniqueID;
+
+        /** Physical location (bus topology) as returned by the driver, null or empty if not available */
+        public String location;
+
         /** Number of axis elements belonging to the device */
         public int numAxes;
 
@@ -74,14 +94,68 @@ public interface Gamepad {
         /** */
         private final List<GamepadListener> listeners;
 
-        /** */
+        /** stamps events fired without a timestamp */
+        private final Clock clock;
+
+        /** stamps events by {@link Clock#system()} */
         protected Device(List<GamepadListener> listeners) {
+            this(listeners, Clock.system());
+        }
+
+        /** @param clock stamps events fired without a timestamp */
+        protected Device(List<GamepadListener> listeners, Clock clock) {
             this.listeners = listeners;
+            this.clock = clock;
+        }
+
+        /** Returns the time base of timestamps of this device. */
+        public Clock getClock() {
+            return clock;
         }
 
         /** */
         public abstract void write(byte[] data, int length, int reportId) throws IOException;
 
+        /**
+         * Returns a string which identifies the physical device across reconnects.
+         *
+         * @return the identity, or null if the driver provides neither unique ID nor location.
+         * @see #getIdentity(int, int, String, String)
+         */
+        public String getIdentity() {
+            return getIdentity(vendorID, productID, uniqueID, location);
+        }
+
+        /**
+         * Builds a device identity from vendor/product IDs plus the unique ID, or the location
+         * if there is no unique ID. The last path element of the location ("/input0") is dropped,
+         * so that multiple interfaces of one physical device share the same identity.
+         *
+         * @return the identity, or null if neither unique ID nor location is available.
+         */
+        public static String getIdentity(int vendorID, int productID, String uniqueID, String location) {
+            String id;
+            if (uniqueID != null && !uniqueID.isEmpty()) {
+                id = uniqueID;
+            } else if (location != null && !location.isEmpty()) {
+                int p = location.lastIndexOf('/');
+                id = p > 0 ? location.substring(0, p) : location;
+            } else {
+                return null;
+            }
+            return String.format("%04x:%04x:%s", vendorID, productID, id);
+        }
+
+        /**
+         * Tells the driver which buttons and axes are in use, so that it may stop
+         * delivering events of the others. The default does nothing.
+         *
+         * @param buttons indexed by button ID, true if in use
+         * @param axes indexed by axis ID, true if in use
+         */
+        public void setEventMask(boolean[] buttons, boolean[] axes) {
+        }
+
         /** */
         public void fireDeviceAttach() {
             listeners.forEach(l -> l.deviceAttach(this));
@@ -92,21 +166,38 @@ public interface Gamepad {
             listeners.forEach(l -> l.deviceRemove(this));
         }
 
+        /** */
+        public void fireDeviceChange() {
+            listeners.forEach(l -> l.deviceChange(this));
+        }
+
         /** */
         public void fireButtonDown(int buttonID) {
-            long ts = System.nanoTime();
-            listeners.forEach(l -> l.buttonDown(this, buttonID, ts));
+            fireButtonDown(buttonID, clock.nanoTime());
         }
 
         /** */
         public void fireButtonUp(int buttonID) {
-            long ts = System.nanoTime();
-            listeners.forEach(l -> l.buttonUp(this, buttonID, ts));
+            fireButtonUp(buttonID, clock.nanoTime());
         }
 
         /** */
         public void fireAxisMove(int axisID, float value) {
-            long ts = System.nanoTime();
+            fireAxisMove(axisID, value, clock.nanoTime());
+        }
+
+        /** @param ts when the event happened, in the time base of {@link #getClock()} */
+        public void fireButtonDown(int buttonID, long ts) {
+            listeners.forEach(l -> l.buttonDown(this, buttonID, ts));
+        }
+
+        /** @param ts when the event happened, in the time base of {@link #getClock()} */
+        public void fireButtonUp(int buttonID, long ts) {
+            listeners.forEach(l -> l.buttonUp(this, buttonID, ts));
+        }
+
+        /** @param ts when the event happened, in the time base of {@link #getClock()} */
+        public void fireAxisMove(int axisID, float value, long ts) {
             listeners.forEach(l -> l.axisMove(this, axisID, value, ts));
         }
     }
@@ -126,6 +217,45 @@ public interface Gamepad {
      */
     void close();
 
+    /**
+     * Sets pump mode, call this before {@link #open()}. In pump mode no background threads
+     * are used, {@link #pump()} reads events and calls listeners on the caller's thread.
+     *
+     * @throws UnsupportedOperationException the adapter does not support pump mode
+     */
+    default void setPumpMode(boolean pump) {
+        if (pump) {
+            throw new UnsupportedOperationException("pump mode: " + getClass().getName());
+        }
+    }
+
+    /**
+     * Sets the clock which stamps events and drives timing of the adapter, call this before {@link #open()}.
+     * Adapters of real devices keep polling hardware in real time.
+     *
+     * @throws UnsupportedOperationException the adapter does not support the clock
+     */
+    default void setClock(Clock clock) {
+        if (!clock.isSystem()) {
+            throw new UnsupportedOperationException("clock: " + getClass().getName());
+        }
+    }
+
+    /** Returns the time base of timestamps. */
+    default Clock getClock() {
+        return Clock.system();
+    }
+
+    /**
+     * Processes all pending events of all devices on the caller's thread, in pump mode.
+     *
+     * @return number of events processed
+     * @throws IllegalStateException not in pump mode
+     */
+    default int pump() {
+        throw new IllegalStateException("not in pump mode");
+    }
+
     /** Returns the number of currently attached gamepad devices. */
     int size();
 
@@ -154,6 +284,12 @@ public interface Gamepad {
          */
         void deviceRemove(Device device);
 
+        /**
+         * a function to be called whenever buttons or axes are added to an attached device,
+         * those already attached keep their ids and states.
+         */
+        default void deviceChange(Device device) {}
+
         /**
          * a function to be called whenever a button on any attached device is pressed.
          */
@@ -182,6 +318,11 @@ public interface Gamepad {
          */
         @Override public void deviceRemove(Device device) {}
 
+        /**
+         * a function to be called whenever buttons or axes are added to an attached device.
+         */
+        @Override public void deviceChange(Device device) {}
+
         /**
          * a function to be called whenever a button on any attached device is pressed.
          */
@@ -9,6 +9,7 @@ import java.util.Enumeration;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -38,39 +39,43 @@ public class Mapping {
     }
 
     /** Stores digital button mappings. */
-    private static final Map<Long, Map<Integer, String>> buttonMapId = new HashMap<>();
+    private static final Map<Long, Map<Integer, String>> buttonMapId = new ConcurrentHashMap<>();
 
     /** Stores trigger mappings. */
-    private static final Map<Long, Map<Integer, String>> triggerAxisMapId = new HashMap<>();
+    private static final Map<Long, Map<Integer, String>> triggerAxisMapId = new ConcurrentHashMap<>();
 
     /** Stores d-pad mappings. */
-    private static final Map<Long, Map<Integer, String>> dpadAxisMapId = new HashMap<>();
+    private static final Map<Long, Map<Integer, String>> dpadAxisMapId = new ConcurrentHashMap<>();
 
     /** Stores stick mappings. */
-    private static final Map<Long, Map<Integer, String>> stickAxisMapId = new HashMap<>();
+    private static final Map<Long, Map<Integer, String>> stickAxisMapId = new ConcurrentHashMap<>();
 
     /** Stores the default button text labels. */
     private static final Properties defaultLabels = new Properties();
 
     /** Stores the default label for each button of each device type. */
-    private static final Map<Long, Map<ButtonID, String>> defaultButtonLabelMap = new HashMap<>();
+    private static final Map<Long, Map<ButtonID, String>> defaultButtonLabelMap = new ConcurrentHashMap<>();
 
     /** Stores the default label for each trigger of each device type. */
-    private static final Map<Long, Map<TriggerID, String>> defaultTriggerLabelMap = new HashMap<>();
+    private static final Map<Long, Map<TriggerID, String>> defaultTriggerLabelMap = new ConcurrentHashMap<>();
 
     /** Stores the label key for each button of each device type. */
-    private static final Map<Long, Map<ButtonID, String>> buttonLabelKeyMap = new HashMap<>();
+    private static final Map<Long, Map<ButtonID, String>> buttonLabelKeyMap = new ConcurrentHashMap<>();
 
     /** Stores the label key for each trigger of each device type. */
-    private static final Map<Long, Map<TriggerID, String>> triggerLabelKeyMap = new HashMap<>();
+    private static final Map<Long, Map<TriggerID, String>> triggerLabelKeyMap = new ConcurrentHashMap<>();
+
+    /** Stores the dead zone of each device type. */
+    private static final Map<Long, Float> deadZoneMap = new ConcurrentHashMap<>();
 
     /** Lazy label initialization flag. */
-    private static final boolean labelsInitialized = false;
+    private static boolean labelsInitialized = false;
 
     /**
      * Loads the mapping for the given controller (if not available yet).
+     * Controllers are created concurrently, loading is serialized, lookups are not.
      */
-    public static void loadMapping(DesktopController controller) {
+    public static synchronized void loadMapping(DesktopController controller) {
         try {
 
             if (!labelsInitialized) {
@@ -78,6 +83,7 @@ public class Mapping {
                 InputStream in = Mapping.class.getResourceAsStream("/mappings/default-labels.properties");
                 defaultLabels.load(in);
                 in.close();
+                labelsInitialized = true;
             }
 
             // Check if mappings already exist for that controller
@@ -97,7 +103,7 @@ public class Mapping {
 
                         if (mappingProps.getProperty("deadzone") != null) {
                             float deadZone = floatFromString(mappingProps.getProperty("deadzone"));
-                            controller.setDefaultDeadZone(deadZone);
+                            deadZoneMap.put(controller.getDeviceTypeIdentifier(), deadZone);
                         }
                     } else {
                         logger.warning("Mapping does not exist: " + mappingFileName);
@@ -105,6 +111,11 @@ public class Mapping {
                 }
             }
 
+            Float deadZone = deadZoneMap.get(controller.getDeviceTypeIdentifier());
+            if (deadZone != null) {
+                controller.setDefaultDeadZone(deadZone);
+            }
+
         } catch (Exception ex) {
 logger.log(Level.FINER, ex.toString(), ex);
             throw new IllegalStateException("Failed to process mappings from resources: " + ex);
@@ -4,6 +4,7 @@
 
 package org.gamepad4j.desktop.tool;
 
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Logger;
 
 import org.gamepad4j.AxisID;
@@ -14,6 +15,8 @@ import org.gamepad4j.IButton;
 import org.gamepad4j.IController;
 import org.gamepad4j.IStick;
 import org.gamepad4j.ITrigger;
+import org.gamepad4j.PlayerSlots;
+import org.gamepad4j.PlayerSlots.Policy;
 import org.gamepad4j.StickID;
 import org.gamepad4j.TriggerID;
 
@@ -21,7 +24,7 @@ import org.gamepad4j.TriggerID;
 /**
  * Simulates game loop. Since there is no "main loop" in a Swing
  * GUI application like in a typical game, it has to be simulated
- * with a separate thread, polling the controller states.
+ * with a separate thread, checking the controller states on each input.
  *
  * @author Marcel Schoen
  * @version $Revision: $
@@ -35,21 +38,22 @@ public class GamepadCheck implements Runnable {
     @Override
     public void run() {
         Controllers environment = Controllers.instance();
+        PlayerSlots players = new PlayerSlots(environment, 4, Policy.STICKY);
 
         while (running) {
             // This is basically what you would do in your game's main loop
-            IController[] controllers = environment.getControllers();
-            if (controllers != null && controllers.length > 0) {
-                IButton acceptButton = controllers[0].getButton(ButtonID.FACE_DOWN);
+            IController player1 = players.getPlayer(0);
+            if (player1 != null) {
+                IButton acceptButton = player1.getButton(ButtonID.FACE_DOWN);
                 if (acceptButton != null && acceptButton.isPressedOnce()) {
                     logger.fine("*** FACE DOWN ***");
                 }
-                IButton cancelButton = controllers[0].getButton(ButtonID.CANCEL);
+                IButton cancelButton = player1.getButton(ButtonID.CANCEL);
                 if (cancelButton != null && cancelButton.isPressedOnce()) {
                     logger.fine("*** CANCEL / DENY ***");
                 }
 
-                ITrigger triggerLeft = controllers[0].getTrigger(TriggerID.LEFT_DOWN);
+                ITrigger triggerLeft = player1.getTrigger(TriggerID.LEFT_DOWN);
                 if (triggerLeft != null) {
                     float trigger = triggerLeft.analogValue();
 					logger.finer("> left trigger button: " + trigger);
@@ -58,12 +62,12 @@ public class GamepadCheck implements Runnable {
                     }
                 }
 
-                DpadDirection dpad = controllers[0].getDpadDirection();
+                DpadDirection dpad = player1.getDpadDirection();
                 if (dpad != DpadDirection.NONE) {
 					logger.finer("D-Pad: " + dpad);
                 }
 
-                IStick leftStick = controllers[0].getStick(StickID.LEFT);
+                IStick leftStick = player1.getStick(StickID.LEFT);
                 if (leftStick == null) {
                     logger.fine("no left stick found");
                 } else {
@@ -82,9 +86,9 @@ public class GamepadCheck implements Runnable {
 					logger.finer("> Left stick: X=" + xAxis + ",Y=" + yAxis + ",rotation=" + degree + " / distance: " + distance);
                 }
             } else {
-                logger.warning("No controllers available.");
+                logger.warning("No controller for player 1.");
             }
-            try { Thread.sleep(150); } catch (InterruptedException ignore) {}
+            try { environment.awaitInput(1, TimeUnit.SECONDS); } catch (InterruptedException ignore) {}
         }
     }
 }
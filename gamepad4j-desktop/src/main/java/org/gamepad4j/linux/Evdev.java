@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.linux;
+
+import java.lang.ref.Reference;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+import com.sun.jna.Library;
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
+
+
+/**
+ * Evdev ioctls and constants which are not provided by {@link net.java.games.input.linux.LinuxIO}.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ * @see "linux/input.h"
+ */
+final class Evdev {
+
+    private Evdev() {}
+
+    /** libc functions declared with the exact ioctl request type */
+    interface Libc extends Library {
+
+        Libc INSTANCE = Native.load("c", Libc.class);
+
+        int ioctl(int fd, NativeLong request, byte[] buf);
+
+        int ioctl(int fd, NativeLong request, Pointer buf);
+
+        NativeLong read(int fd, Pointer buf, NativeLong count);
+
+        int fcntl(int fd, int cmd, int arg);
+
+        int poll(Pointer fds, int nfds, int timeout);
+    }
+
+    /** synchronization events, the end of a packet */
+    static final int SYN_REPORT = 0;
+
+    /** synchronization events, the buffer overran and events were lost */
+    static final int SYN_DROPPED = 3;
+
+    /** struct input_event { struct timeval time; __u16 type; __u16 code; __s32 value; } */
+    static final int INPUT_EVENT_SIZE = Native.LONG_SIZE * 2 + 8;
+
+    /** offset of type in struct input_event */
+    static final int INPUT_EVENT_TYPE = Native.LONG_SIZE * 2;
+
+    /** offset of code in struct input_event */
+    static final int INPUT_EVENT_CODE = INPUT_EVENT_TYPE + 2;
+
+    /** offset of value in struct input_event */
+    static final int INPUT_EVENT_VALUE = INPUT_EVENT_TYPE + 4;
+
+    /** offset of time.tv_usec in struct input_event */
+    private static final int INPUT_EVENT_USEC = Native.LONG_SIZE;
+
+    /** errno, interrupted by a signal before any data */
+    static final int EINTR = 4;
+
+    /** errno, no data for a non-blocking fd */
+    static final int EAGAIN = 11;
+
+    /** errno, the device is gone (unplugged or revoked) */
+    static final int ENODEV = 19;
+
+    private static final int F_GETFL = 3;
+
+    private static final int F_SETFL = 4;
+
+    private static final int O_NONBLOCK = 04000;
+
+    /** number of relative axis codes */
+    static final int REL_CNT = 0x10;
+
+    /** number of misc event codes */
+    static final int MSC_CNT = 0x08;
+
+    private static final int _IOC_WRITE = 1;
+
+    private static final int _IOC_READ = 2;
+
+    /** @see "asm-generic/ioctl.h" */
+    private static NativeLong _IOC(int dir, int type, int nr, int size) {
+        return new NativeLong(((long) dir << 30) | ((long) size << 16) | ((long) type << 8) | nr, true);
+    }
+
+    /** get physical location */
+    static NativeLong EVIOCGPHYS(int len) {
+        return _IOC(_IOC_READ, 'E', 0x07, len);
+    }
+
+    /** get unique identifier */
+    static NativeLong EVIOCGUNIQ(int len) {
+        return _IOC(_IOC_READ, 'E', 0x08, len);
+    }
+
+    /** get global key state */
+    static NativeLong EVIOCGKEY(int len) {
+        return _IOC(_IOC_READ, 'E', 0x18, len);
+    }
+
+    /** revoke device access, reads fail with ENODEV after that */
+    static final NativeLong EVIOCREVOKE = _IOC(_IOC_WRITE, 'E', 0x91, 4);
+
+    /** set clock to use for timestamps */
+    static final NativeLong EVIOCSCLOCKID = _IOC(_IOC_WRITE, 'E', 0xa0, 4);
+
+    /** @see "time.h" */
+    private static final int CLOCK_MONOTONIC = 1;
+
+    /** set event mask, struct input_mask { __u32 type; __u32 codes_size; __u64 codes_ptr; } */
+    static final NativeLong EVIOCSMASK = _IOC(_IOC_WRITE, 'E', 0x93, 16);
+
+    /**
+     * Restricts events of the type the fd receives to the codes, since linux 4.4.
+     * Masks are per fd, other clients of the node are not affected.
+     *
+     * @param count number of codes of the type
+     * @return false if the ioctl failed, e.g. an older kernel
+     */
+    static boolean setMask(int fd, int type, BitSet codes, int count) {
+        byte[] bits = Arrays.copyOf(codes.toByteArray(), (count + 7) / 8);
+        Memory codesBuffer = new Memory(bits.length);
+        codesBuffer.write(0, bits, 0, bits.length);
+        Memory mask = new Memory(16);
+        mask.setInt(0, type);
+        mask.setInt(4, bits.length);
+        mask.setLong(8, Pointer.nativeValue(codesBuffer));
+        int r = Libc.INSTANCE.ioctl(fd, EVIOCSMASK, mask);
+        Reference.reachabilityFence(codesBuffer);
+        return r >= 0;
+    }
+
+    /**
+     * Makes the kernel stamp events of the fd with CLOCK_MONOTONIC instead of CLOCK_REALTIME,
+     * the clock of {@link System#nanoTime()} on linux.
+     *
+     * @return false if the ioctl failed
+     */
+    static boolean setMonotonicClock(int fd) {
+        Memory clock = new Memory(4);
+        clock.setInt(0, CLOCK_MONOTONIC);
+        return Libc.INSTANCE.ioctl(fd, EVIOCSCLOCKID, clock) >= 0;
+    }
+
+    /**
+     * Revokes access to the fd, a blocking read wakes up and fails. The fd is not closed.
+     *
+     * @return false if the ioctl failed
+     */
+    static boolean revoke(int fd) {
+        return Libc.INSTANCE.ioctl(fd, EVIOCREVOKE, (Pointer) null) >= 0;
+    }
+
+    /** Returns the time of the struct input_event at the offset in nanoseconds. */
+    static long getTime(Pointer buffer, long offset) {
+        long sec = Native.LONG_SIZE == 8 ? buffer.getLong(offset) : buffer.getInt(offset);
+        long usec = Native.LONG_SIZE == 8 ? buffer.getLong(offset + INPUT_EVENT_USEC) : buffer.getInt(offset + INPUT_EVENT_USEC);
+        return sec * 1_000_000_000L + usec * 1_000L;
+    }
+
+    /**
+     * Makes reads of the fd return EAGAIN instead of blocking.
+     *
+     * @return false if fcntl failed
+     */
+    static boolean setNonBlocking(int fd) {
+        int flags = Libc.INSTANCE.fcntl(fd, F_GETFL, 0);
+        return flags >= 0 && Libc.INSTANCE.fcntl(fd, F_SETFL, flags | O_NONBLOCK) >= 0;
+    }
+
+    /**
+     * Issues a string returning ioctl.
+     *
+     * @return the string, null if the ioctl failed
+     */
+    static String getString(int fd, NativeLong request, int max) {
+        byte[] buf = new byte[max];
+        int len = Libc.INSTANCE.ioctl(fd, request, buf);
+        if (len < 0) {
+            return null;
+        }
+        int end = 0;
+        while (end < Math.min(len, max) && buf[end] != 0) {
+            end++;
+        }
+        return new String(buf, 0, end, StandardCharsets.UTF_8);
+    }
+}
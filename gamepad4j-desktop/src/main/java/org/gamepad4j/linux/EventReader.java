@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.linux;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Pointer;
+
+
+/**
+ * Reads input_events of an evdev node on the current thread until the node is gone.
+ * <p>
+ * Events are read in batches. In spinning modes the fd is made non-blocking and
+ * empty reads are retried with {@link Thread#onSpinWait()}, which saves the wakeup
+ * latency of a blocking read at the cost of a busy core.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+final class EventReader {
+
+    private static final Logger logger = Logger.getLogger(EventReader.class.getName());
+
+    /** How to wait for events. */
+    enum Mode {
+        /** blocking read, no cpu while idle */
+        BLOCKING,
+        /** spins while events come, blocks in poll(2) after the idle period */
+        SPIN_PARK,
+        /** always spins, occupies a core */
+        SPIN;
+
+        /** @param name e.g. "spin-park" */
+        static Mode of(String name) {
+            return valueOf(name.toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    /** Receives events, the buffer is valid only during the call. */
+    interface Handler {
+        /** @param offset of a struct input_event in the buffer */
+        void event(Pointer buffer, long offset);
+    }
+
+    /** number of events read at once */
+    private static final int BATCH = 64;
+
+    private static final short POLLIN = 0x1;
+
+    /** */
+    private final Mode mode;
+
+    /** spinning time before blocking in {@link Mode#SPIN_PARK} */
+    private final long spinNanos;
+
+    /**
+     * @param spinNanos spinning time without events before blocking, for {@link Mode#SPIN_PARK}
+     */
+    EventReader(Mode mode, long spinNanos) {
+        this.mode = mode;
+        this.spinNanos = spinNanos;
+    }
+
+    /** */
+    Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Reads events until the fd reaches the end, fails or the thread is interrupted.
+     * Reads interrupted by a signal are retried, only ENODEV (unplugged) or another error ends.
+     *
+     * @param reads counts reads which returned events
+     */
+    void run(int fd, Handler handler, LongAdder reads) {
+        if (mode != Mode.BLOCKING && !Evdev.setNonBlocking(fd)) {
+logger.fine("cannot make non-blocking, fall back to blocking: " + fd);
+        }
+        Memory buffer = new Memory((long) Evdev.INPUT_EVENT_SIZE * BATCH);
+        NativeLong size = new NativeLong(buffer.size());
+        Memory pollfd = new Memory(8); // struct pollfd { int fd; short events; short revents; }
+        pollfd.setInt(0, fd);
+        pollfd.setShort(4, POLLIN);
+
+        long idleSince = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            long r = Evdev.Libc.INSTANCE.read(fd, buffer, size).longValue();
+            int errno = r < 0 ? Native.getLastError() : 0;
+            if (r > 0) {
+                reads.increment();
+                for (long offset = 0; offset + Evdev.INPUT_EVENT_SIZE <= r; offset += Evdev.INPUT_EVENT_SIZE) {
+                    handler.event(buffer, offset);
+                }
+                idleSince = 0;
+            } else if (errno == Evdev.EINTR) {
+                // a signal, not an unplug
+            } else if (errno == Evdev.EAGAIN) {
+                if (mode == Mode.SPIN_PARK) {
+                    long now = System.nanoTime();
+                    if (idleSince == 0) {
+                        idleSince = now;
+                    } else if (now - idleSince >= spinNanos) {
+                        if (Evdev.Libc.INSTANCE.poll(pollfd, 1, -1) < 0 && Native.getLastError() != Evdev.EINTR) {
+                            return;
+                        }
+                        idleSince = 0;
+                        continue;
+                    }
+                }
+                Thread.onSpinWait();
+            } else {
+                if (r < 0 && errno != Evdev.ENODEV) {
+logger.fine("read failed: fd: " + fd + ", errno: " + errno);
+                }
+                return;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return mode == Mode.SPIN_PARK ? mode + "(" + TimeUnit.NANOSECONDS.toMicros(spinNanos) + "us)" : mode.toString();
+    }
+}
@@ -22,26 +22,47 @@ package org.gamepad4j.linux;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
 import com.sun.jna.NativeLong;
 import com.sun.jna.Pointer;
-import com.sun.jna.ptr.IntByReference;
 import net.java.games.input.linux.LinuxIO;
-import net.java.games.input.linux.LinuxIO.dirent;
 import net.java.games.input.linux.LinuxIO.input_absinfo;
-import net.java.games.input.linux.LinuxIO.input_event;
 import net.java.games.input.linux.LinuxIO.input_id;
-import net.java.games.input.linux.LinuxIO.stat;
 import org.gamepad4j.desktop.BaseGamepad;
+import org.gamepad4j.util.Clock;
 import org.gamepad4j.util.PlatformUtil;
 
 import static net.java.games.input.linux.LinuxIO.ABS_CNT;
@@ -61,7 +82,14 @@ import static net.java.games.input.linux.NativeDefinitions.BTN_TRIGGER;
 import static net.java.games.input.linux.NativeDefinitions.EV_ABS;
 import static net.java.games.input.linux.NativeDefinitions.EV_CNT;
 import static net.java.games.input.linux.NativeDefinitions.EV_KEY;
+import static net.java.games.input.linux.NativeDefinitions.EV_MSC;
+import static net.java.games.input.linux.NativeDefinitions.EV_REL;
+import static net.java.games.input.linux.NativeDefinitions.EV_SYN;
 import static net.java.games.input.linux.NativeDefinitions.KEY_CNT;
+import static org.gamepad4j.linux.Evdev.MSC_CNT;
+import static org.gamepad4j.linux.Evdev.REL_CNT;
+import static org.gamepad4j.linux.Evdev.SYN_DROPPED;
+import static org.gamepad4j.linux.Evdev.SYN_REPORT;
 
 
 /**
@@ -71,56 +99,455 @@ public class LinuxGamepad extends BaseGamepad {
 
     private static final Logger logger = Logger.getLogger(LinuxGamepad.class.getName());
 
-    private static class LinuxDevice extends Device {
+    /** an evdev node, a physical device may consist of several nodes (e.g. pad, motion sensors, touchpad) */
+    static class Node {
         ExecutorService inputEs = Executors.newSingleThreadExecutor();
 
-        LinuxDevice(List<GamepadListener> listeners) {
-            super(listeners);
-        }
-
         int fd;
         String path;
         int[] buttonMap = new int[KEY_CNT - BTN_MISC];
         int[] axisMap = new int[ABS_CNT];
         input_absinfo[] axisInfo = new input_absinfo[ABS_CNT];
 
+        /** whether this node is a gamepad by itself */
+        boolean gamepad;
+        String description;
+        int vendorID;
+        int productID;
+        String uniqueID;
+        String location;
+        int numButtons;
+        int numAxes;
+
+        /** index of the first button/axis of this node in the device */
+        int buttonBase;
+        int axisBase;
+
+        /** events are being discarded after SYN_DROPPED until SYN_REPORT */
+        boolean dropping;
+
+        /** whether event times from the kernel are in {@link System#nanoTime()} time base */
+        boolean monotonic;
+
+        /** whether a reader thread owns the fd, it closes the fd then, guarded by the node */
+        boolean reading;
+
+        /** the fd is closed exactly once, it may be reused by another node after that */
+        final AtomicBoolean closed = new AtomicBoolean();
+
+        String getIdentity() {
+            return Device.getIdentity(vendorID, productID, uniqueID, location);
+        }
+    }
+
+    static class LinuxDevice extends Device {
+
+        /** */
+        private final Prober prober;
+
+        LinuxDevice(List<GamepadListener> listeners, Clock clock, Prober prober) {
+            super(listeners, clock);
+            this.prober = prober;
+        }
+
+        /** the first one is the primary node, iterated by readers */
+        final List<Node> nodes = new CopyOnWriteArrayList<>();
+
+        boolean removed;
+
+        /**
+         * Lays out buttons and axes of the node after those of the nodes joined already,
+         * so that ids and states of them are kept. States are grown under the lock of the device,
+         * which writers of states hold, so that no update is lost to the old arrays.
+         */
+        synchronized void join(Node node) {
+            node.buttonBase = numButtons;
+            node.axisBase = numAxes;
+            numButtons += node.numButtons;
+            numAxes += node.numAxes;
+            axisStates = axisStates == null ? new float[numAxes] : Arrays.copyOf(axisStates, numAxes);
+            buttonStates = buttonStates == null ? new boolean[numButtons] : Arrays.copyOf(buttonStates, numButtons);
+            nodes.add(node);
+        }
+
+        /** @return whether the state changed */
+        synchronized boolean updateButton(int index, boolean down) {
+            boolean changed = buttonStates[index] != down;
+            buttonStates[index] = down;
+            return changed;
+        }
+
+        /** @return whether the state changed */
+        synchronized boolean updateAxis(int index, float value) {
+            boolean changed = axisStates[index] != value;
+            axisStates[index] = value;
+            return changed;
+        }
+
+        /**
+         * Programs masks of nodes so that the kernel delivers only events of buttons and axes in use,
+         * relative axes and misc events (e.g. scan codes) are never used.
+         */
+        @Override
+        public void setEventMask(boolean[] buttons, boolean[] axes) {
+            for (Node node : nodes) {
+                BitSet keyCodes = new BitSet();
+                for (int code = BTN_MISC; code < KEY_CNT; code++) {
+                    int index = node.buttonMap[code - BTN_MISC];
+                    if (index != -1 && (node.buttonBase + index >= buttons.length || buttons[node.buttonBase + index])) {
+                        keyCodes.set(code);
+                    }
+                }
+                BitSet absCodes = new BitSet();
+                for (int code = 0; code < ABS_CNT; code++) {
+                    int index = node.axisMap[code];
+                    if (index != -1 && (node.axisBase + index >= axes.length || axes[node.axisBase + index])) {
+                        absCodes.set(code);
+                    }
+                }
+                if (prober.setMask(node, EV_KEY, keyCodes, KEY_CNT) &&
+                        prober.setMask(node, EV_ABS, absCodes, ABS_CNT) &&
+                        prober.setMask(node, EV_REL, new BitSet(), REL_CNT) &&
+                        prober.setMask(node, EV_MSC, new BitSet(), MSC_CNT)) {
+logger.fine("mask " + node.path + ": keys: " + keyCodes.cardinality() + "/" + node.numButtons + ", axes: " + absCodes.cardinality() + "/" + node.numAxes);
+                } else {
+logger.fine("mask not supported: " + node.path);
+                }
+            }
+        }
+
         @Override
         public void write(byte[] data, int length, int reportId) throws IOException {
             throw new UnsupportedOperationException("not implemented yet");
         }
     }
 
-    private final ScheduledExecutorService detectSes = Executors.newSingleThreadScheduledExecutor();
+    /** Examines an evdev node, replaceable for tests. */
+    interface Prober {
+
+        /**
+         * Opens the node and reads its layout.
+         *
+         * @return null if the node is not a candidate
+         * @throws IOException the node cannot be opened
+         */
+        Node probe(String path) throws IOException;
+
+        /**
+         * Opens the node whose layout is known.
+         *
+         * @return fd
+         * @throws IOException the node cannot be opened
+         */
+        int open(String path) throws IOException;
+
+        /**
+         * Reads the current state of the opened node.
+         *
+         * @param keyBits key state bitmap, indexed by key codes
+         * @param absValues current values of axes in the layout, indexed by abs codes
+         * @return false if the state cannot be read
+         */
+        boolean readState(Node node, byte[] keyBits, int[] absValues);
+
+        /**
+         * Restricts events of the type the node delivers.
+         *
+         * @param count number of codes of the type
+         * @return false if masking is not supported
+         */
+        boolean setMask(Node node, int type, BitSet codes, int count);
+
+        /**
+         * Makes reads of the node non-blocking, for pump mode.
+         *
+         * @return false if failed
+         */
+        boolean setNonBlocking(Node node);
+
+        /**
+         * Makes the kernel stamp events of the node in {@link System#nanoTime()} time base.
+         * This flushes events queued for the fd, so it is called before the state is read.
+         *
+         * @return false if failed, events are stamped on reading then
+         */
+        boolean setMonotonicClock(Node node);
+
+        /**
+         * Makes reads of the node fail as if it were unplugged, so that its reader wakes up
+         * and closes it. The fd stays allocated until closed.
+         */
+        void revoke(Node node);
+
+        /** Releases a node. */
+        void close(Node node);
+    }
+
+    /** */
+    private static final Prober evdevProber = new Prober() {
+        @Override
+        public Node probe(String path) throws IOException {
+            return LinuxGamepad.probe(path);
+        }
+
+        @Override
+        public int open(String path) throws IOException {
+            int fd = LinuxIO.INSTANCE.open(path, O_RDONLY, 0);
+            if (fd < 0) {
+                throw new IOException("cannot open: " + path);
+            }
+            return fd;
+        }
+
+        @Override
+        public boolean readState(Node node, byte[] keyBits, int[] absValues) {
+            if (Evdev.Libc.INSTANCE.ioctl(node.fd, Evdev.EVIOCGKEY(keyBits.length), keyBits) < 0) {
+                return false;
+            }
+            input_absinfo info = new input_absinfo();
+            for (int code = 0; code < ABS_CNT; code++) {
+                if (node.axisMap[code] != -1) {
+                    if (LinuxIO.INSTANCE.ioctl(node.fd, EVIOCGABS(code, info.size()), info.getPointer()) < 0) {
+                        return false;
+                    }
+                    info.read();
+                    absValues[code] = info.value;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean setMask(Node node, int type, BitSet codes, int count) {
+            return Evdev.setMask(node.fd, type, codes, count);
+        }
+
+        @Override
+        public boolean setNonBlocking(Node node) {
+            return Evdev.setNonBlocking(node.fd);
+        }
+
+        @Override
+        public boolean setMonotonicClock(Node node) {
+            return Evdev.setMonotonicClock(node.fd);
+        }
+
+        @Override
+        public void revoke(Node node) {
+            Evdev.revoke(node.fd);
+        }
+
+        @Override
+        public void close(Node node) {
+            LinuxIO.INSTANCE.close(node.fd);
+        }
+    };
+
+    /** number of threads to probe nodes */
+    private static final int probeThreads = Integer.getInteger(LinuxGamepad.class.getName() + ".probeThreads",
+            Math.min(8, Runtime.getRuntime().availableProcessors() * 2));
+
+    /** time limit to probe a node in milliseconds */
+    private static final long probeTimeout = Long.getLong(LinuxGamepad.class.getName() + ".probeTimeout", 500);
+
+    /** how reader threads wait for events: "blocking", "spin-park" or "spin" */
+    private static final String readMode = System.getProperty(LinuxGamepad.class.getName() + ".readMode", "blocking");
+
+    /** spinning time in microseconds without events before a "spin-park" reader blocks */
+    private static final long spinIdle = Long.getLong(LinuxGamepad.class.getName() + ".spinIdle", 10_000);
+
+    /** probe cache file, empty for no cache */
+    private static final String probeCacheFile = System.getProperty(LinuxGamepad.class.getName() + ".probeCache",
+            Paths.get(System.getProperty("user.home"), ".cache", "gamepad4j", "probe.properties").toString());
+
+    /** created on {@link #open()} */
+    private ScheduledExecutorService detectSes;
+
+    /** Probes nodes concurrently, created again on {@link #open()} after {@link #close()}. */
+    private ExecutorService probeEs;
+
+    /** number of {@link #probeEs} threads */
+    private final int threads;
+
+    /** */
+    private final Prober prober;
+
+    /** the directory of evdev nodes */
+    private final Path devInput;
+
+    /** null if not used */
+    private final SysfsFilter sysfsFilter;
+
+    /** null if not used */
+    private final ProbeCache probeCache;
+
+    /** nodes which were not probed in time at the last scan, they are probed again regardless of the mtime */
+    private final Set<String> retries = ConcurrentHashMap.newKeySet();
+
+    /** a node of a physical device enumerated before its primary node */
+    private static class Orphan {
+        /** closed */
+        final Node node;
+        /** number of scans it waited */
+        int scans;
+
+        Orphan(Node node) {
+            this.node = node;
+        }
+    }
+
+    /** milliseconds file times of nodes may lag behind the wall clock */
+    private static final long mtimeSlack = 50;
+
+    /** number of scans an orphan waits for its primary node */
+    private static final int orphanScans = 5;
+
+    /** path / orphan, used by the detection thread only */
+    private final Map<String, Orphan> orphans = new HashMap<>();
+
+    /**
+     * path / number of scans, nodes of a physical device rejected by the pre-filter before its primary node
+     * is enumerated, they are enumerated again by {@link #retries} for {@link #orphanScans} scans
+     */
+    private final Map<String, Integer> pending = new ConcurrentHashMap<>();
 
     private final List<LinuxDevice> devices = new ArrayList<>();
-    private int nextDeviceID = 0;
+
+    /** deviceID / device, for lock free lookup */
+    private final Map<Integer, LinuxDevice> deviceMap = new ConcurrentHashMap<>();
+
+    /** number of SYN_DROPPED incidents */
+    private final LongAdder dropped = new LongAdder();
+
+    /** how reader threads wait for events */
+    private final EventReader reader = new EventReader(EventReader.Mode.of(readMode), TimeUnit.MICROSECONDS.toNanos(spinIdle));
+
+    /** number of reads, i.e. wakeups of reader threads */
+    private final LongAdder reads = new LongAdder();
 
     private boolean inited = false;
 
+    /** whether events are read by {@link #pump()} instead of reader threads */
+    private boolean pumpMode;
+
+    /** attached devices for {@link #pump()}, replaced on attach and removal */
+    private volatile LinuxDevice[] pumped = new LinuxDevice[0];
+
+    /** when {@link #pump()} detected devices last */
+    private long lastDetected;
+
+    /** read buffer of {@link #pump()} */
+    private Memory pumpBuffer;
+
+    /** */
+    public LinuxGamepad() {
+        this(Paths.get("/dev/input"), Paths.get("/sys/class/input"),
+                probeCacheFile.isEmpty() ? null : Paths.get(probeCacheFile), evdevProber, probeThreads);
+    }
+
+    /** for tests */
+    LinuxGamepad(Path devInput, Prober prober, int threads) {
+        this(devInput, null, null, prober, threads);
+    }
+
+    /**
+     * @param sysClassInput sysfs input class directory, null not to pre-filter
+     * @param probeCacheFile null not to cache
+     */
+    LinuxGamepad(Path devInput, Path sysClassInput, Path probeCacheFile, Prober prober, int threads) {
+        this.devInput = devInput;
+        this.sysfsFilter = sysClassInput != null && Files.isDirectory(sysClassInput) ? new SysfsFilter(sysClassInput) : null;
+        this.probeCache = probeCacheFile != null ? new ProbeCache(probeCacheFile) : null;
+        this.prober = prober;
+        this.threads = threads;
+        this.probeEs = newProbeEs();
+    }
+
+    /** */
+    private ExecutorService newProbeEs() {
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "gamepad4j-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
     /** */
     private static boolean testBit(int bitIndex, int[] array) {
         return ((array[bitIndex / (Integer.BYTES * 8)] >> (bitIndex % (Integer.BYTES * 8))) & 0x1) != 0;
     }
 
+    /**
+     * In pump mode, no threads are started: nodes are opened non-blocking and
+     * {@link #pump()} detects devices, reads events and fires listeners on the caller's thread.
+     * Probes are not time limited in this mode.
+     */
+    @Override
+    public void setPumpMode(boolean pump) {
+        if (inited) {
+            throw new IllegalStateException("already opened");
+        }
+        this.pumpMode = pump;
+    }
+
     @Override
     public void open() {
 logger.fine("init...");
         if (!inited) {
-            detectSes.schedule(this::detectDevices, 1000, TimeUnit.MILLISECONDS);
+            if (probeEs.isShutdown()) {
+                probeEs = newProbeEs();
+            }
+            if (pumpMode) {
+                pumpBuffer = new Memory(Evdev.INPUT_EVENT_SIZE * 64L);
+                lastDetected = System.nanoTime() - TimeUnit.SECONDS.toNanos(1);
+            } else {
+                detectSes = Executors.newSingleThreadScheduledExecutor();
+                detectSes.scheduleWithFixedDelay(this::detectDevices, 1000, 1000, TimeUnit.MILLISECONDS);
+            }
 
             inited = true;
-logger.fine("initialized");
+logger.fine("initialized: reader: " + reader);
         }
     }
 
+    /**
+     * Closes devices without firing removal, {@link #open()} starts over.
+     * Reader threads are woken up to close their nodes.
+     */
     @Override
     public void close() {
 logger.fine("shutdown...");
+        probeEs.shutdownNow();
         if (inited) {
-            detectSes.shutdownNow();
-
-            devices.clear();
             inited = false;
+            if (detectSes != null) {
+                detectSes.shutdownNow();
+                try {
+                    // a scan in progress may be attaching
+                    detectSes.awaitTermination(probeTimeout * 2, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                detectSes = null;
+            }
+
+            List<LinuxDevice> closing;
+            synchronized (devices) {
+                closing = new ArrayList<>(devices);
+                closing.forEach(device -> device.removed = true);
+                devices.clear();
+                deviceMap.clear();
+                pumped = new LinuxDevice[0];
+            }
+            for (LinuxDevice device : closing) {
+                releaseDeviceID(device);
+                dispose(device);
+            }
+            orphans.clear();
+            retries.clear();
+            pending.clear();
+            pumpBuffer = null;
+            lastInputStatTime = 0;
         }
     }
 
@@ -133,205 +560,697 @@ logger.fine("shutdown...");
 
     @Override
     public Device get(int deviceId) {
-        synchronized (devices) {
-            for (LinuxDevice device : devices) {
-                if (device.deviceID == deviceId) {
-                    return devices.get(deviceId);
-                }
-            }
+        LinuxDevice device = deviceMap.get(deviceId);
+        if (device == null) {
 logger.warning("no such deviceId: " + deviceId);
-            return null;
         }
+        return device;
+    }
+
+    /**
+     * Returns how many times the kernel dropped events because the reader was late,
+     * states are resynchronized each time.
+     */
+    public long getDropCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns how many events reader threads have read, each read is a wakeup.
+     * Events masked by the kernel are not counted.
+     */
+    public long getReadCount() {
+        return reads.sum();
     }
 
     /** device input report thread */
-    private void deviceThread(LinuxDevice device) {
+    private void deviceThread(LinuxDevice device, Node node) {
 
-        input_event event = new input_event();
-        while (LinuxIO.INSTANCE.read(device.fd, event.getPointer(), new NativeLong(event.size())).intValue() > 0) {
-            event.read();
-            if (event.type == EV_ABS) {
-                if (event.code > ABS_MAX || device.axisMap[event.code] == -1) {
-                    continue;
-                }
+        reader.run(node.fd, (buffer, offset) -> process(device, node,
+                buffer.getShort(offset + Evdev.INPUT_EVENT_TYPE) & 0xffff,
+                buffer.getShort(offset + Evdev.INPUT_EVENT_CODE) & 0xffff,
+                buffer.getInt(offset + Evdev.INPUT_EVENT_VALUE),
+                time(node, buffer, offset)), reads);
 
-                float value = (event.value - device.axisInfo[event.code].minimum) / (float) (device.axisInfo[event.code].maximum - device.axisInfo[event.code].minimum) * 2.0f - 1.0f;
-                device.fireAxisMove(device.axisMap[event.code], value);
+        nodeGone(device, node);
+        closeNode(node);
+    }
+
+    /** the primary node gone means the device is removed, the caller owns the node and closes it */
+    private void nodeGone(LinuxDevice device, Node node) {
+        if (node == device.nodes.get(0)) {
+            removeDevice(device);
+        } else {
+logger.fine("secondary node gone: " + node.path);
+            device.nodes.remove(node);
+        }
+    }
 
-                device.axisStates[device.axisMap[event.code]] = value;
+    /** closes the fd of the node unless closed already */
+    private void closeNode(Node node) {
+        synchronized (node) {
+            if (node.closed.compareAndSet(false, true)) {
+                prober.close(node);
+            }
+        }
+    }
 
-            } else if (event.type == EV_KEY) {
-                if (event.code < BTN_MISC || event.code > KEY_MAX || device.buttonMap[event.code - BTN_MISC] == -1) {
-                    continue;
+    /** closes nodes no reader owns, readers of the others are woken up to close theirs */
+    private void dispose(LinuxDevice device) {
+        for (Node node : device.nodes) {
+            synchronized (node) {
+                if (!node.reading) {
+                    closeNode(node);
+                } else if (!node.closed.get()) {
+                    prober.revoke(node);
                 }
+            }
+            node.inputEs.shutdown();
+        }
+    }
 
-                if (event.value != 0) {
-                    device.fireButtonDown(device.buttonMap[event.code - BTN_MISC]);
-                } else {
-                    device.fireButtonUp(device.buttonMap[event.code - BTN_MISC]);
+    /**
+     * Detects devices every second and drains events of all nodes, in pump mode.
+     *
+     * @return number of events processed
+     * @throws IllegalStateException not in pump mode or not opened
+     */
+    @Override
+    public int pump() {
+        if (!pumpMode || !inited) {
+            throw new IllegalStateException("not in pump mode");
+        }
+        long now = System.nanoTime();
+        if (now - lastDetected >= TimeUnit.SECONDS.toNanos(1)) {
+            lastDetected = now;
+            detectDevices();
+        }
+
+        // a buffer of each node in turn, so that a chatty device does not hold others
+        int batch = (int) (pumpBuffer.size() / Evdev.INPUT_EVENT_SIZE);
+        int events = 0;
+        boolean more = true;
+        while (more) {
+            more = false;
+            for (LinuxDevice device : pumped) {
+                for (Node node : device.nodes) {
+                    if (!device.removed) {
+                        int n = drain(device, node);
+                        events += n;
+                        more |= n == batch;
+                    }
                 }
+            }
+        }
+        return events;
+    }
+
+    /** reads a buffer of events of the non-blocking node */
+    private int drain(LinuxDevice device, Node node) {
+        long r = Evdev.Libc.INSTANCE.read(node.fd, pumpBuffer, new NativeLong(pumpBuffer.size())).longValue();
+        int errno = r < 0 ? Native.getLastError() : 0;
+        if (errno == Evdev.EAGAIN || errno == Evdev.EINTR) {
+            return 0;
+        }
+        if (r <= 0) {
+            nodeGone(device, node);
+            closeNode(node);
+            return 0;
+        }
+        reads.increment();
+        int events = 0;
+        for (long offset = 0; offset + Evdev.INPUT_EVENT_SIZE <= r; offset += Evdev.INPUT_EVENT_SIZE) {
+            process(device, node,
+                    pumpBuffer.getShort(offset + Evdev.INPUT_EVENT_TYPE) & 0xffff,
+                    pumpBuffer.getShort(offset + Evdev.INPUT_EVENT_CODE) & 0xffff,
+                    pumpBuffer.getInt(offset + Evdev.INPUT_EVENT_VALUE),
+                    time(node, pumpBuffer, offset));
+            events++;
+        }
+        return events;
+    }
+
+    /** the time of the event in the time base of the clock, kernel times are used for the system clock */
+    private long time(Node node, Pointer buffer, long offset) {
+        return node.monotonic && clock.isSystem() ? Evdev.getTime(buffer, offset) : clock.nanoTime();
+    }
 
-                device.buttonStates[device.buttonMap[event.code - BTN_MISC]] = event.value != 0;
+    /**
+     * applies an evdev event of the node to the device
+     *
+     * @param time when the event happened, in {@link System#nanoTime()} time base
+     */
+    void process(LinuxDevice device, Node node, int type, int code, int value, long time) {
+        if (type == EV_SYN) {
+            if (code == SYN_DROPPED) {
+                if (!node.dropping) {
+                    node.dropping = true;
+                    dropped.increment();
+logger.fine("events dropped: " + node.path);
+                }
+            } else if (code == SYN_REPORT && node.dropping) {
+                // events up to here are partial, take the state from the kernel instead
+                node.dropping = false;
+                resync(device, node, true);
+            }
+        } else if (node.dropping) {
+            // discarded until SYN_REPORT
+        } else if (type == EV_ABS) {
+            if (code > ABS_MAX || node.axisMap[code] == -1) {
+                return;
             }
+
+            float axisValue = normalize(node.axisInfo[code], value);
+            int axisIndex = node.axisBase + node.axisMap[code];
+            device.fireAxisMove(axisIndex, axisValue, time);
+
+            device.updateAxis(axisIndex, axisValue);
+
+        } else if (type == EV_KEY) {
+            if (code < BTN_MISC || code > KEY_MAX || node.buttonMap[code - BTN_MISC] == -1) {
+                return;
+            }
+
+            int buttonIndex = node.buttonBase + node.buttonMap[code - BTN_MISC];
+            if (value != 0) {
+                device.fireButtonDown(buttonIndex, time);
+            } else {
+                device.fireButtonUp(buttonIndex, time);
+            }
+
+            device.updateButton(buttonIndex, value != 0);
         }
+    }
 
-        removeDevice(device);
+    /** raw axis value to -1.0 ~ 1.0 */
+    private static float normalize(input_absinfo info, int value) {
+        return (value - info.minimum) / (float) (info.maximum - info.minimum) * 2.0f - 1.0f;
+    }
+
+    /**
+     * Reads the current button and axis states of the node from the kernel.
+     *
+     * @param fire whether to fire events for states which differ from the device's
+     */
+    void resync(LinuxDevice device, Node node, boolean fire) {
+        byte[] keyBits = new byte[(KEY_CNT + 7) / 8];
+        int[] absValues = new int[ABS_CNT];
+        if (!prober.readState(node, keyBits, absValues)) {
+logger.fine("cannot read state: " + node.path);
+            return;
+        }
+
+        for (int code = BTN_MISC; code < KEY_CNT; code++) {
+            if (node.buttonMap[code - BTN_MISC] == -1) {
+                continue;
+            }
+            int buttonIndex = node.buttonBase + node.buttonMap[code - BTN_MISC];
+            boolean down = (keyBits[code / 8] & (1 << (code % 8))) != 0;
+            if (device.updateButton(buttonIndex, down)) {
+                if (fire) {
+                    if (down) {
+                        device.fireButtonDown(buttonIndex);
+                    } else {
+                        device.fireButtonUp(buttonIndex);
+                    }
+                }
+            }
+        }
+        for (int code = 0; code < ABS_CNT; code++) {
+            if (node.axisMap[code] == -1) {
+                continue;
+            }
+            int axisIndex = node.axisBase + node.axisMap[code];
+            float value = normalize(node.axisInfo[code], absValues[code]);
+            if (device.updateAxis(axisIndex, value)) {
+                if (fire) {
+                    device.fireAxisMove(axisIndex, value);
+                }
+            }
+        }
     }
 
     /** device removal */
     private void removeDevice(LinuxDevice device) {
-        device.fireDeviceRemove();
-
         synchronized (devices) {
-            Iterator<LinuxDevice> i = devices.iterator();
-            while (i.hasNext()) {
-                LinuxDevice toBeRemoved = i.next();
-                if (toBeRemoved == device) {
-                    logger.fine("dispose device...");
-                    LinuxIO.INSTANCE.close(device.fd);
-
-                    i.remove();
-                    break;
-                }
+            if (device.removed) {
+                return;
             }
+            device.removed = true;
+            devices.remove(device);
+            deviceMap.remove(device.deviceID);
+            pumped = devices.toArray(LinuxDevice[]::new);
         }
+
+        device.fireDeviceRemove();
+        releaseDeviceID(device);
+
+        logger.fine("dispose device...");
+        dispose(device);
     }
 
     /** @see "https://stackoverflow.com/a/5853198" */
     private class MyRunnable implements Runnable {
         LinuxDevice device;
-        public MyRunnable(LinuxDevice device) {
+        Node node;
+        public MyRunnable(LinuxDevice device, Node node) {
             this.device = device;
+            this.node = node;
         }
 
         @Override
         public void run() {
-            deviceThread(device);
+            deviceThread(device, node);
         }
     }
 
     /** seemed for polling */
     private long lastInputStatTime;
 
-    /** device detection thread */
-    private void detectDevices() {
-        if (!inited) {
-            return;
-        }
-
+    /**
+     * Opens and examines an evdev node.
+     *
+     * @return null if the node is neither a gamepad nor has any keys or absolute axes
+     * @throws IOException the node cannot be opened
+     */
+    private static Node probe(String fileName) throws IOException {
         int[] evCapBits = new int[(EV_CNT - 1) / Integer.BYTES * 8 + 1];
         int[] evKeyBits = new int[(KEY_CNT - 1) / Integer.BYTES * 8 + 1];
         int[] evAbsBits = new int[(ABS_CNT - 1) / Integer.BYTES * 8 + 1];
 
-        synchronized (devices) {
+        int fd = LinuxIO.INSTANCE.open(fileName, O_RDONLY, 0);
+        if (fd < 0) {
+            throw new IOException("cannot open: " + fileName);
+        }
+        if (LinuxIO.INSTANCE.ioctl(fd, EVIOCGBIT(0, evCapBits.length), evCapBits) < 0 ||
+                LinuxIO.INSTANCE.ioctl(fd, EVIOCGBIT(EV_KEY, evKeyBits.length), evKeyBits) < 0 ||
+                LinuxIO.INSTANCE.ioctl(fd, EVIOCGBIT(EV_ABS, evAbsBits.length), evAbsBits) < 0) {
+            LinuxIO.INSTANCE.close(fd);
+            return null;
+        }
+        if (!testBit(EV_KEY, evCapBits) && !testBit(EV_ABS, evCapBits)) {
+            LinuxIO.INSTANCE.close(fd);
+            return null;
+        }
 
-            Pointer /* DIR */ dev_input = LinuxIO.INSTANCE.opendir("/dev/input");
-            long currentTime = System.nanoTime();
-            if (dev_input != null) {
-                dirent entity;
-                while ((entity = LinuxIO.INSTANCE.readdir(dev_input)) != null) {
-                    IntByReference charsConsumed = new IntByReference();
-                    IntByReference num = new IntByReference();
-                    if (LinuxIO.INSTANCE.sscanf(entity.d_name, "event%d%n", num, charsConsumed) != 0 && charsConsumed.getValue() == LinuxIO.INSTANCE.strlen(entity.d_name).intValue()) {
-                        String fileName = String.format("/dev/input/%s", new String(entity.d_name, StandardCharsets.UTF_8).replace("\u0000", ""));
-                        stat statBuf = new stat();
-                        if (LinuxIO.INSTANCE.stat(fileName, statBuf) != 0 || statBuf.st_mtim.toNanos() < lastInputStatTime) {
-                            continue;
-                        }
+        Node node = new Node();
+        node.fd = fd;
+        node.path = fileName;
+        node.gamepad = testBit(EV_KEY, evCapBits) && testBit(EV_ABS, evCapBits) &&
+                testBit(ABS_X, evAbsBits) && testBit(ABS_Y, evAbsBits) &&
+                (testBit(BTN_TRIGGER, evKeyBits) || testBit(BTN_A, evKeyBits) || testBit(BTN_1, evKeyBits));
 
-                        boolean duplicate = false;
-                        for (LinuxDevice device : devices) {
-                            if (device.path.equals(fileName)) {
-                                duplicate = true;
-                                break;
-                            }
-                        }
-                        if (duplicate) {
-                            continue;
-                        }
+        Arrays.fill(node.buttonMap, 0, node.buttonMap.length, (byte) 0xFF);
+        Arrays.fill(node.axisMap, 0, node.axisMap.length, (byte) 0xFF);
 
-                        int fd = LinuxIO.INSTANCE.open(fileName, O_RDONLY, 0);
-                        Arrays.fill(evCapBits, 0, evCapBits.length, (byte) 0);
-                        Arrays.fill(evKeyBits, 0, evKeyBits.length, (byte) 0);
-                        Arrays.fill(evAbsBits, 0, evAbsBits.length, (byte) 0);
-                        if (LinuxIO.INSTANCE.ioctl(fd, EVIOCGBIT(0, evCapBits.length), evCapBits) < 0 ||
-                                LinuxIO.INSTANCE.ioctl(fd, EVIOCGBIT(EV_KEY, evKeyBits.length), evKeyBits) < 0 ||
-                                LinuxIO.INSTANCE.ioctl(fd, EVIOCGBIT(EV_ABS, evAbsBits.length), evAbsBits) < 0) {
-                            LinuxIO.INSTANCE.close(fd);
-                            continue;
-                        }
-                        if (!testBit(EV_KEY, evCapBits) || !testBit(EV_ABS, evCapBits) ||
-                                !testBit(ABS_X, evAbsBits) || !testBit(ABS_Y, evAbsBits) ||
-                                (!testBit(BTN_TRIGGER, evKeyBits) && !testBit(BTN_A, evKeyBits) && !testBit(BTN_1, evKeyBits))) {
-                            LinuxIO.INSTANCE.close(fd);
-                            continue;
-                        }
+        String description;
+        byte[] name = new byte[128];
+        if (LinuxIO.INSTANCE.ioctl(fd, EVIOCGNAME(name.length), name) > 0) {
+            description = new String(name, StandardCharsets.UTF_8).replace("\u0000", "");
+        } else {
+            description = fileName;
+        }
+        node.description = description;
 
-                        LinuxDevice device = new LinuxDevice(listeners);
-                        device.deviceID = nextDeviceID++;
+        input_id id = new input_id();
+        if (LinuxIO.INSTANCE.ioctl(fd, EVIOCGID(id.size()), id.getPointer()) == 0) {
+            id.read();
+            node.vendorID = id.vendor & 0xffff;
+            node.productID = id.product & 0xffff;
+        } else {
+            node.vendorID = node.productID = 0;
+        }
+        node.uniqueID = Evdev.getString(fd, Evdev.EVIOCGUNIQ(128), 128);
+        node.location = Evdev.getString(fd, Evdev.EVIOCGPHYS(128), 128);
 
-                        device.fd = fd;
-                        device.path = fileName;
+        node.numAxes = 0;
+        for (int bit = 0; bit < ABS_CNT; bit++) {
+            if (testBit(bit, evAbsBits)) {
+                node.axisInfo[bit] = new input_absinfo();
+                if (LinuxIO.INSTANCE.ioctl(fd, EVIOCGABS(bit, node.axisInfo[bit].size()),
+                        node.axisInfo[bit].getPointer()) < 0) {
+                    continue;
+                }
+                node.axisInfo[bit].read();
+                if (node.axisInfo[bit].minimum == node.axisInfo[bit].maximum) {
+                    continue;
+                }
+                node.axisMap[bit] = node.numAxes;
+                node.numAxes++;
+            }
+        }
+        node.numButtons = 0;
+        for (int bit = BTN_MISC; bit < KEY_CNT; bit++) {
+            if (testBit(bit, evKeyBits)) {
+                node.buttonMap[bit - BTN_MISC] = node.numButtons;
+                node.numButtons++;
+            }
+        }
 
-                        devices.add(device);
+        return node;
+    }
 
-                        Arrays.fill(device.buttonMap, 0, device.buttonMap.length, (byte) 0xFF);
-                        Arrays.fill(device.axisMap, 0, device.axisMap.length, (byte) 0xFF);
+    /** a probe in progress */
+    private class Probe {
+        final String path;
+        /** the layout from the cache, null if the node is probed */
+        final Node cached;
+        /** when the probe started, 0 if not yet */
+        volatile long started;
+        /** set when the caller gave up waiting */
+        final AtomicBoolean abandoned = new AtomicBoolean();
+        /** the node could not be opened or examined, or timed out */
+        boolean failed;
+        Future<Node> future;
 
-                        String description;
-                        byte[] name = new byte[128];
-                        if (LinuxIO.INSTANCE.ioctl(fd, EVIOCGNAME(name.length), name) > 0) {
-                            description = new String(name, StandardCharsets.UTF_8);
-                        } else {
-                            description = fileName;
-                        }
-                        device.description = description;
-
-                        input_id id = new input_id();
-                        if (LinuxIO.INSTANCE.ioctl(fd, EVIOCGID(id.size()), id.getPointer()) == 0) {
-                            device.vendorID = id.vendor;
-                            device.productID = id.product;
-                        } else {
-                            device.vendorID = device.productID = 0;
-                        }
+        Probe(String path, Node cached) {
+            this.path = path;
+            this.cached = cached;
+        }
 
-                        Arrays.fill(evKeyBits, 0, evKeyBits.length, (byte) 0);
-                        Arrays.fill(evAbsBits, 0, evAbsBits.length, (byte) 0);
-                        LinuxIO.INSTANCE.ioctl(fd, EVIOCGBIT(EV_KEY, evKeyBits.length), evKeyBits);
-                        LinuxIO.INSTANCE.ioctl(fd, EVIOCGBIT(EV_ABS, evAbsBits.length), evAbsBits);
-
-                        device.numAxes = 0;
-                        for (int bit = 0; bit < ABS_CNT; bit++) {
-                            if (testBit(bit, evAbsBits)) {
-                                if (LinuxIO.INSTANCE.ioctl(fd, EVIOCGABS(bit, device.axisInfo[bit].size()),
-                                        device.axisInfo[bit].getPointer()) < 0 ||
-                                        device.axisInfo[bit].minimum == device.axisInfo[bit].maximum) {
-                                    continue;
-                                }
-                                device.axisMap[bit] = device.numAxes;
-                                device.numAxes++;
-                            }
-                        }
-                        device.numButtons = 0;
-                        for (int bit = BTN_MISC; bit < KEY_CNT; bit++) {
-                            if (testBit(bit, evKeyBits)) {
-                                device.buttonMap[bit - BTN_MISC] = device.numButtons;
-                                device.numButtons++;
-                            }
+        Node call() throws IOException {
+            started = System.nanoTime();
+            Node node;
+            if (cached != null) {
+                cached.fd = prober.open(path);
+                node = cached;
+            } else {
+                node = prober.probe(path);
+            }
+            if (node != null && !abandoned.compareAndSet(false, true)) {
+logger.fine("probe finished too late: " + path);
+                prober.close(node);
+                return null;
+            }
+            if (node != null) {
+                // before the initial resync, setting the clock flushes the event queue of the fd
+                node.monotonic = prober.setMonotonicClock(node);
+            }
+            return node;
+        }
+
+        /** waits for the result up to {@link #probeTimeout} after the probe started */
+        Node await() {
+            long timeout = TimeUnit.MILLISECONDS.toNanos(probeTimeout);
+            boolean waited = false;
+            while (true) {
+                long started = this.started;
+                long wait = started == 0 ? timeout : started + timeout - System.nanoTime();
+                try {
+                    return future.get(Math.max(wait, 0), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    if (this.started != 0 && System.nanoTime() - this.started >= timeout) {
+                        if (abandoned.compareAndSet(false, true)) {
+                            logger.warning("probe timed out, ignored: " + path);
+                            failed = true;
+                            future.cancel(true);
+                            return null;
                         }
+                    } else if (this.started == 0 && waited) {
+                        // all probe threads are busy with hung nodes
+                        logger.warning("probe not started, retry later: " + path);
+                        future.cancel(false);
+                        retries.add(path);
+                        failed = true;
+                        return null;
+                    }
+                    waited = this.started == 0;
+                } catch (ExecutionException e) {
+logger.log(Level.FINE, "probe failed: " + path, e.getCause());
+                    failed = true;
+                    return null;
+                } catch (InterruptedException e) {
+                    failed = true;
+                    future.cancel(true);
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Lists evdev nodes which are not known yet and probes them concurrently.
+     * <p>
+     * Nodes which are neither gamepads nor belong to a gamepad by sysfs or by the cache
+     * are rejected without being opened, nodes in the cache are opened without ioctls.
+     *
+     * @param since nodes older than this (epoch nanoseconds) are skipped
+     * @param known paths already used by devices
+     * @param knownIdentities identities of attached devices, other nodes of them are candidates
+     */
+    List<Node> enumerate(long since, Set<String> known, Set<String> knownIdentities) {
+        List<String> existing = new ArrayList<>();
+        List<Path> paths = new ArrayList<>();
+        try (DirectoryStream<Path> ds = Files.newDirectoryStream(devInput, "event*")) {
+            for (Path path : ds) {
+                String fileName = path.toString();
+                if (!path.getFileName().toString().matches("event\\d+")) {
+                    continue;
+                }
+                existing.add(fileName);
+                if (known.contains(fileName)) {
+                    continue;
+                }
+                try {
+                    if (!retries.remove(fileName) && Files.getLastModifiedTime(path).to(TimeUnit.NANOSECONDS) < since) {
+                        continue;
+                    }
+                } catch (IOException e) {
+                    continue;
+                }
+                paths.add(path);
+            }
+        } catch (IOException e) {
+logger.log(Level.FINE, e.toString(), e);
+        }
+
+        pending.keySet().retainAll(existing);
+
+        // pre-filter by sysfs and the cache
+        Map<Path, SysfsFilter.Info> infos = new HashMap<>();
+        Map<Path, ProbeCache.Entry> entries = new HashMap<>();
+        Set<String> gamepads = new HashSet<>(knownIdentities);
+        for (Path path : paths) {
+            SysfsFilter.Info info = sysfsFilter != null ? sysfsFilter.read(path.getFileName().toString()) : null;
+            if (info != null) {
+                infos.put(path, info);
+                if (info.isGamepad() && info.getIdentity() != null) {
+                    gamepads.add(info.getIdentity());
+                }
+            }
+            ProbeCache.Entry entry = probeCache != null ? probeCache.get(path) : null;
+            if (entry != null) {
+                entries.put(path, entry);
+                if (entry.node != null && entry.node.gamepad && entry.node.getIdentity() != null) {
+                    gamepads.add(entry.node.getIdentity());
+                }
+            }
+        }
 
-                        device.axisStates = new float[device.numAxes];
-                        device.buttonStates = new boolean[device.numButtons];
+        int filtered = 0;
+        List<Probe> probes = new ArrayList<>();
+        for (Path path : paths) {
+            SysfsFilter.Info info = infos.get(path);
+            ProbeCache.Entry entry = entries.get(path);
+            if (info != null && (!info.hasInputs() || (!info.isGamepad() && !gamepads.contains(info.getIdentity())))) {
+                filtered++;
+                if (info.hasInputs()) {
+                    waitForPrimary(path, info.getIdentity());
+                }
+                continue;
+            }
+            if (entry != null && (entry.node == null || (!entry.node.gamepad && !gamepads.contains(entry.node.getIdentity())))) {
+                filtered++;
+                if (entry.node != null) {
+                    waitForPrimary(path, entry.node.getIdentity());
+                }
+                continue;
+            }
+            pending.remove(path.toString());
+            Probe probe = new Probe(path.toString(), entry != null ? entry.node : null);
+            if (pumpMode) {
+                FutureTask<Node> task = new FutureTask<>(probe::call);
+                task.run();
+                probe.future = task;
+            } else {
+                probe.future = probeEs.submit(probe::call);
+            }
+            probes.add(probe);
+        }
+        if (filtered > 0) {
+logger.fine("filtered without opening: " + filtered + "/" + paths.size());
+        }
 
-                        device.fireDeviceAttach();
+        List<Node> nodes = new ArrayList<>();
+        for (Probe probe : probes) {
+            Node node = probe.await();
+            if (probeCache != null && probe.cached == null && !probe.failed) {
+                probeCache.put(Paths.get(probe.path), node);
+            }
+            if (node != null) {
+                nodes.add(node);
+            }
+        }
+        if (probeCache != null) {
+            probeCache.retain(existing);
+            probeCache.save();
+        }
+        return nodes;
+    }
 
-                        device.inputEs.submit(new MyRunnable(device));
+    /**
+     * Enumerates a node rejected by the pre-filter again at the next scans, its primary node may come later.
+     *
+     * @param identity null for a node which does not belong to a physical device
+     */
+    private void waitForPrimary(Path path, String identity) {
+        if (identity == null) {
+            return;
+        }
+        String fileName = path.toString();
+        if (pending.merge(fileName, 1, Integer::sum) < orphanScans) {
+            retries.add(fileName);
+        } else {
+            pending.remove(fileName);
+        }
+    }
+
+    /**
+     * Reopens orphans whose primary node is attached or enumerated now,
+     * orphans which waited for {@link #orphanScans} scans are forgotten.
+     *
+     * @param nodes enumerated now
+     * @param knownIdentities identities of attached devices
+     */
+    private List<Node> adoptOrphans(List<Node> nodes, Set<String> knownIdentities) {
+        Set<String> identities = new HashSet<>(knownIdentities);
+        for (Node node : nodes) {
+            orphans.remove(node.path);
+            if (node.gamepad && node.getIdentity() != null) {
+                identities.add(node.getIdentity());
+            }
+        }
+        List<Node> adopted = new ArrayList<>();
+        for (Iterator<Orphan> i = orphans.values().iterator(); i.hasNext(); ) {
+            Orphan orphan = i.next();
+            if (identities.contains(orphan.node.getIdentity())) {
+                i.remove();
+                try {
+                    orphan.node.fd = prober.open(orphan.node.path);
+                    orphan.node.monotonic = prober.setMonotonicClock(orphan.node);
+                    adopted.add(orphan.node);
+                } catch (IOException e) {
+logger.fine("orphan gone: " + orphan.node.path);
+                }
+            } else if (++orphan.scans >= orphanScans) {
+                i.remove();
+            }
+        }
+        return adopted;
+    }
+
+    /** device detection thread */
+    private void detectDevices() {
+        if (!inited) {
+            return;
+        }
+
+        List<LinuxDevice> attached = new ArrayList<>();
+        Map<LinuxDevice, List<Node>> joined = new LinkedHashMap<>();
+
+        Set<String> known;
+        Set<String> knownIdentities;
+        synchronized (devices) {
+            known = devices.stream().flatMap(d -> d.nodes.stream()).map(n -> n.path).collect(Collectors.toSet());
+            knownIdentities = devices.stream().map(Device::getIdentity).filter(Objects::nonNull).collect(Collectors.toSet());
+        }
+        // file times are coarse (a jiffy), a node created just after this may be stamped before
+        long currentTime = (System.currentTimeMillis() - mtimeSlack) * 1_000_000L;
+        long t = System.nanoTime();
+        List<Node> nodes = enumerate(lastInputStatTime, known, knownIdentities);
+        nodes.addAll(adoptOrphans(nodes, knownIdentities));
+        if (!nodes.isEmpty()) {
+logger.fine("enumerated " + nodes.size() + " nodes in " + (System.nanoTime() - t) / 1_000_000 + " ms");
+        }
+
+        synchronized (devices) {
+
+            // gamepad nodes become devices, other nodes of the same physical device join them
+            nodes.sort(Comparator.comparing((Node n) -> !n.gamepad).thenComparing(n -> n.path));
+            for (Node node : nodes) {
+                String identity = node.getIdentity();
+                LinuxDevice device = null;
+                if (identity != null) {
+                    device = devices.stream().filter(d -> identity.equals(d.getIdentity())).findFirst().orElse(null);
+                }
+                if (device != null) {
+logger.fine("join " + node.path + " to " + device.nodes.get(0).path);
+                    device.join(node);
+                    if (!attached.contains(device)) {
+                        joined.computeIfAbsent(device, k -> new ArrayList<>()).add(node);
+                    }
+                } else if (node.gamepad) {
+                    device = new LinuxDevice(listeners, clock, prober);
+                    device.description = node.description;
+                    device.vendorID = node.vendorID;
+                    device.productID = node.productID;
+                    device.uniqueID = node.uniqueID;
+                    device.location = node.location;
+                    device.join(node);
+                    assignDeviceID(device);
+
+                    devices.add(device);
+                    deviceMap.put(device.deviceID, device);
+                    attached.add(device);
+                } else {
+                    prober.close(node);
+                    if (identity != null) {
+                        // the primary node may be enumerated later
+                        orphans.put(node.path, new Orphan(node));
                     }
                 }
-                LinuxIO.INSTANCE.closedir(dev_input);
             }
 
             lastInputStatTime = currentTime;
+            pumped = devices.toArray(LinuxDevice[]::new);
+        }
+
+        // listeners are called outside the lock, so that size()/get() are not blocked
+
+        // nodes joined to an attached device add buttons and axes after those in use
+        joined.forEach((device, added) -> {
+            added.forEach(node -> resync(device, node, false));
+            device.fireDeviceChange();
+            added.forEach(node -> startReading(device, node));
+        });
+
+        for (LinuxDevice device : attached) {
+            // initial states, e.g. a button held while plugging in or triggers at rest
+            device.nodes.forEach(node -> resync(device, node, false));
+            device.fireDeviceAttach();
+            for (Node node : device.nodes) {
+                startReading(device, node);
+            }
+        }
+    }
+
+    /** starts the reader thread of the node, or makes it non-blocking for pump mode */
+    private void startReading(LinuxDevice device, Node node) {
+        if (pumpMode) {
+            if (!prober.setNonBlocking(node)) {
+                logger.warning("cannot make non-blocking, ignored: " + node.path);
+                nodeGone(device, node);
+                closeNode(node);
+            }
+        } else {
+            synchronized (node) {
+                if (node.closed.get()) {
+                    return;
+                }
+                node.reading = true;
+            }
+            node.inputEs.submit(new MyRunnable(device, node));
         }
     }
 
@@ -339,4 +1258,4 @@ logger.warning("no such deviceId: " + deviceId);
     public boolean isSupported() {
         return PlatformUtil.isLinux();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.linux;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import net.java.games.input.linux.LinuxIO.input_absinfo;
+import org.gamepad4j.linux.LinuxGamepad.Node;
+
+import static net.java.games.input.linux.LinuxIO.BTN_MISC;
+
+
+/**
+ * On-disk cache of probed evdev node layouts, keyed by (path, device number, modification time).
+ * <p>
+ * A node with the same key has the same layout, so it is opened without ioctls,
+ * a node which was rejected is not opened at all.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+final class ProbeCache {
+
+    private static final Logger logger = Logger.getLogger(ProbeCache.class.getName());
+
+    /** */
+    private final Path file;
+
+    /** */
+    private final Properties properties = new Properties();
+
+    /** */
+    private boolean dirty;
+
+    /** @param file the cache file, created when {@link #save()} */
+    ProbeCache(Path file) {
+        this.file = file;
+        if (Files.exists(file)) {
+            try (InputStream is = Files.newInputStream(file)) {
+                properties.load(is);
+            } catch (IOException | IllegalArgumentException e) {
+                logger.log(Level.FINE, "broken cache, ignored: " + file, e);
+                properties.clear();
+            }
+        }
+    }
+
+    /** device number and mtime of the node */
+    static String keyOf(Path path) throws IOException {
+        Object rdev = Files.getAttribute(path, "unix:rdev");
+        long mtime = Files.getLastModifiedTime(path).to(TimeUnit.NANOSECONDS);
+        return rdev + ":" + mtime;
+    }
+
+    /** cache hit */
+    static final class Entry {
+        /** null if the node was rejected */
+        final Node node;
+
+        Entry(Node node) {
+            this.node = node;
+        }
+    }
+
+    /**
+     * @return null when not cached or the node has been changed, the node of the entry has no fd.
+     */
+    synchronized Entry get(Path path) {
+        String p = path.toString();
+        try {
+            if (!keyOf(path).equals(properties.getProperty(p + ".key"))) {
+                return null;
+            }
+        } catch (IOException | UnsupportedOperationException e) {
+            return null;
+        }
+        try {
+            if (Boolean.parseBoolean(properties.getProperty(p + ".rejected"))) {
+                return new Entry(null);
+            }
+            Node node = new Node();
+            node.path = p;
+            node.gamepad = Boolean.parseBoolean(properties.getProperty(p + ".gamepad"));
+            node.description = properties.getProperty(p + ".name", p);
+            node.vendorID = Integer.parseInt(properties.getProperty(p + ".vendor"), 16);
+            node.productID = Integer.parseInt(properties.getProperty(p + ".product"), 16);
+            node.uniqueID = properties.getProperty(p + ".uniq");
+            node.location = properties.getProperty(p + ".phys");
+
+            Arrays.fill(node.buttonMap, -1);
+            Arrays.fill(node.axisMap, -1);
+            for (String code : split(properties.getProperty(p + ".buttons"))) {
+                node.buttonMap[Integer.parseInt(code) - BTN_MISC] = node.numButtons++;
+            }
+            for (String axis : split(properties.getProperty(p + ".axes"))) {
+                String[] values = axis.split(":");
+                int code = Integer.parseInt(values[0]);
+                node.axisInfo[code] = new input_absinfo();
+                node.axisInfo[code].minimum = Integer.parseInt(values[1]);
+                node.axisInfo[code].maximum = Integer.parseInt(values[2]);
+                node.axisMap[code] = node.numAxes++;
+            }
+            return new Entry(node);
+        } catch (RuntimeException e) {
+            logger.log(Level.FINE, "broken entry, ignored: " + p, e);
+            return null;
+        }
+    }
+
+    /** */
+    private static List<String> split(String value) {
+        return value == null || value.isEmpty() ? List.of() : Arrays.asList(value.split(","));
+    }
+
+    /**
+     * Stores a probed node.
+     *
+     * @param node null if the node was rejected
+     */
+    synchronized void put(Path path, Node node) {
+        String p = path.toString();
+        remove(p);
+        try {
+            properties.setProperty(p + ".key", keyOf(path));
+        } catch (IOException | UnsupportedOperationException e) {
+            return;
+        }
+        dirty = true;
+        if (node == null) {
+            properties.setProperty(p + ".rejected", "true");
+            return;
+        }
+        properties.setProperty(p + ".gamepad", String.valueOf(node.gamepad));
+        properties.setProperty(p + ".name", node.description);
+        properties.setProperty(p + ".vendor", Integer.toHexString(node.vendorID));
+        properties.setProperty(p + ".product", Integer.toHexString(node.productID));
+        if (node.uniqueID != null) {
+            properties.setProperty(p + ".uniq", node.uniqueID);
+        }
+        if (node.location != null) {
+            properties.setProperty(p + ".phys", node.location);
+        }
+
+        // codes in index order
+        TreeMap<Integer, String> buttons = new TreeMap<>();
+        for (int i = 0; i < node.buttonMap.length; i++) {
+            if (node.buttonMap[i] != -1) {
+                buttons.put(node.buttonMap[i], String.valueOf(i + BTN_MISC));
+            }
+        }
+        TreeMap<Integer, String> axes = new TreeMap<>();
+        for (int code = 0; code < node.axisMap.length; code++) {
+            if (node.axisMap[code] != -1) {
+                axes.put(node.axisMap[code], code + ":" + node.axisInfo[code].minimum + ":" + node.axisInfo[code].maximum);
+            }
+        }
+        properties.setProperty(p + ".buttons", String.join(",", buttons.values()));
+        properties.setProperty(p + ".axes", String.join(",", axes.values()));
+    }
+
+    /** */
+    private void remove(String p) {
+        properties.stringPropertyNames().stream()
+                .filter(k -> k.startsWith(p + "."))
+                .forEach(k -> { properties.remove(k); dirty = true; });
+    }
+
+    /** Drops entries of nodes not in the list. */
+    synchronized void retain(Collection<String> paths) {
+        List<String> gone = new ArrayList<>();
+        for (String k : properties.stringPropertyNames()) {
+            if (k.endsWith(".key")) {
+                String p = k.substring(0, k.length() - ".key".length());
+                if (!paths.contains(p)) {
+                    gone.add(p);
+                }
+            }
+        }
+        gone.forEach(this::remove);
+    }
+
+    /** Writes the cache if it has been changed. */
+    synchronized void save() {
+        if (!dirty) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try (OutputStream os = Files.newOutputStream(temp)) {
+                properties.store(os, "gamepad4j evdev probe cache");
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+        } catch (IOException e) {
+            logger.log(Level.FINE, "cannot save: " + file, e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.linux;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.gamepad4j.desktop.Gamepad.Device;
+
+import static net.java.games.input.linux.NativeDefinitions.ABS_X;
+import static net.java.games.input.linux.NativeDefinitions.ABS_Y;
+import static net.java.games.input.linux.NativeDefinitions.BTN_1;
+import static net.java.games.input.linux.NativeDefinitions.BTN_A;
+import static net.java.games.input.linux.NativeDefinitions.BTN_TRIGGER;
+import static net.java.games.input.linux.NativeDefinitions.EV_ABS;
+import static net.java.games.input.linux.NativeDefinitions.EV_KEY;
+
+
+/**
+ * Reads capabilities of evdev nodes from sysfs, without opening the nodes.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ * @see "https://www.kernel.org/doc/Documentation/ABI/testing/sysfs-class-input"
+ */
+final class SysfsFilter {
+
+    private static final Logger logger = Logger.getLogger(SysfsFilter.class.getName());
+
+    /** capabilities of a node */
+    static class Info {
+        BitSet ev;
+        BitSet key;
+        BitSet abs;
+        int vendorID;
+        int productID;
+        String uniqueID;
+        String location;
+
+        /** same criteria as probing with ioctls */
+        boolean isGamepad() {
+            return ev.get(EV_KEY) && ev.get(EV_ABS) && abs.get(ABS_X) && abs.get(ABS_Y) &&
+                    (key.get(BTN_TRIGGER) || key.get(BTN_A) || key.get(BTN_1));
+        }
+
+        /** whether the node has anything a gamepad uses */
+        boolean hasInputs() {
+            return ev.get(EV_KEY) || ev.get(EV_ABS);
+        }
+
+        String getIdentity() {
+            return Device.getIdentity(vendorID, productID, uniqueID, location);
+        }
+    }
+
+    /** e.g. "/sys/class/input" */
+    private final Path sysClassInput;
+
+    /** */
+    SysfsFilter(Path sysClassInput) {
+        this.sysClassInput = sysClassInput;
+    }
+
+    /**
+     * @param eventName e.g. "event3"
+     * @return null if sysfs is not available for the node
+     */
+    Info read(String eventName) {
+        Path device = sysClassInput.resolve(eventName).resolve("device");
+        try {
+            Info info = new Info();
+            info.ev = readBitmap(device.resolve("capabilities/ev"));
+            info.key = readBitmap(device.resolve("capabilities/key"));
+            info.abs = readBitmap(device.resolve("capabilities/abs"));
+            info.vendorID = Integer.parseInt(readString(device.resolve("id/vendor")), 16);
+            info.productID = Integer.parseInt(readString(device.resolve("id/product")), 16);
+            info.uniqueID = Files.exists(device.resolve("uniq")) ? readString(device.resolve("uniq")) : null;
+            info.location = Files.exists(device.resolve("phys")) ? readString(device.resolve("phys")) : null;
+            return info;
+        } catch (IOException | RuntimeException e) {
+logger.log(Level.FINER, eventName + ": " + e, e);
+            return null;
+        }
+    }
+
+    /** */
+    private static String readString(Path path) throws IOException {
+        return Files.readString(path).trim();
+    }
+
+    /**
+     * Parses a capability bitmap, hex words of the kernel's long size separated by spaces,
+     * the most significant word first. Words except the first one are zero padded,
+     * so the word size (32 or 64 bit kernel) is taken from them.
+     */
+    static BitSet readBitmap(Path path) throws IOException {
+        return parseBitmap(readString(path));
+    }
+
+    /** @see #readBitmap(Path) */
+    static BitSet parseBitmap(String bitmap) {
+        String[] words = bitmap.isEmpty() ? new String[0] : bitmap.split("\\s+");
+        int bitsPerWord = words.length > 1 ? words[1].length() * 4 : Long.SIZE;
+        BitSet bits = new BitSet();
+        for (int i = 0; i < words.length; i++) {
+            long word = Long.parseUnsignedLong(words[words.length - 1 - i], 16);
+            for (int b = 0; b < bitsPerWord; b++) {
+                if ((word & (1L << b)) != 0) {
+                    bits.set(i * bitsPerWord + b);
+                }
+            }
+        }
+        return bits;
+    }
+}
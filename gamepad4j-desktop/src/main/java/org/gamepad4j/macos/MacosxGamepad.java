@@ -34,6 +34,7 @@ import com.sun.jna.Pointer;
 import com.sun.jna.Structure;
 import com.sun.jna.ptr.IntByReference;
 import org.gamepad4j.desktop.BaseGamepad;
+import org.gamepad4j.util.Clock;
 import org.gamepad4j.util.PlatformUtil;
 import vavix.rococoa.corefoundation.CFArray;
 import vavix.rococoa.corefoundation.CFDictionary;
@@ -148,8 +149,8 @@ logger.finest(context.id + ", " + map + "\n" + p.dump(0, 4));
 
     private static class MacosDevice extends Device {
 
-        MacosDevice(List<GamepadListener> listeners) {
-            super(listeners);
+        MacosDevice(List<GamepadListener> listeners, Clock clock) {
+            super(listeners, clock);
         }
 
         Pointer /* IOHIDDeviceRef */ deviceRef;
@@ -180,7 +181,6 @@ logger.finest(context.id + ", " + map + "\n" + p.dump(0, 4));
 
     private Pointer /* IOHIDManagerRef */ hidManager = null;
     private final List<MacosDevice> devices = new ArrayList<>();
-    private int nextDeviceID = 0;
 
     /** */
     private static Hat hatValueToXY(int value, int range) {
@@ -318,10 +318,10 @@ if (this_ == null) {
  return;
 }
 logger.finest("CHECKPOINT-4.S");
-        MacosDevice device = new MacosDevice(this_.listeners);
-        device.deviceID = this_.nextDeviceID++;
+        MacosDevice device = new MacosDevice(this_.listeners, this_.clock);
         device.vendorID = getIntProperty(deviceRef, CFSTR(kIOHIDVendorIDKey));
         device.productID = getIntProperty(deviceRef, CFSTR(kIOHIDProductIDKey));
+        this_.assignDeviceID(device);
         device.numAxes = 0;
         device.numButtons = 0;
 
@@ -395,6 +395,7 @@ logger.fine("onDeviceRemoved: " + deviceRef);
             MacosDevice device = deviceIndex.next();
             if (device.deviceRef == deviceRef) {
                 device.fireDeviceRemove();
+                this_.releaseDeviceID(device);
 
                 device.context = null;
 
@@ -508,7 +509,7 @@ logger.finer("i am a mac, bye");
     public Device get(int deviceId) {
         for (MacosDevice device : devices) {
             if (device.deviceID == deviceId) {
-                return devices.get(deviceId);
+                return device;
             }
         }
 logger.warning("no such deviceId: " + deviceId);
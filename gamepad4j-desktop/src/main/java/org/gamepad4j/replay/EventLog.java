@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.replay;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+
+/**
+ * Format of files written by {@link EventRecorder} and read by {@link ReplayGamepad}.
+ * <pre>
+ * file    := magic:int version:int record*
+ * record  := type:byte deviceID:short delta:varlong body
+ *   ATTACH: vendorID:int productID:int numButtons:short numAxes:short
+ *           description:string uniqueID:string location:string
+ *           buttonStates:byte[(numButtons + 7) / 8] axisStates:float[numAxes]
+ *   REMOVE: (none)
+ *   BUTTON_DOWN, BUTTON_UP: button:short
+ *   AXIS:   axis:short value:float
+ * string  := length:short utf8:byte[length], length -1 for null
+ * </pre>
+ * A recording whose recorder was not closed, e.g. the process crashed, keeps the zero padding
+ * of its last mapped region, a zero type ends the records.
+ * Numbers are big endian, delta is nanoseconds since the previous record, zigzag encoded
+ * as events of devices may come slightly out of order. An attach record carries the layout
+ * and the state of the device, so that a replay does not need the original hardware,
+ * another attach record of an attached device means that its layout grew.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+final class EventLog {
+
+    /** "G4JR" */
+    static final int MAGIC = 0x47344a52;
+
+    static final int VERSION = 1;
+
+    static final int HEADER_SIZE = Integer.BYTES * 2;
+
+    /** zero padding of a recording not closed */
+    static final byte END = 0;
+    static final byte ATTACH = 1;
+    static final byte REMOVE = 2;
+    static final byte BUTTON_DOWN = 3;
+    static final byte BUTTON_UP = 4;
+    static final byte AXIS = 5;
+
+    /** type, deviceID and the longest delta */
+    static final int RECORD_HEADER_MAX = 1 + Short.BYTES + 10;
+
+    private EventLog() {
+    }
+
+    /** Writes the signed number in 1 to 10 bytes. */
+    static void putVarLong(ByteBuffer buffer, long value) {
+        long v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7fL) != 0) {
+            buffer.put((byte) ((v & 0x7f) | 0x80));
+            v >>>= 7;
+        }
+        buffer.put((byte) v);
+    }
+
+    /** Reads a number written by {@link #putVarLong(ByteBuffer, long)}. */
+    static long getVarLong(ByteBuffer buffer) {
+        long v = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = buffer.get();
+            v |= (long) (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                break;
+            }
+        }
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /** Returns the size of the string written by {@link #putString(ByteBuffer, byte[])}. */
+    static int sizeOf(byte[] string) {
+        return Short.BYTES + (string == null ? 0 : string.length);
+    }
+
+    /** @return null for null, truncated to the maximum length */
+    static byte[] bytes(String string) {
+        if (string == null) {
+            return null;
+        }
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        return bytes.length <= Short.MAX_VALUE ? bytes : Arrays.copyOf(bytes, Short.MAX_VALUE);
+    }
+
+    /** */
+    static void putString(ByteBuffer buffer, byte[] string) {
+        if (string == null) {
+            buffer.putShort((short) -1);
+        } else {
+            buffer.putShort((short) string.length);
+            buffer.put(string);
+        }
+    }
+
+    /** */
+    static String getString(ByteBuffer buffer) {
+        int length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
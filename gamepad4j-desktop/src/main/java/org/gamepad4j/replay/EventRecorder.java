@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Logger;
+
+import org.gamepad4j.desktop.Gamepad.Device;
+import org.gamepad4j.desktop.Gamepad.GamepadListener;
+
+import static org.gamepad4j.replay.EventLog.ATTACH;
+import static org.gamepad4j.replay.EventLog.AXIS;
+import static org.gamepad4j.replay.EventLog.BUTTON_DOWN;
+import static org.gamepad4j.replay.EventLog.BUTTON_UP;
+import static org.gamepad4j.replay.EventLog.RECORD_HEADER_MAX;
+import static org.gamepad4j.replay.EventLog.REMOVE;
+
+
+/**
+ * Records raw events of a {@link org.gamepad4j.desktop.Gamepad} into a file,
+ * to be replayed by {@link ReplayGamepad}, e.g. to reproduce a bug report.
+ * <pre>
+ * EventRecorder recorder = new EventRecorder(Path.of("trace.g4j"));
+ * gamepad.addGamepadListener(recorder); // before open() to record attached devices
+ * </pre>
+ * The file is appended through memory mapped regions, recording costs a few stores per event
+ * on the firing thread and no system call but when a region is full or every few thousand records
+ * forced to the file. A recording not closed, e.g. the process crashed, still replays to the last
+ * forced record at least.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ * @see EventLog
+ */
+public final class EventRecorder implements GamepadListener, Closeable {
+
+    private static final Logger logger = Logger.getLogger(EventRecorder.class.getName());
+
+    /** size of a mapped region */
+    private static final int REGION_SIZE = 1 << 20;
+
+    /** records between forcing the current region */
+    private static final int FORCE_RECORDS = 4096;
+
+    private final FileChannel channel;
+
+    /** the current region */
+    private MappedByteBuffer buffer;
+
+    /** file position of the current region */
+    private long base;
+
+    /** timestamp of the previous record, the first timestamp for the first one */
+    private long last = Long.MIN_VALUE;
+
+    private long count;
+
+    private boolean closed;
+
+    /** Creates or truncates the file. */
+    public EventRecorder(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, REGION_SIZE);
+        buffer.putInt(EventLog.MAGIC);
+        buffer.putInt(EventLog.VERSION);
+    }
+
+    /** Maps the next region if the current one has no room for the size. */
+    private void ensure(int size) {
+        if (buffer.remaining() >= size) {
+            return;
+        }
+        try {
+            buffer.force();
+            base += buffer.position();
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, base, Math.max(REGION_SIZE, size));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Writes the record header, the caller ensures the room. */
+    private void header(byte type, Device device, double timestamp) {
+        long ts = (long) timestamp;
+        if (last == Long.MIN_VALUE) {
+            last = ts;
+        }
+        buffer.put(type);
+        buffer.putShort((short) device.deviceID);
+        EventLog.putVarLong(buffer, ts - last);
+        last = ts;
+        if (++count % FORCE_RECORDS == 0) {
+            buffer.force();
+        }
+    }
+
+    @Override
+    public synchronized void deviceAttach(Device device) {
+        if (closed) {
+            return;
+        }
+        byte[] description = EventLog.bytes(device.description);
+        byte[] uniqueID = EventLog.bytes(device.uniqueID);
+        byte[] location = EventLog.bytes(device.location);
+        int size = RECORD_HEADER_MAX + Integer.BYTES * 2 + Short.BYTES * 2
+                + EventLog.sizeOf(description) + EventLog.sizeOf(uniqueID) + EventLog.sizeOf(location)
+                + (device.numButtons + 7) / 8 + Float.BYTES * device.numAxes;
+        ensure(size);
+        header(ATTACH, device, device.getClock().nanoTime());
+        buffer.putInt(device.vendorID);
+        buffer.putInt(device.productID);
+        buffer.putShort((short) device.numButtons);
+        buffer.putShort((short) device.numAxes);
+        EventLog.putString(buffer, description);
+        EventLog.putString(buffer, uniqueID);
+        EventLog.putString(buffer, location);
+        for (int i = 0; i < device.numButtons; i += 8) {
+            int bits = 0;
+            for (int j = 0; j < 8 && i + j < device.numButtons; j++) {
+                if (device.buttonStates != null && device.buttonStates[i + j]) {
+                    bits |= 1 << j;
+                }
+            }
+            buffer.put((byte) bits);
+        }
+        for (int i = 0; i < device.numAxes; i++) {
+            buffer.putFloat(device.axisStates != null ? device.axisStates[i] : 0);
+        }
+    }
+
+    /** recorded as an attach record of the attached device */
+    @Override
+    public void deviceChange(Device device) {
+        deviceAttach(device);
+    }
+
+    @Override
+    public synchronized void deviceRemove(Device device) {
+        if (closed) {
+            return;
+        }
+        ensure(RECORD_HEADER_MAX);
+        header(REMOVE, device, device.getClock().nanoTime());
+    }
+
+    @Override
+    public synchronized void buttonDown(Device device, int buttonID, double timestamp) {
+        if (closed) {
+            return;
+        }
+        ensure(RECORD_HEADER_MAX + Short.BYTES);
+        header(BUTTON_DOWN, device, timestamp);
+        buffer.putShort((short) buttonID);
+    }
+
+    @Override
+    public synchronized void buttonUp(Device device, int buttonID, double timestamp) {
+        if (closed) {
+            return;
+        }
+        ensure(RECORD_HEADER_MAX + Short.BYTES);
+        header(BUTTON_UP, device, timestamp);
+        buffer.putShort((short) buttonID);
+    }
+
+    @Override
+    public synchronized void axisMove(Device device, int axisID, float value, double timestamp) {
+        if (closed) {
+            return;
+        }
+        ensure(RECORD_HEADER_MAX + Short.BYTES + Float.BYTES);
+        header(AXIS, device, timestamp);
+        buffer.putShort((short) axisID);
+        buffer.putFloat(value);
+    }
+
+    /** Returns the number of recorded events. */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /** Flushes and cuts the file to the recorded size. */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        long size = base + buffer.position();
+        buffer.force();
+        channel.truncate(size);
+        channel.close();
+logger.fine("recorded: " + count + " events, " + size + " bytes");
+    }
+}
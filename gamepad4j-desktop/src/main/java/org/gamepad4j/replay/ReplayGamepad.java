@@ -0,0 +1,356 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.replay;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import org.gamepad4j.desktop.BaseGamepad;
+import org.gamepad4j.desktop.Gamepad;
+import org.gamepad4j.util.Clock;
+
+import static org.gamepad4j.replay.EventLog.ATTACH;
+import static org.gamepad4j.replay.EventLog.AXIS;
+import static org.gamepad4j.replay.EventLog.BUTTON_DOWN;
+import static org.gamepad4j.replay.EventLog.BUTTON_UP;
+import static org.gamepad4j.replay.EventLog.END;
+import static org.gamepad4j.replay.EventLog.REMOVE;
+
+
+/**
+ * Replays a file written by {@link EventRecorder} as devices, through
+ * {@link org.gamepad4j.desktop.DesktopController} and its mapping as real input.
+ * <p>
+ * Selected with the system property {@code org.gamepad4j.desktop.Gamepad=org.gamepad4j.replay.ReplayGamepad},
+ * configured by system properties prefixed with this class name:
+ * <dl>
+ * <dt>{@code .file}</dt><dd>the recorded file</dd>
+ * <dt>{@code .speed}</dt><dd>1 (default) at the original timing, 2 twice as fast, 0 as fast as possible</dd>
+ * </dl>
+ * The replay starts once a listener is added. Timestamps of events keep the recorded intervals
+ * from the start of the replay regardless of the speed, so that time dependent logic gives
+ * the same results. Devices attached at the end of the file stay attached.
+ * <p>
+ * Time is told by the {@link #setClock(Clock) clock}. With a {@link org.gamepad4j.util.VirtualClock}
+ * which advances by itself, a replay at the original timing runs as fast as possible while
+ * timing features driven by the same clock see the original time.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+public class ReplayGamepad extends BaseGamepad {
+
+    private static final Logger logger = Logger.getLogger(ReplayGamepad.class.getName());
+
+    private static final String prefix = ReplayGamepad.class.getName();
+
+    /** events replayed at most in one pump as fast as possible, not to hold the caller */
+    private static final int MAX_BATCH = 4096;
+
+    /** A replayed device. */
+    static class ReplayDevice extends Device {
+
+        ReplayDevice(List<GamepadListener> listeners, Clock clock) {
+            super(listeners, clock);
+        }
+
+        @Override
+        public void write(byte[] data, int length, int reportId) {
+        }
+    }
+
+    private final Path file;
+
+    /** the whole file, mapped when opened */
+    private ByteBuffer log;
+
+    /** 0 for as fast as possible */
+    private final double speed;
+
+    /** recorded deviceID / replayed device */
+    private final Map<Integer, ReplayDevice> recorded = new ConcurrentHashMap<>();
+
+    /** deviceID / replayed device */
+    private final Map<Integer, ReplayDevice> deviceMap = new ConcurrentHashMap<>();
+
+    private final LongAdder replayed = new LongAdder();
+
+    private boolean pumpMode;
+
+    private volatile boolean inited;
+
+    private volatile boolean finished;
+
+    /** whether a listener has been added */
+    private boolean started;
+
+    /** when the replay started */
+    private long start;
+
+    /** recorded time of the last replayed record from the first one */
+    private long time;
+
+    /** when the next record is due, in the time base of the clock */
+    private long due;
+
+    private Thread thread;
+
+    /** configured by system properties */
+    public ReplayGamepad() {
+        this(Paths.get(System.getProperty(prefix + ".file", "gamepad4j.g4j")),
+                Double.parseDouble(System.getProperty(prefix + ".speed", "1")));
+    }
+
+    /**
+     * @param file read when opened
+     * @param speed 1 at the original timing, 0 as fast as possible
+     */
+    public ReplayGamepad(Path file, double speed) {
+        if (speed < 0) {
+            throw new IllegalArgumentException("speed: " + speed);
+        }
+        this.file = file;
+        this.speed = speed;
+    }
+
+    /** Maps the file and checks the header. */
+    private void load() throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("too large: " + file);
+            }
+            log = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (log.remaining() < EventLog.HEADER_SIZE || log.getInt() != EventLog.MAGIC) {
+            throw new IOException("not a recorded file: " + file);
+        }
+        int version = log.getInt();
+        if (version != EventLog.VERSION) {
+            throw new IOException("unsupported version: " + version);
+        }
+    }
+
+    @Override
+    public void setPumpMode(boolean pump) {
+        if (inited) {
+            throw new IllegalStateException("already opened");
+        }
+        this.pumpMode = pump;
+    }
+
+    /**
+     * @throws UncheckedIOException the file cannot be read or is not a recorded file
+     */
+    @Override
+    public void open() {
+        if (inited) {
+            return;
+        }
+        try {
+            load();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        inited = true;
+        if (!pumpMode) {
+            thread = new Thread(this::run, "gamepad4j-replay");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Override
+    public void close() {
+        inited = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+        recorded.clear();
+        deviceMap.clear();
+    }
+
+    /** the replay thread */
+    private void run() {
+        try {
+            while (inited && !finished && !Thread.currentThread().isInterrupted()) {
+                step(Integer.MAX_VALUE);
+                if (started) {
+                    clock.sleepUntil(due);
+                } else {
+                    // waits for a listener in real time
+                    Thread.sleep(1);
+                }
+            }
+        } catch (InterruptedException e) {
+logger.fine("interrupted");
+        }
+    }
+
+    /**
+     * Replays records due by now.
+     *
+     * @param max maximum number of records replayed as fast as possible
+     * @return number of replayed records
+     */
+    private int step(int max) {
+        if (!started) {
+            if (listeners.isEmpty()) {
+                return 0;
+            }
+            started = true;
+            start = clock.nanoTime();
+        }
+        int events = 0;
+        while (log.hasRemaining() && (speed != 0 || events < max)) {
+            int mark = log.position();
+            byte type = log.get();
+            if (type == END) {
+                // the rest is padding
+                log.position(log.limit());
+                break;
+            }
+            int deviceID = log.getShort() & 0xffff;
+            long next = time + EventLog.getVarLong(log);
+            if (speed != 0 && start + (long) (next / speed) - clock.nanoTime() > 0) {
+                due = start + (long) (next / speed);
+                log.position(mark);
+                break;
+            }
+            time = next;
+            replay(type, deviceID, start + time);
+            events++;
+        }
+        if (!log.hasRemaining() && !finished) {
+            finished = true;
+logger.fine("replayed: " + replayed.sum() + " events");
+        }
+        replayed.add(events);
+        return events;
+    }
+
+    /** Replays the body of a record. */
+    private void replay(byte type, int recordedID, long timestamp) {
+        switch (type) {
+        case ATTACH -> {
+            ReplayDevice known = recorded.get(recordedID);
+            ReplayDevice device = known != null ? known : new ReplayDevice(listeners, clock);
+            device.vendorID = log.getInt();
+            device.productID = log.getInt();
+            device.numButtons = log.getShort();
+            device.numAxes = log.getShort();
+            device.description = EventLog.getString(log);
+            device.uniqueID = EventLog.getString(log);
+            device.location = EventLog.getString(log);
+            device.buttonStates = new boolean[device.numButtons];
+            for (int i = 0; i < device.numButtons; i += 8) {
+                int bits = log.get();
+                for (int j = 0; j < 8 && i + j < device.numButtons; j++) {
+                    device.buttonStates[i + j] = (bits & (1 << j)) != 0;
+                }
+            }
+            device.axisStates = new float[device.numAxes];
+            for (int i = 0; i < device.numAxes; i++) {
+                device.axisStates[i] = log.getFloat();
+            }
+            if (known != null) {
+                device.fireDeviceChange();
+                return;
+            }
+            assignDeviceID(device);
+            recorded.put(recordedID, device);
+            deviceMap.put(device.deviceID, device);
+            device.fireDeviceAttach();
+        }
+        case REMOVE -> {
+            ReplayDevice device = recorded.remove(recordedID);
+            if (device != null) {
+                deviceMap.remove(device.deviceID);
+                device.fireDeviceRemove();
+                releaseDeviceID(device);
+            }
+        }
+        case BUTTON_DOWN, BUTTON_UP -> {
+            int button = log.getShort() & 0xffff;
+            ReplayDevice device = recorded.get(recordedID);
+            if (device != null && button < device.numButtons) {
+                device.buttonStates[button] = type == BUTTON_DOWN;
+                if (type == BUTTON_DOWN) {
+                    device.fireButtonDown(button, timestamp);
+                } else {
+                    device.fireButtonUp(button, timestamp);
+                }
+            }
+        }
+        case AXIS -> {
+            int axis = log.getShort() & 0xffff;
+            float value = log.getFloat();
+            ReplayDevice device = recorded.get(recordedID);
+            if (device != null && axis < device.numAxes) {
+                device.axisStates[axis] = value;
+                device.fireAxisMove(axis, value, timestamp);
+            }
+        }
+        default -> throw new UncheckedIOException(new IOException("broken record: " + type + " at " + log.position()));
+        }
+    }
+
+    /**
+     * Replays records due by now on the caller's thread, in pump mode.
+     * As fast as possible, a pump replays a batch of records.
+     *
+     * @return number of replayed records
+     * @throws IllegalStateException not in pump mode or not opened
+     */
+    @Override
+    public int pump() {
+        if (!pumpMode || !inited) {
+            throw new IllegalStateException("not in pump mode");
+        }
+        return step(MAX_BATCH);
+    }
+
+    /** Returns whether all records have been replayed. */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /** Returns the number of replayed records. */
+    public long getReplayedCount() {
+        return replayed.sum();
+    }
+
+    @Override
+    public int size() {
+        return deviceMap.size();
+    }
+
+    @Override
+    public Device get(int deviceID) {
+        ReplayDevice device = deviceMap.get(deviceID);
+        if (device == null) {
+logger.warning("no such deviceId: " + deviceID);
+        }
+        return device;
+    }
+
+    /** Supported only when selected by the system property {@code org.gamepad4j.desktop.Gamepad}. */
+    @Override
+    public boolean isSupported() {
+        return ReplayGamepad.class.getName().equals(System.getProperty(Gamepad.class.getName()));
+    }
+}
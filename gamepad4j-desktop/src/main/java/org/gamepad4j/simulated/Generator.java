@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.simulated;
+
+import java.util.Random;
+
+import org.gamepad4j.simulated.SimulatedGamepad.SimulatedDevice;
+
+
+/**
+ * Makes input of a simulated device, a script of a load test.
+ * <pre>
+ * // the left stick circles, 1000 steps a turn
+ * Generator circle = (device, random, timestamp) -&gt; {
+ *     double angle = timestamp / 1_000_000 % 1000 * Math.PI / 500;
+ *     device.move(0, (float) Math.cos(angle), timestamp);
+ *     device.move(1, (float) Math.sin(angle), timestamp);
+ * };
+ * </pre>
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ * @see SimulatedGamepad
+ */
+@FunctionalInterface
+public interface Generator {
+
+    /**
+     * Makes input of the device, called at the rate of the simulation.
+     *
+     * @param device call {@link SimulatedDevice#press(int, boolean, long)} or
+     *               {@link SimulatedDevice#move(int, float, long)} with the timestamp
+     * @param random the random source of the device, seeded for reproducible runs
+     * @param timestamp when the input happens, in {@link System#nanoTime()} time base
+     */
+    void next(SimulatedDevice device, Random random, long timestamp);
+
+    /** Moves a random stick or trigger axis by up to the step. */
+    static Generator randomWalk(float step) {
+        return (device, random, timestamp) -> {
+            int[] axes = device.axes;
+            if (axes.length == 0) {
+                return;
+            }
+            int axis = axes[random.nextInt(axes.length)];
+            float value = device.axisStates[axis] + (random.nextFloat() * 2 - 1) * step;
+            device.move(axis, Math.max(-1f, Math.min(1f, value)), timestamp);
+        };
+    }
+
+    /** Toggles a random button. */
+    static Generator buttonMash() {
+        return (device, random, timestamp) -> {
+            int[] buttons = device.buttons;
+            if (buttons.length == 0) {
+                return;
+            }
+            int button = buttons[random.nextInt(buttons.length)];
+            device.press(button, !device.buttonStates[button], timestamp);
+        };
+    }
+
+    /**
+     * Mashes buttons for the ratio of input, walks axes for the rest.
+     *
+     * @param buttonRatio between 0 and 1
+     */
+    static Generator mixed(float buttonRatio, float step) {
+        Generator mash = buttonMash();
+        Generator walk = randomWalk(step);
+        return (device, random, timestamp) -> {
+            if (random.nextFloat() < buttonRatio) {
+                mash.next(device, random, timestamp);
+            } else {
+                walk.next(device, random, timestamp);
+            }
+        };
+    }
+
+    /** Returns a generator by name: "walk", "mash" or "mixed". */
+    static Generator of(String name) {
+        return switch (name) {
+            case "walk" -> randomWalk(0.1f);
+            case "mash" -> buttonMash();
+            case "mixed" -> mixed(0.1f, 0.1f);
+            default -> throw new IllegalArgumentException("unknown generator: " + name);
+        };
+    }
+}
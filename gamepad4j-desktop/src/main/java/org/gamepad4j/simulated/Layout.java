@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.simulated;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.gamepad4j.util.PlatformUtil;
+
+
+/**
+ * Layouts of simulated devices, matching the shipped mappings.
+ * <p>
+ * Button and axis indexes are taken from the mapping of the platform, so simulated
+ * input is mapped by {@link org.gamepad4j.desktop.Mapping} as real input is.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+public enum Layout {
+
+    XBOX360(0x45e, 0x28e, "Microsoft X-Box 360 pad"),
+    DS3(0x54c, 0x268, "Sony PLAYSTATION(R)3 Controller"),
+    DS4(0x54c, 0x5c4, "Sony Computer Entertainment Wireless Controller");
+
+    private static final Logger logger = Logger.getLogger(Layout.class.getName());
+
+    public final int vendorID;
+
+    public final int productID;
+
+    public final String description;
+
+    /** mapped button indexes */
+    private int[] buttons;
+
+    /** mapped stick axis indexes */
+    private int[] sticks;
+
+    /** mapped trigger and d-pad axis indexes */
+    private int[] triggers;
+
+    private int numButtons;
+
+    private int numAxes;
+
+    Layout(int vendorID, int productID, String description) {
+        this.vendorID = vendorID;
+        this.productID = productID;
+        this.description = description;
+    }
+
+    /** Reads the mapping of the platform, a generic layout if not found. */
+    private synchronized void load() {
+        if (buttons != null) {
+            return;
+        }
+        TreeSet<Integer> buttons = new TreeSet<>();
+        TreeSet<Integer> sticks = new TreeSet<>();
+        TreeSet<Integer> triggers = new TreeSet<>();
+        String name = String.format("/mappings/%s/0x%X-0x%X-gamepad4j-mapping.properties", PlatformUtil.getPlatform(), vendorID, productID);
+        try (InputStream is = Layout.class.getResourceAsStream(name)) {
+            if (is != null) {
+                Properties props = new Properties();
+                props.load(is);
+                for (String key : props.stringPropertyNames()) {
+                    int index;
+                    try {
+                        index = Integer.parseInt(props.getProperty(key).trim());
+                    } catch (NumberFormatException e) {
+                        continue; // aliases
+                    }
+                    if (key.startsWith("button.")) {
+                        buttons.add(index);
+                    } else if (key.startsWith("stick.")) {
+                        sticks.add(index);
+                    } else if (key.startsWith("trigger.") || key.startsWith("dpad.")) {
+                        triggers.add(index);
+                    }
+                }
+            } else {
+logger.fine("no mapping, generic layout: " + name);
+            }
+        } catch (IOException e) {
+            logger.log(Level.FINER, e.toString(), e);
+        }
+        if (buttons.isEmpty()) {
+            for (int i = 0; i < 12; i++) {
+                buttons.add(i);
+            }
+            sticks.addAll(Arrays.asList(0, 1, 3, 4));
+            triggers.addAll(Arrays.asList(2, 5));
+        }
+        triggers.removeAll(sticks);
+        this.numButtons = buttons.last() + 1;
+        int maxAxis = Math.max(sticks.isEmpty() ? -1 : sticks.last(), triggers.isEmpty() ? -1 : triggers.last());
+        this.numAxes = maxAxis + 1;
+        this.sticks = sticks.stream().mapToInt(Integer::intValue).toArray();
+        this.triggers = triggers.stream().mapToInt(Integer::intValue).toArray();
+        this.buttons = buttons.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /** Returns the number of buttons of a device. */
+    public int getNumButtons() {
+        load();
+        return numButtons;
+    }
+
+    /** Returns the number of axes of a device. */
+    public int getNumAxes() {
+        load();
+        return numAxes;
+    }
+
+    /** Returns indexes of mapped buttons. */
+    public int[] getButtons() {
+        load();
+        return buttons.clone();
+    }
+
+    /** Returns indexes of stick axes. */
+    public int[] getSticks() {
+        load();
+        return sticks.clone();
+    }
+
+    /** Returns indexes of trigger and d-pad axes. */
+    public int[] getTriggers() {
+        load();
+        return triggers.clone();
+    }
+}
@@ -0,0 +1,399 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.simulated;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+
+import org.gamepad4j.desktop.BaseGamepad;
+import org.gamepad4j.desktop.Gamepad;
+import org.gamepad4j.util.Clock;
+
+
+/**
+ * Virtual devices driven by a {@link Generator}, to load test headless without hardware.
+ * Input goes through {@link org.gamepad4j.desktop.DesktopController} and its mapping as real input does.
+ * <p>
+ * Selected with the system property {@code org.gamepad4j.desktop.Gamepad=org.gamepad4j.simulated.SimulatedGamepad},
+ * configured by system properties prefixed with this class name:
+ * <dl>
+ * <dt>{@code .devices}</dt><dd>layouts and numbers of devices, e.g. {@code XBOX360*4,DS4*2}, default {@code XBOX360}</dd>
+ * <dt>{@code .rate}</dt><dd>input events per second of each device, default 1000</dd>
+ * <dt>{@code .generator}</dt><dd>{@code walk}, {@code mash} or {@code mixed} (default), see {@link Generator#of(String)}</dd>
+ * <dt>{@code .hotplug}</dt><dd>attaches or removes a random device this many times per second, default 0</dd>
+ * <dt>{@code .seed}</dt><dd>seed of the random source, default 0</dd>
+ * </dl>
+ * Devices are attached when the simulation starts, once a listener is added.
+ * Input is timed by the schedule, a simulation which fell behind catches up in bursts.
+ * Input of each device is reproducible by the seed, interleaving of devices is not.
+ * Time is told by the {@link #setClock(org.gamepad4j.util.Clock) clock}, with a
+ * {@link org.gamepad4j.util.VirtualClock} a simulation runs faster than real time.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+public class SimulatedGamepad extends BaseGamepad {
+
+    private static final Logger logger = Logger.getLogger(SimulatedGamepad.class.getName());
+
+    private static final String prefix = SimulatedGamepad.class.getName();
+
+    /** events made at most for a device in one step, not to spiral when falling behind */
+    private static final int MAX_BURST = 1024;
+
+    /** A virtual device. */
+    public static class SimulatedDevice extends Device {
+
+        /** the slot in {@link #slots} */
+        final int slot;
+
+        final Layout layout;
+
+        /** mapped buttons */
+        final int[] buttons;
+
+        /** mapped axes not masked */
+        int[] axes;
+
+        /** when the next input is made */
+        long next;
+
+        /** the random source of input of this device */
+        final Random random;
+
+        volatile boolean removed;
+
+        SimulatedDevice(List<GamepadListener> listeners, Clock clock, int slot, Layout layout, long seed) {
+            super(listeners, clock);
+            this.random = new Random(seed);
+            this.slot = slot;
+            this.layout = layout;
+            this.description = layout.description + " (simulated)";
+            this.vendorID = layout.vendorID;
+            this.productID = layout.productID;
+            this.uniqueID = "simulated-" + slot;
+            this.numButtons = layout.getNumButtons();
+            this.numAxes = layout.getNumAxes();
+            this.buttonStates = new boolean[numButtons];
+            this.axisStates = new float[numAxes];
+            this.buttons = layout.getButtons();
+            this.axes = IntStream.concat(IntStream.of(layout.getSticks()), IntStream.of(layout.getTriggers())).toArray();
+        }
+
+        /** Returns the layout. */
+        public Layout getLayout() {
+            return layout;
+        }
+
+        /** Returns indexes of mapped buttons. */
+        public int[] getButtons() {
+            return buttons.clone();
+        }
+
+        /** Returns indexes of mapped axes in use. */
+        public int[] getAxes() {
+            return axes.clone();
+        }
+
+        /** Presses or releases the button, fires only when changed. */
+        public void press(int button, boolean down, long timestamp) {
+            if (buttonStates[button] != down) {
+                buttonStates[button] = down;
+                if (down) {
+                    fireButtonDown(button, timestamp);
+                } else {
+                    fireButtonUp(button, timestamp);
+                }
+            }
+        }
+
+        /** Moves the axis, fires only when changed. */
+        public void move(int axis, float value, long timestamp) {
+            if (axisStates[axis] != value) {
+                axisStates[axis] = value;
+                fireAxisMove(axis, value, timestamp);
+            }
+        }
+
+        /** Masked axes are not moved by generators. */
+        @Override
+        public void setEventMask(boolean[] buttons, boolean[] axes) {
+            int[] mapped = IntStream.concat(IntStream.of(layout.getSticks()), IntStream.of(layout.getTriggers())).toArray();
+            this.axes = IntStream.of(mapped).filter(i -> i >= axes.length || axes[i]).toArray();
+        }
+
+        @Override
+        public void write(byte[] data, int length, int reportId) {
+        }
+    }
+
+    /** layouts of the devices, a device is attached to each slot */
+    private final Layout[] slots;
+
+    /** interval of input of each device in nanoseconds */
+    private final long interval;
+
+    private final Generator generator;
+
+    /** interval of attaching or removing a device in nanoseconds, 0 for none */
+    private final long hotplugInterval;
+
+    /** the random source of hotplug */
+    private final Random random;
+
+    private final long seed;
+
+    /** number of attaches of each slot, for seeds of devices */
+    private final int[] incarnations;
+
+    /** slot / attached device */
+    private final Map<Integer, SimulatedDevice> attached = new ConcurrentHashMap<>();
+
+    /** deviceID / attached device */
+    private final Map<Integer, SimulatedDevice> deviceMap = new ConcurrentHashMap<>();
+
+    /** attached devices for the simulation, replaced on attach and removal */
+    private volatile SimulatedDevice[] devices = new SimulatedDevice[0];
+
+    /** number of generated input */
+    private final LongAdder generated = new LongAdder();
+
+    private boolean pumpMode;
+
+    private volatile boolean inited;
+
+    private boolean started;
+
+    /** when a device is attached or removed next */
+    private long nextHotplug;
+
+    private Thread thread;
+
+    /** configured by system properties */
+    public SimulatedGamepad() {
+        this(parseDevices(System.getProperty(prefix + ".devices", "XBOX360")),
+                Double.parseDouble(System.getProperty(prefix + ".rate", "1000")),
+                Generator.of(System.getProperty(prefix + ".generator", "mixed")),
+                Double.parseDouble(System.getProperty(prefix + ".hotplug", "0")),
+                Long.getLong(prefix + ".seed", 0));
+    }
+
+    /**
+     * @param layouts layouts of devices
+     * @param rate input events per second of each device
+     * @param hotplugRate attaches or removes a random device this many times per second, 0 for never
+     * @param seed seed of the random source
+     */
+    public SimulatedGamepad(List<Layout> layouts, double rate, Generator generator, double hotplugRate, long seed) {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("rate: " + rate);
+        }
+        this.slots = layouts.toArray(Layout[]::new);
+        this.interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+        this.generator = generator;
+        this.hotplugInterval = hotplugRate > 0 ? Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / hotplugRate)) : 0;
+        this.random = new Random(seed);
+        this.seed = seed;
+        this.incarnations = new int[slots.length];
+    }
+
+    /** @param spec e.g. "XBOX360*4,DS4*2" */
+    static List<Layout> parseDevices(String spec) {
+        List<Layout> layouts = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            entry = entry.trim();
+            if (entry.isEmpty()) {
+                continue;
+            }
+            int p = entry.indexOf('*');
+            Layout layout = Layout.valueOf(p < 0 ? entry : entry.substring(0, p).trim());
+            int n = p < 0 ? 1 : Integer.parseInt(entry.substring(p + 1).trim());
+            for (int i = 0; i < n; i++) {
+                layouts.add(layout);
+            }
+        }
+        return layouts;
+    }
+
+    @Override
+    public void setPumpMode(boolean pump) {
+        if (inited) {
+            throw new IllegalStateException("already opened");
+        }
+        this.pumpMode = pump;
+    }
+
+    @Override
+    public void open() {
+        if (inited) {
+            return;
+        }
+        inited = true;
+        if (!pumpMode) {
+            thread = new Thread(this::run, "gamepad4j-simulated");
+            thread.setDaemon(true);
+            thread.start();
+        }
+logger.fine("initialized: " + slots.length + " devices, interval: " + interval + "ns");
+    }
+
+    @Override
+    public void close() {
+        inited = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+        attached.clear();
+        deviceMap.clear();
+        devices = new SimulatedDevice[0];
+    }
+
+    /** the simulation thread */
+    private void run() {
+        try {
+            while (inited && !Thread.currentThread().isInterrupted()) {
+                step(clock.nanoTime());
+                if (started) {
+                    clock.sleepUntil(nextDeadline());
+                } else {
+                    // waits for a listener in real time
+                    Thread.sleep(1);
+                }
+            }
+        } catch (InterruptedException e) {
+logger.fine("interrupted");
+        }
+    }
+
+    /** Returns when input is made next. */
+    private long nextDeadline() {
+        long next = hotplugInterval > 0 ? nextHotplug : Long.MAX_VALUE;
+        for (SimulatedDevice device : devices) {
+            next = Math.min(next, device.next);
+        }
+        return next == Long.MAX_VALUE ? clock.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10) : next;
+    }
+
+    /**
+     * Makes input due by the time.
+     *
+     * @return number of input events made
+     */
+    private int step(long now) {
+        if (!started) {
+            if (listeners.isEmpty()) {
+                return 0;
+            }
+            started = true;
+            for (int slot = 0; slot < slots.length; slot++) {
+                attach(slot, now);
+            }
+            nextHotplug = now + hotplugInterval;
+        }
+
+        // in order of the schedule, so that hotplug and input of devices do not depend on timing
+        int events = 0;
+        while (true) {
+            boolean hotplug = hotplugInterval > 0 && nextHotplug <= now && slots.length > 0;
+            long until = hotplug ? nextHotplug - 1 : now;
+            for (SimulatedDevice device : devices) {
+                int burst = 0;
+                while (device.next <= until && !device.removed) {
+                    if (burst++ == MAX_BURST) {
+                        device.next = now + interval;
+                        break;
+                    }
+                    generator.next(device, device.random, device.next);
+                    device.next += interval;
+                    events++;
+                }
+            }
+            if (!hotplug) {
+                break;
+            }
+            int slot = random.nextInt(slots.length);
+            if (attached.containsKey(slot)) {
+                remove(attached.get(slot));
+            } else {
+                attach(slot, nextHotplug);
+            }
+            nextHotplug += hotplugInterval;
+        }
+        generated.add(events);
+        return events;
+    }
+
+    /** Attaches a new device to the slot. */
+    private void attach(int slot, long now) {
+        // each device has its own random source, so that its input does not depend on timing of others
+        long seed = this.seed * 31 + ((long) slot << 32 | incarnations[slot]++);
+        SimulatedDevice device = new SimulatedDevice(listeners, clock, slot, slots[slot], seed);
+        device.next = now + interval;
+        assignDeviceID(device);
+        attached.put(slot, device);
+        deviceMap.put(device.deviceID, device);
+        devices = attached.values().toArray(SimulatedDevice[]::new);
+        device.fireDeviceAttach();
+    }
+
+    /** Removes the device. */
+    private void remove(SimulatedDevice device) {
+        device.removed = true;
+        attached.remove(device.slot, device);
+        deviceMap.remove(device.deviceID, device);
+        devices = attached.values().toArray(SimulatedDevice[]::new);
+        device.fireDeviceRemove();
+        releaseDeviceID(device);
+    }
+
+    /**
+     * Makes input due by now on the caller's thread, in pump mode.
+     *
+     * @return number of input events made
+     * @throws IllegalStateException not in pump mode or not opened
+     */
+    @Override
+    public int pump() {
+        if (!pumpMode || !inited) {
+            throw new IllegalStateException("not in pump mode");
+        }
+        return step(clock.nanoTime());
+    }
+
+    /** Returns the number of input events made so far. */
+    public long getGeneratedCount() {
+        return generated.sum();
+    }
+
+    @Override
+    public int size() {
+        return deviceMap.size();
+    }
+
+    @Override
+    public Device get(int deviceID) {
+        SimulatedDevice device = deviceMap.get(deviceID);
+        if (device == null) {
+logger.warning("no such deviceId: " + deviceID);
+        }
+        return device;
+    }
+
+    /** Supported only when selected by the system property {@code org.gamepad4j.desktop.Gamepad}. */
+    @Override
+    public boolean isSupported() {
+        return SimulatedGamepad.class.getName().equals(System.getProperty(Gamepad.class.getName()));
+    }
+}
@@ -35,6 +35,7 @@ import net.java.games.input.windows.WinAPI;
 import net.java.games.input.windows.WinAPI.JOYCAPS;
 import net.java.games.input.windows.WinAPI.JOYINFOEX;
 import org.gamepad4j.desktop.BaseGamepad;
+import org.gamepad4j.util.Clock;
 import org.gamepad4j.util.PlatformUtil;
 
 import static com.sun.jna.platform.win32.WinError.ERROR_SUCCESS;
@@ -70,8 +71,8 @@ public class WindowsGamepad extends BaseGamepad {
 
         ScheduledExecutorService inputSes = Executors.newSingleThreadScheduledExecutor();
 
-        WindowsDevice(List<GamepadListener> listeners) {
-            super(listeners);
+        WindowsDevice(List<GamepadListener> listeners, Clock clock) {
+            super(listeners, clock);
         }
 
         int joystickID;
@@ -95,7 +96,6 @@ public class WindowsGamepad extends BaseGamepad {
     private final ScheduledExecutorService detectSes = Executors.newSingleThreadScheduledExecutor();
 
     private List<WindowsDevice> devices = new ArrayList<>();
-    private int nextDeviceID = 0;
 
     private boolean inited = false;
 
@@ -127,7 +127,7 @@ public class WindowsGamepad extends BaseGamepad {
     public Device get(int deviceId) {
         for (WindowsDevice device : devices) {
             if (device.deviceID == deviceId) {
-                return devices.get(deviceId);
+                return device;
             }
         }
 logger.warning("no such deviceId: " + deviceId);
@@ -210,11 +210,11 @@ logger.warning("no such deviceId: " + deviceId);
                     continue;
                 }
 
-                WindowsDevice device = new WindowsDevice(listeners);
-                device.deviceID = nextDeviceID++;
+                WindowsDevice device = new WindowsDevice(listeners, clock);
                 device.description = new String(getDeviceDescription(joystickID, caps), StandardCharsets.UTF_8).replace("\u0000", "");
                 device.vendorID = caps.wMid;
                 device.productID = caps.wPid;
+                assignDeviceID(device);
                 device.numAxes = caps.wNumAxes + ((caps.wCaps & JOYCAPS_HASPOV) != 0 ? 2 : 0);
                 device.numButtons = caps.wNumButtons;
                 device.axisStates = new float[device.numAxes];
@@ -391,6 +391,7 @@ logger.warning("no such deviceId: " + deviceId);
         device.inputSes.shutdownNow();
 
         device.fireDeviceRemove();
+        releaseDeviceID(device);
 
         Iterator<WindowsDevice> i = devices.iterator();
         while (i.hasNext()) {
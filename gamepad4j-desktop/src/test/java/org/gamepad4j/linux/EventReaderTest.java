@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.linux;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+import com.sun.jna.NativeLong;
+import org.gamepad4j.linux.EventReader.Mode;
+import org.gamepad4j.linux.LinuxGamepadPumpTest.Libc;
+import org.gamepad4j.util.LatencyStatistics;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+/**
+ * Wakeup latency of reader modes, fed by a pipe.
+ * <p>
+ * The generator writes an event with {@link System#nanoTime()} in the time field
+ * every millisecond (a 1000Hz pad), the reader records the difference on arrival.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class EventReaderTest {
+
+    private static final Logger logger = Logger.getLogger(EventReaderTest.class.getName());
+
+    static final int EVENTS = 1000;
+
+    static LatencyStatistics measure(EventReader reader) throws Exception {
+        int[] fds = new int[2];
+        Libc.INSTANCE.pipe(fds);
+        LatencyStatistics statistics = new LatencyStatistics(reader.toString());
+        LongAdder reads = new LongAdder();
+        Thread thread = new Thread(() -> reader.run(fds[0], (buffer, offset) ->
+                statistics.record(System.nanoTime() - buffer.getLong(offset)), reads));
+        thread.start();
+
+        ByteBuffer event = ByteBuffer.allocate(Evdev.INPUT_EVENT_SIZE).order(ByteOrder.nativeOrder());
+        for (int i = 0; i < EVENTS; i++) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            event.putLong(0, System.nanoTime());
+            Libc.INSTANCE.write(fds[1], event.array(), new NativeLong(event.capacity()));
+        }
+        Libc.INSTANCE.close(fds[1]);
+        thread.join(5000);
+        Libc.INSTANCE.close(fds[0]);
+        return statistics;
+    }
+
+    @Test
+    void test1() throws Exception {
+        for (EventReader reader : new EventReader[] {
+                new EventReader(Mode.BLOCKING, 0),
+                new EventReader(Mode.SPIN_PARK, TimeUnit.MILLISECONDS.toNanos(10)),
+                new EventReader(Mode.SPIN_PARK, TimeUnit.MICROSECONDS.toNanos(100)),
+                new EventReader(Mode.SPIN, 0)
+        }) {
+            LatencyStatistics statistics = measure(reader);
+            logger.fine(statistics + ", p90=" + statistics.getPercentile(90) / 1000d + "us");
+            assertEquals(EVENTS, statistics.getCount());
+        }
+    }
+
+    @Test
+    void testMode() {
+        assertEquals(Mode.SPIN_PARK, Mode.of("spin-park"));
+        assertEquals(Mode.BLOCKING, Mode.of("blocking"));
+    }
+}
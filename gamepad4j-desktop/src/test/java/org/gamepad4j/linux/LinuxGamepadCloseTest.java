@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.linux;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.gamepad4j.desktop.Gamepad.Device;
+import org.gamepad4j.desktop.Gamepad.GamepadAdapter;
+import org.gamepad4j.linux.LinuxGamepad.Node;
+import org.gamepad4j.linux.LinuxGamepadPumpTest.Libc;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Closing nodes and the adapter with reader threads.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class LinuxGamepadCloseTest {
+
+    /** a new pipe for each probe, revoking closes the writing end like an unplug */
+    static class PipesProber extends LinuxGamepadResyncTest.StateProber {
+        /** in probed order, fds may be reused */
+        final List<Node> nodes = new CopyOnWriteArrayList<>();
+        /** node / write fd */
+        final Map<Node, Integer> writers = new ConcurrentHashMap<>();
+        /** node / number of closes */
+        final Map<Node, AtomicInteger> closes = new ConcurrentHashMap<>();
+
+        @Override
+        public Node probe(String path) {
+            int[] fds = new int[2];
+            Libc.INSTANCE.pipe(fds);
+            Node node = LinuxGamepadResyncTest.node();
+            nodes.add(node);
+            writers.put(node, fds[1]);
+            closes.put(node, new AtomicInteger());
+            node.path = path;
+            node.fd = fds[0];
+            node.gamepad = true;
+            node.uniqueID = "pad";
+            return node;
+        }
+
+        @Override
+        public void revoke(Node node) {
+            Libc.INSTANCE.close(writers.get(node));
+        }
+
+        @Override
+        public void close(Node node) {
+            closes.get(node).incrementAndGet();
+            Libc.INSTANCE.close(node.fd);
+        }
+    }
+
+    static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "timed out");
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void test1(@TempDir Path dir) throws Exception {
+        Files.createFile(dir.resolve("event0"));
+
+        List<String> events = new CopyOnWriteArrayList<>();
+        PipesProber prober = new PipesProber();
+        LinuxGamepad gamepad = new LinuxGamepad(dir, prober, 1);
+        gamepad.addGamepadListener(new GamepadAdapter() {
+            @Override public void deviceAttach(Device device) { events.add("attach"); }
+            @Override public void deviceRemove(Device device) { events.add("remove"); }
+        });
+
+        gamepad.open();
+        await(() -> gamepad.size() == 1);
+        Node node = prober.nodes.get(0);
+
+        // the reader wakes up and closes its node, removal is not fired
+        gamepad.close();
+        assertEquals(0, gamepad.size());
+        await(() -> prober.closes.get(node).get() > 0);
+        Thread.sleep(100);
+        assertEquals(1, prober.closes.get(node).get());
+
+        // opened again, the node is probed again
+        gamepad.open();
+        await(() -> gamepad.size() == 1);
+        assertEquals(List.of("attach", "attach"), events);
+        assertEquals(2, prober.nodes.size());
+
+        // unplugged, closed once by the reader
+        Node node2 = prober.nodes.get(1);
+        Libc.INSTANCE.close(prober.writers.get(node2));
+        await(() -> gamepad.size() == 0);
+        await(() -> prober.closes.get(node2).get() > 0);
+        Thread.sleep(100);
+        assertEquals(1, prober.closes.get(node2).get());
+        assertEquals(List.of("attach", "attach", "remove"), events);
+        gamepad.close();
+    }
+}
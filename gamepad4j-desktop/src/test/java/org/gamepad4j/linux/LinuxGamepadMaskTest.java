@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.linux;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Logger;
+
+import org.gamepad4j.desktop.DesktopController;
+import org.gamepad4j.desktop.Gamepad.Device;
+import org.gamepad4j.desktop.Gamepad.GamepadAdapter;
+import org.gamepad4j.linux.LinuxGamepad.LinuxDevice;
+import org.gamepad4j.linux.LinuxGamepad.Node;
+import org.gamepad4j.util.Clock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static net.java.games.input.linux.NativeDefinitions.ABS_X;
+import static net.java.games.input.linux.NativeDefinitions.ABS_Y;
+import static net.java.games.input.linux.NativeDefinitions.EV_ABS;
+import static net.java.games.input.linux.NativeDefinitions.EV_KEY;
+import static net.java.games.input.linux.NativeDefinitions.EV_MSC;
+import static net.java.games.input.linux.NativeDefinitions.EV_REL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Kernel side event masking.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class LinuxGamepadMaskTest {
+
+    private static final Logger logger = Logger.getLogger(LinuxGamepadMaskTest.class.getName());
+
+    /** records masks */
+    static class MaskProber extends LinuxGamepadResyncTest.StateProber {
+        final Map<Integer, BitSet> masks = new HashMap<>();
+
+        @Override
+        public boolean setMask(Node node, int type, BitSet codes, int count) {
+            masks.put(type, codes);
+            return true;
+        }
+    }
+
+    @Test
+    void test1() throws Exception {
+        MaskProber prober = new MaskProber();
+        LinuxDevice device = new LinuxDevice(List.of(), Clock.system(), prober);
+        Node node = LinuxGamepadResyncTest.node();
+        node.axisInfo[ABS_Y] = node.axisInfo[ABS_X];
+        node.axisMap[ABS_Y] = node.numAxes++;
+        device.join(node);
+
+        // the 2nd axis is not mapped
+        device.setEventMask(new boolean[] {true, true}, new boolean[] {true, false});
+
+        assertEquals(BitSet.valueOf(new long[] {0, 0, 0, 0, 0x3L << 48}), prober.masks.get(EV_KEY));
+        BitSet abs = new BitSet();
+        abs.set(ABS_X);
+        assertEquals(abs, prober.masks.get(EV_ABS));
+        assertTrue(prober.masks.get(EV_REL).isEmpty());
+        assertTrue(prober.masks.get(EV_MSC).isEmpty());
+    }
+
+    /** move sticks and touch the pad while measuring */
+    @Test
+    @EnabledIfSystemProperty(named = "vavi.test", matches = "ide")
+    void testWakeups() throws Exception {
+        LinuxGamepad gamepad = new LinuxGamepad();
+        CompletableFuture<Device> attached = new CompletableFuture<>();
+        gamepad.addGamepadListener(new GamepadAdapter() {
+            @Override public void deviceAttach(Device device) { attached.complete(device); }
+        });
+        gamepad.open();
+        Device device = attached.get();
+
+        long before = measure(gamepad);
+        new DesktopController(device, gamepad); // masks by the mapping
+        long after = measure(gamepad);
+        gamepad.close();
+        logger.fine(String.format("%s: wakeups/s before: %d, after: %d", device.description, before, after));
+        assertTrue(after <= before, "before: " + before + ", after: " + after);
+    }
+
+    static long measure(LinuxGamepad gamepad) throws InterruptedException {
+        long reads = gamepad.getReadCount();
+        Thread.sleep(5000);
+        return (gamepad.getReadCount() - reads) / 5;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.linux;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+import org.gamepad4j.linux.LinuxGamepad.Node;
+import org.gamepad4j.linux.LinuxGamepad.Prober;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Measures enumeration of a synthetic /dev/input tree.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class LinuxGamepadProbeTest {
+
+    private static final Logger logger = Logger.getLogger(LinuxGamepadProbeTest.class.getName());
+
+    static final int NODES = 100;
+
+    /** ioctls of a node take 20 ms, event13 hangs */
+    static class SlowProber implements Prober {
+        final Set<Node> closed = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public Node probe(String path) throws IOException {
+            try {
+                Thread.sleep(path.endsWith("event13") ? 10_000 : 20);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            Node node = new Node();
+            node.path = path;
+            node.gamepad = path.endsWith("0");
+            return node;
+        }
+
+        @Override
+        public int open(String path) {
+            return 0;
+        }
+
+        @Override
+        public boolean readState(Node node, byte[] keyBits, int[] absValues) {
+            return false;
+        }
+
+        @Override
+        public boolean setMask(Node node, int type, BitSet codes, int count) {
+            return true;
+        }
+
+        @Override
+        public boolean setNonBlocking(Node node) {
+            return true;
+        }
+
+        @Override
+        public boolean setMonotonicClock(Node node) {
+            return false;
+        }
+
+        @Override
+        public void revoke(Node node) {
+        }
+
+        @Override
+        public void close(Node node) {
+            closed.add(node);
+        }
+    }
+
+    static Path createTree(Path dir) throws IOException {
+        for (int i = 0; i < NODES; i++) {
+            Files.createFile(dir.resolve("event" + i));
+        }
+        Files.createFile(dir.resolve("mouse0"));
+        Files.createFile(dir.resolve("js0"));
+        return dir;
+    }
+
+    long measure(Path dir, int threads) {
+        LinuxGamepad gamepad = new LinuxGamepad(dir, new SlowProber(), threads);
+        long t = System.nanoTime();
+        List<Node> nodes = gamepad.enumerate(0, Collections.emptySet(), Collections.emptySet());
+        t = System.nanoTime() - t;
+        assertEquals(NODES - 1, nodes.size());
+        gamepad.close();
+        return t / 1_000_000;
+    }
+
+    /** a hung node is skipped */
+    @Test
+    void test1(@TempDir Path dir) throws Exception {
+        createTree(dir);
+        measure(dir, 8);
+    }
+
+    /** parallel against serial, measured in real time */
+    @Test
+    @EnabledIfSystemProperty(named = "vavi.test", matches = "ide")
+    void test2(@TempDir Path dir) throws Exception {
+        createTree(dir);
+
+        long parallel = measure(dir, 8);
+        long serial = measure(dir, 1);
+        logger.fine(String.format("enumerate %d nodes: 1 thread: %d ms, 8 threads: %d ms", NODES, serial, parallel));
+
+        // a hung node costs the timeout (500 ms by default) once, not the whole scan
+        assertTrue(serial >= (NODES - 1) * 20 + 500);
+        assertTrue(parallel < serial / 2, "parallel: " + parallel + ", serial: " + serial);
+    }
+
+    @Test
+    void testKnown(@TempDir Path dir) throws Exception {
+        createTree(dir);
+        LinuxGamepad gamepad = new LinuxGamepad(dir, new SlowProber(), 8);
+        List<Node> nodes = gamepad.enumerate(0, Set.of(dir.resolve("event1").toString()), Collections.emptySet());
+        assertEquals(NODES - 2, nodes.size());
+        nodes = gamepad.enumerate(Long.MAX_VALUE, Collections.emptySet(), Collections.emptySet());
+        assertEquals(0, nodes.size());
+        gamepad.close();
+    }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.linux;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.sun.jna.Library;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import org.gamepad4j.desktop.Gamepad.Device;
+import org.gamepad4j.desktop.Gamepad.GamepadAdapter;
+import org.gamepad4j.linux.LinuxGamepad.Node;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static net.java.games.input.linux.NativeDefinitions.ABS_X;
+import static net.java.games.input.linux.NativeDefinitions.EV_ABS;
+import static net.java.games.input.linux.NativeDefinitions.EV_KEY;
+import static net.java.games.input.linux.NativeDefinitions.EV_SYN;
+import static org.gamepad4j.linux.Evdev.SYN_REPORT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Pump mode with a pipe as an evdev node.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class LinuxGamepadPumpTest {
+
+    /** for a pipe */
+    interface Libc extends Library {
+
+        Libc INSTANCE = Native.load("c", Libc.class);
+
+        int pipe(int[] fds);
+
+        NativeLong write(int fd, byte[] buf, NativeLong count);
+
+        int close(int fd);
+    }
+
+    /** a node backed by a pipe */
+    static class PipeProber extends LinuxGamepadResyncTest.StateProber {
+        final int[] fds = new int[2];
+
+        PipeProber() {
+            Libc.INSTANCE.pipe(fds);
+        }
+
+        @Override
+        public Node probe(String path) {
+            Node node = LinuxGamepadResyncTest.node();
+            node.path = path;
+            node.fd = fds[0];
+            node.gamepad = true;
+            node.description = "pipe";
+            return node;
+        }
+
+        @Override
+        public boolean setNonBlocking(Node node) {
+            return Evdev.setNonBlocking(node.fd);
+        }
+
+        @Override
+        public void close(Node node) {
+            Libc.INSTANCE.close(node.fd);
+        }
+
+        /** writes input_events */
+        void write(int... typeCodeValues) {
+            ByteBuffer buffer = ByteBuffer.allocate(typeCodeValues.length / 3 * Evdev.INPUT_EVENT_SIZE).order(ByteOrder.nativeOrder());
+            for (int i = 0; i < typeCodeValues.length; i += 3) {
+                int offset = i / 3 * Evdev.INPUT_EVENT_SIZE;
+                buffer.putShort(offset + Evdev.INPUT_EVENT_TYPE, (short) typeCodeValues[i]);
+                buffer.putShort(offset + Evdev.INPUT_EVENT_CODE, (short) typeCodeValues[i + 1]);
+                buffer.putInt(offset + Evdev.INPUT_EVENT_VALUE, typeCodeValues[i + 2]);
+            }
+            Libc.INSTANCE.write(fds[1], buffer.array(), new NativeLong(buffer.capacity()));
+        }
+    }
+
+    @Test
+    void test1(@TempDir Path dir) throws Exception {
+        Files.createFile(dir.resolve("event0"));
+
+        List<String> events = new ArrayList<>();
+        Thread caller = Thread.currentThread();
+        PipeProber prober = new PipeProber();
+        LinuxGamepad gamepad = new LinuxGamepad(dir, prober, 1);
+        gamepad.addGamepadListener(new GamepadAdapter() {
+            @Override public void deviceAttach(Device device) { events.add("attach"); }
+            @Override public void deviceRemove(Device device) { events.add("remove"); }
+            @Override public void buttonDown(Device device, int buttonID, double timestamp) {
+                assertEquals(caller, Thread.currentThread());
+                events.add("down" + buttonID);
+            }
+            @Override public void axisMove(Device device, int axisID, float value, double timestamp) { events.add("axis" + axisID + "=" + value); }
+        });
+        gamepad.setPumpMode(true);
+        gamepad.open();
+
+        // nothing pending, does not block
+        assertEquals(0, gamepad.pump());
+        assertEquals(List.of("attach"), events);
+
+        prober.write(EV_KEY, LinuxGamepadResyncTest.BTN_B, 1, EV_ABS, ABS_X, 127, EV_SYN, SYN_REPORT, 0);
+        assertEquals(3, gamepad.pump());
+        assertEquals(List.of("attach", "down1", "axis0=1.0"), events);
+        assertEquals(0, gamepad.pump());
+
+        // unplugged
+        Libc.INSTANCE.close(prober.fds[1]);
+        gamepad.pump();
+        assertEquals("remove", events.get(events.size() - 1));
+        assertEquals(0, gamepad.size());
+        gamepad.close();
+    }
+
+    @Test
+    void test3(@TempDir Path dir) throws Exception {
+        Files.createFile(dir.resolve("event0"));
+
+        List<String> calls = new ArrayList<>();
+        PipeProber prober = new PipeProber() {
+            @Override
+            public boolean setMonotonicClock(Node node) {
+                calls.add("clock");
+                return false;
+            }
+
+            @Override
+            public boolean readState(Node node, byte[] keyBits, int[] absValues) {
+                calls.add("state");
+                return super.readState(node, keyBits, absValues);
+            }
+        };
+        LinuxGamepad gamepad = new LinuxGamepad(dir, prober, 1);
+        gamepad.setPumpMode(true);
+        gamepad.open();
+        gamepad.pump();
+
+        // setting the clock flushes events, the initial state must be read after it
+        assertEquals(List.of("clock", "state"), calls);
+        gamepad.close();
+    }
+
+    /** nodes of a physical device, event0 is the primary one */
+    static class NodesProber extends PipeProber {
+        final Map<String, PipeProber> pipes = new HashMap<>();
+
+        PipeProber pipe(String path) {
+            return pipes.computeIfAbsent(path, k -> new PipeProber());
+        }
+
+        @Override
+        public Node probe(String path) {
+            Node node = pipe(path).probe(path);
+            node.gamepad = path.endsWith("event0");
+            node.uniqueID = "pad";
+            return node;
+        }
+
+        @Override
+        public int open(String path) {
+            return pipe(path).fds[0];
+        }
+
+        @Override
+        public void close(Node node) {
+        }
+    }
+
+    @Test
+    void test2(@TempDir Path dir) throws Exception {
+        List<String> events = new ArrayList<>();
+        NodesProber prober = new NodesProber();
+        LinuxGamepad gamepad = new LinuxGamepad(dir, prober, 1);
+        gamepad.addGamepadListener(new GamepadAdapter() {
+            @Override public void deviceAttach(Device device) { events.add("attach" + device.numButtons); }
+            @Override public void deviceRemove(Device device) { events.add("remove"); }
+            @Override public void deviceChange(Device device) { events.add("change" + device.numButtons); }
+            @Override public void buttonDown(Device device, int buttonID, double timestamp) { events.add("down" + buttonID); }
+        });
+        gamepad.setPumpMode(true);
+
+        // a node enumerated before the primary one waits for it
+        Files.createFile(dir.resolve("event1"));
+        gamepad.open();
+        gamepad.pump();
+        assertEquals(List.of(), events);
+
+        Files.createFile(dir.resolve("event0"));
+        Thread.sleep(1100);
+        gamepad.pump();
+        assertEquals(List.of("attach4"), events);
+
+        prober.pipe(dir.resolve("event0").toString()).write(EV_KEY, LinuxGamepadResyncTest.BTN_A, 1, EV_SYN, SYN_REPORT, 0);
+        gamepad.pump();
+        assertEquals(List.of("attach4", "down0"), events);
+
+        // a node joins the attached device without removing it, ids and states are kept
+        Files.createFile(dir.resolve("event2"));
+        Thread.sleep(1100);
+        gamepad.pump();
+        assertEquals(List.of("attach4", "down0", "change6"), events);
+        Device device = gamepad.get(0);
+        assertTrue(device.buttonStates[0]);
+
+        prober.pipe(dir.resolve("event2").toString()).write(EV_KEY, LinuxGamepadResyncTest.BTN_B, 1, EV_SYN, SYN_REPORT, 0);
+        gamepad.pump();
+        assertEquals(List.of("attach4", "down0", "change6", "down5"), events);
+        assertTrue(device.buttonStates[5]);
+        gamepad.close();
+    }
+}
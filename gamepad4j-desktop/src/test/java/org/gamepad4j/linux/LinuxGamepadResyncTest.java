@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.linux;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import net.java.games.input.linux.LinuxIO.input_absinfo;
+import org.gamepad4j.desktop.Gamepad;
+import org.gamepad4j.desktop.Gamepad.Device;
+import org.gamepad4j.desktop.Gamepad.GamepadAdapter;
+import org.gamepad4j.linux.LinuxGamepad.LinuxDevice;
+import org.gamepad4j.linux.LinuxGamepad.Node;
+import org.gamepad4j.linux.LinuxGamepad.Prober;
+import org.gamepad4j.util.Clock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static net.java.games.input.linux.LinuxIO.BTN_MISC;
+import static net.java.games.input.linux.NativeDefinitions.ABS_X;
+import static net.java.games.input.linux.NativeDefinitions.EV_ABS;
+import static net.java.games.input.linux.NativeDefinitions.EV_KEY;
+import static net.java.games.input.linux.NativeDefinitions.EV_SYN;
+import static org.gamepad4j.linux.Evdev.SYN_DROPPED;
+import static org.gamepad4j.linux.Evdev.SYN_REPORT;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * SYN_DROPPED recovery.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class LinuxGamepadResyncTest {
+
+    static final int BTN_A = 0x130;
+    static final int BTN_B = 0x131;
+
+    /** the kernel state */
+    static class StateProber implements Prober {
+        final byte[] keyBits = new byte[(0x300 + 7) / 8];
+        int x;
+
+        void set(int code, boolean down) {
+            if (down) {
+                keyBits[code / 8] |= (byte) (1 << (code % 8));
+            } else {
+                keyBits[code / 8] &= (byte) ~(1 << (code % 8));
+            }
+        }
+
+        @Override
+        public Node probe(String path) {
+            return null;
+        }
+
+        @Override
+        public int open(String path) {
+            return 0;
+        }
+
+        @Override
+        public boolean readState(Node node, byte[] keyBits, int[] absValues) {
+            System.arraycopy(this.keyBits, 0, keyBits, 0, keyBits.length);
+            absValues[ABS_X] = x;
+            return true;
+        }
+
+        @Override
+        public boolean setMask(Node node, int type, BitSet codes, int count) {
+            return true;
+        }
+
+        @Override
+        public boolean setNonBlocking(Node node) {
+            return true;
+        }
+
+        @Override
+        public boolean setMonotonicClock(Node node) {
+            return false;
+        }
+
+        @Override
+        public void revoke(Node node) {
+        }
+
+        @Override
+        public void close(Node node) {
+        }
+    }
+
+    /** buttons A, B and axis X (-128 ~ 127) */
+    static Node node() {
+        Node node = new Node();
+        Arrays.fill(node.buttonMap, -1);
+        Arrays.fill(node.axisMap, -1);
+        node.buttonMap[BTN_A - BTN_MISC] = node.numButtons++;
+        node.buttonMap[BTN_B - BTN_MISC] = node.numButtons++;
+        node.axisInfo[ABS_X] = new input_absinfo();
+        node.axisInfo[ABS_X].minimum = -128;
+        node.axisInfo[ABS_X].maximum = 127;
+        node.axisMap[ABS_X] = node.numAxes++;
+        return node;
+    }
+
+    @Test
+    void test1(@TempDir Path dir) throws Exception {
+        List<String> events = new ArrayList<>();
+        List<Gamepad.GamepadListener> listeners = List.of(new GamepadAdapter() {
+            @Override public void buttonDown(Device device, int buttonID, double timestamp) { events.add("down" + buttonID); }
+            @Override public void buttonUp(Device device, int buttonID, double timestamp) { events.add("up" + buttonID); }
+            @Override public void axisMove(Device device, int axisID, float value, double timestamp) { events.add("axis" + axisID + "=" + value); }
+        });
+
+        StateProber prober = new StateProber();
+        LinuxGamepad gamepad = new LinuxGamepad(dir, prober, 1);
+        LinuxDevice device = new LinuxDevice(listeners, Clock.system(), prober);
+        Node node = node();
+        device.join(node);
+
+        // initial state at attach, without events
+        prober.set(BTN_A, true);
+        prober.x = -128;
+        gamepad.resync(device, node, false);
+        assertTrue(device.buttonStates[0]);
+        assertEquals(-1f, device.axisStates[0]);
+        assertEquals(List.of(), events);
+
+        // A released while the buffer overflows, B pressed, X moved
+        gamepad.process(device, node, EV_SYN, SYN_DROPPED, 0, 0);
+        prober.set(BTN_A, false);
+        prober.set(BTN_B, true);
+        prober.x = 127;
+        gamepad.process(device, node, EV_KEY, BTN_B, 1, 0); // partial, discarded
+        gamepad.process(device, node, EV_ABS, ABS_X, 0, 0); // partial, discarded
+        assertEquals(List.of(), events);
+        gamepad.process(device, node, EV_SYN, SYN_REPORT, 0, 0);
+
+        assertEquals(List.of("up0", "down1", "axis0=1.0"), events);
+        assertFalse(device.buttonStates[0]);
+        assertTrue(device.buttonStates[1]);
+        assertEquals(1f, device.axisStates[0]);
+        assertEquals(1, gamepad.getDropCount());
+
+        // normal events again
+        events.clear();
+        gamepad.process(device, node, EV_KEY, BTN_B, 0, 0);
+        gamepad.process(device, node, EV_SYN, SYN_REPORT, 0, 0);
+        assertEquals(List.of("up1"), events);
+        gamepad.close();
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.linux;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.java.games.input.linux.LinuxIO.input_absinfo;
+import org.gamepad4j.linux.LinuxGamepad.Node;
+import org.gamepad4j.linux.LinuxGamepad.Prober;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static net.java.games.input.linux.LinuxIO.BTN_MISC;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * sysfs pre-filter and probe cache against a fake sysfs tree.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class ProbeCacheTest {
+
+    static final String ZERO = "0000000000000000";
+
+    /** BTN_A (0x130) in 64 bit words */
+    static final String KEY_GAMEPAD = "1000000000000 " + ZERO + " " + ZERO + " " + ZERO + " " + ZERO;
+
+    /** BTN_LEFT (0x110) in 64 bit words */
+    static final String KEY_MOUSE = "10000 " + ZERO + " " + ZERO + " " + ZERO + " " + ZERO;
+
+    /** counts ioctl probes and plain opens */
+    static class CountingProber implements Prober {
+        final Set<String> probed = ConcurrentHashMap.newKeySet();
+        final AtomicInteger opened = new AtomicInteger();
+
+        @Override
+        public Node probe(String path) {
+            probed.add(path.substring(path.lastIndexOf('/') + 1));
+            if (path.endsWith("event4")) {
+                return null; // e.g. a power button
+            }
+            Node node = new Node();
+            node.path = path;
+            node.gamepad = path.endsWith("event0");
+            node.description = "pad";
+            node.vendorID = 0x54c;
+            node.productID = 0x9cc;
+            node.uniqueID = "aa:bb";
+            Arrays.fill(node.buttonMap, -1);
+            Arrays.fill(node.axisMap, -1);
+            node.buttonMap[0x130 - BTN_MISC] = node.numButtons++;
+            node.axisInfo[1] = new input_absinfo();
+            node.axisInfo[1].minimum = -128;
+            node.axisInfo[1].maximum = 127;
+            node.axisMap[1] = node.numAxes++;
+            return node;
+        }
+
+        @Override
+        public int open(String path) {
+            opened.incrementAndGet();
+            return 3;
+        }
+
+        @Override
+        public boolean readState(Node node, byte[] keyBits, int[] absValues) {
+            return false;
+        }
+
+        @Override
+        public boolean setMask(Node node, int type, BitSet codes, int count) {
+            return true;
+        }
+
+        @Override
+        public boolean setNonBlocking(Node node) {
+            return true;
+        }
+
+        @Override
+        public boolean setMonotonicClock(Node node) {
+            return false;
+        }
+
+        @Override
+        public void revoke(Node node) {
+        }
+
+        @Override
+        public void close(Node node) {
+        }
+    }
+
+    static void sysfs(Path sys, String event, String ev, String key, String abs, String uniq) throws IOException {
+        Path device = sys.resolve(event).resolve("device");
+        Files.createDirectories(device.resolve("capabilities"));
+        Files.createDirectories(device.resolve("id"));
+        Files.writeString(device.resolve("capabilities/ev"), ev + "\n");
+        Files.writeString(device.resolve("capabilities/key"), key + "\n");
+        Files.writeString(device.resolve("capabilities/abs"), abs + "\n");
+        Files.writeString(device.resolve("id/vendor"), "054c\n");
+        Files.writeString(device.resolve("id/product"), "09cc\n");
+        Files.writeString(device.resolve("uniq"), uniq + "\n");
+    }
+
+    /**
+     * event0: gamepad, event1: motion sensor of the gamepad, event2: keyboard,
+     * event3: mouse, event4: no sysfs
+     */
+    static void createTree(Path dev, Path sys) throws IOException {
+        for (int i = 0; i < 5; i++) {
+            Files.createFile(dev.resolve("event" + i));
+        }
+        sysfs(sys, "event0", "b", KEY_GAMEPAD, "3", "aa:bb");
+        sysfs(sys, "event1", "9", "0", "3", "aa:bb");
+        sysfs(sys, "event2", "120013", "fffffffe 0 0 0", "0", "");
+        sysfs(sys, "event3", "17", KEY_MOUSE, "0", "cc:dd");
+    }
+
+    @Test
+    void testBitmap() throws Exception {
+        BitSet bits = SysfsFilter.parseBitmap(KEY_GAMEPAD);
+        assertTrue(bits.get(0x130));
+        assertEquals(1, bits.cardinality());
+
+        // 32 bit kernel
+        bits = SysfsFilter.parseBitmap("1 00010000 00000000");
+        assertTrue(bits.get(64));
+        assertTrue(bits.get(48));
+        assertEquals(2, bits.cardinality());
+
+        assertEquals(0, SysfsFilter.parseBitmap("0").cardinality());
+    }
+
+    @Test
+    void test1(@TempDir Path dir) throws Exception {
+        Path dev = Files.createDirectory(dir.resolve("dev"));
+        Path sys = Files.createDirectory(dir.resolve("sys"));
+        Path cache = dir.resolve("cache/probe.properties");
+        createTree(dev, sys);
+
+        CountingProber prober = new CountingProber();
+        LinuxGamepad gamepad = new LinuxGamepad(dev, sys, cache, prober, 4);
+        List<Node> nodes = gamepad.enumerate(0, Collections.emptySet(), Collections.emptySet());
+        gamepad.close();
+
+        // keyboard and mouse are not opened
+        assertEquals(Set.of("event0", "event1", "event4"), prober.probed);
+        assertEquals(2, nodes.size());
+        assertEquals(0, prober.opened.get());
+        assertTrue(Files.exists(cache));
+
+        // second run: layouts from the cache, no probes
+        prober = new CountingProber();
+        gamepad = new LinuxGamepad(dev, sys, cache, prober, 4);
+        nodes = gamepad.enumerate(0, Collections.emptySet(), Collections.emptySet());
+        gamepad.close();
+
+        assertEquals(Set.of(), prober.probed);
+        assertEquals(2, prober.opened.get());
+        assertEquals(2, nodes.size());
+        Node node = nodes.stream().filter(n -> n.gamepad).findFirst().get();
+        assertEquals(3, node.fd);
+        assertEquals("aa:bb", node.uniqueID);
+        assertEquals(0x54c, node.vendorID);
+        assertEquals(0, node.buttonMap[0x130 - BTN_MISC]);
+        assertEquals(0, node.axisMap[1]);
+        assertEquals(-128, node.axisInfo[1].minimum);
+        assertEquals(127, node.axisInfo[1].maximum);
+    }
+
+    /** the secondary node comes a scan before its primary node */
+    @Test
+    void testLatePrimary(@TempDir Path dir) throws Exception {
+        Path dev = Files.createDirectory(dir.resolve("dev"));
+        Path sys = Files.createDirectory(dir.resolve("sys"));
+        Path event1 = Files.createFile(dev.resolve("event1"));
+        sysfs(sys, "event1", "9", "0", "3", "aa:bb");
+
+        CountingProber prober = new CountingProber();
+        LinuxGamepad gamepad = new LinuxGamepad(dev, sys, null, prober, 4);
+        List<Node> nodes = gamepad.enumerate(0, Collections.emptySet(), Collections.emptySet());
+        assertEquals(Set.of(), prober.probed);
+        assertEquals(0, nodes.size());
+
+        // the next scan sees the primary node only by the mtime
+        long since = Files.getLastModifiedTime(event1).to(TimeUnit.NANOSECONDS) + 1;
+        Path event0 = Files.createFile(dev.resolve("event0"));
+        Files.setLastModifiedTime(event0, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+        sysfs(sys, "event0", "b", KEY_GAMEPAD, "3", "aa:bb");
+        nodes = gamepad.enumerate(since, Collections.emptySet(), Collections.emptySet());
+        gamepad.close();
+
+        assertEquals(Set.of("event0", "event1"), prober.probed);
+        assertEquals(2, nodes.size());
+    }
+
+    @Test
+    void testInvalidate(@TempDir Path dir) throws Exception {
+        Path dev = Files.createDirectory(dir.resolve("dev"));
+        Path cache = dir.resolve("probe.properties");
+        Path event4 = Files.createFile(dev.resolve("event4"));
+
+        ProbeCache probeCache = new ProbeCache(cache);
+        assertNull(probeCache.get(event4));
+        probeCache.put(event4, null);
+        probeCache.save();
+
+        probeCache = new ProbeCache(cache);
+        ProbeCache.Entry entry = probeCache.get(event4);
+        assertNotNull(entry);
+        assertNull(entry.node);
+
+        // a replugged node has another mtime
+        Files.setLastModifiedTime(event4, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+        assertNull(probeCache.get(event4));
+
+        probeCache.retain(Collections.emptySet());
+        probeCache.save();
+        assertFalse(Files.readString(cache).contains("event4"));
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.replay;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import org.gamepad4j.desktop.Gamepad;
+import org.gamepad4j.desktop.Gamepad.Device;
+import org.gamepad4j.desktop.Gamepad.GamepadAdapter;
+import org.gamepad4j.simulated.Generator;
+import org.gamepad4j.simulated.Layout;
+import org.gamepad4j.simulated.SimulatedGamepad;
+import org.gamepad4j.util.VirtualClock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Records simulated devices and replays them.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class ReplayGamepadTest {
+
+    private static final Logger logger = Logger.getLogger(ReplayGamepadTest.class.getName());
+
+    @TempDir
+    Path dir;
+
+    /** records events as "0:b1@123", timestamps from the first input event */
+    static class Collector extends GamepadAdapter {
+        final List<String> events = new ArrayList<>();
+        long first = Long.MIN_VALUE;
+
+        String at(double timestamp) {
+            if (first == Long.MIN_VALUE) {
+                first = (long) timestamp;
+            }
+            return "@" + ((long) timestamp - first);
+        }
+
+        @Override public void deviceAttach(Device device) {
+            events.add("+" + device.deviceID + ":" + Integer.toHexString(device.vendorID) + "/" + Integer.toHexString(device.productID)
+                    + ":" + device.numButtons + "/" + device.numAxes + ":" + device.description);
+        }
+        @Override public void deviceRemove(Device device) { events.add("-" + device.deviceID); }
+        @Override public void buttonDown(Device device, int buttonID, double timestamp) { events.add(device.deviceID + ":b" + buttonID + at(timestamp)); }
+        @Override public void buttonUp(Device device, int buttonID, double timestamp) { events.add(device.deviceID + ":B" + buttonID + at(timestamp)); }
+        @Override public void axisMove(Device device, int axisID, float value, double timestamp) { events.add(device.deviceID + ":a" + axisID + "=" + value + at(timestamp)); }
+    }
+
+    /** records a simulated run */
+    Collector record(Path file, int count) throws Exception {
+        SimulatedGamepad gamepad = new SimulatedGamepad(List.of(Layout.DS3, Layout.DS3, Layout.XBOX360), 10_000, Generator.of("mixed"), 500, 7);
+        gamepad.setPumpMode(true);
+        Collector expected = new Collector();
+        try (EventRecorder recorder = new EventRecorder(file)) {
+            gamepad.addGamepadListener(recorder);
+            gamepad.open();
+            gamepad.addGamepadListener(expected);
+            while (expected.events.size() < count) {
+                gamepad.pump();
+                Thread.sleep(1);
+            }
+            gamepad.close();
+        }
+        return expected;
+    }
+
+    /** as fast as possible, the same events with the same intervals */
+    @Test
+    void test1() throws Exception {
+        Path file = dir.resolve("trace.g4j");
+        Collector expected = record(file, 20_000);
+        logger.fine("recorded: " + expected.events.size() + " events, " + Files.size(file) + " bytes");
+        assertTrue(expected.events.stream().anyMatch(e -> e.startsWith("-")), "hotplugged");
+
+        ReplayGamepad gamepad = new ReplayGamepad(file, 0);
+        gamepad.setPumpMode(true);
+        gamepad.open();
+        Collector actual = new Collector();
+        gamepad.addGamepadListener(actual);
+        long start = System.nanoTime();
+        while (!gamepad.isFinished()) {
+            gamepad.pump();
+        }
+        logger.fine(String.format("replayed: %d events in %.1f ms", gamepad.getReplayedCount(), (System.nanoTime() - start) / 1e6));
+        gamepad.close();
+
+        // events fired after the last pump are recorded but not collected
+        assertEquals(expected.events, actual.events.subList(0, expected.events.size()));
+    }
+
+    /** at the original timing, measured in real time */
+    @Test
+    @EnabledIfSystemProperty(named = "vavi.test", matches = "ide")
+    void test2() throws Exception {
+        Path file = dir.resolve("trace.g4j");
+        Collector expected = record(file, 2000);
+        String last = expected.events.get(expected.events.size() - 1);
+        long duration = Long.parseLong(last.substring(last.indexOf('@') + 1));
+
+        ReplayGamepad gamepad = new ReplayGamepad(file, 1);
+        gamepad.open();
+        Collector actual = new Collector();
+        long start = System.nanoTime();
+        gamepad.addGamepadListener(actual);
+        while (!gamepad.isFinished() && System.nanoTime() - start < duration * 10) {
+            Thread.sleep(1);
+        }
+        long elapsed = System.nanoTime() - start;
+        gamepad.close();
+        logger.fine(String.format("duration: %.1f ms, replayed in %.1f ms", duration / 1e6, elapsed / 1e6));
+        assertTrue(gamepad.isFinished());
+        assertTrue(elapsed >= duration, elapsed + " < " + duration);
+    }
+
+    /** an hour recorded by a virtual clock replays at the original timing in seconds */
+    @Test
+    @Timeout(value = 1, unit = TimeUnit.MINUTES)
+    void test4() throws Exception {
+        Path file = dir.resolve("hour.g4j");
+        long hour = TimeUnit.HOURS.toNanos(1);
+        VirtualClock recording = new VirtualClock();
+        SimulatedGamepad simulated = new SimulatedGamepad(List.of(Layout.DS4, Layout.XBOX360), 20, Generator.of("mixed"), 0.01, 3);
+        simulated.setClock(recording);
+        simulated.setPumpMode(true);
+        Collector expected = new Collector();
+        try (EventRecorder recorder = new EventRecorder(file)) {
+            simulated.addGamepadListener(recorder);
+            simulated.open();
+            simulated.addGamepadListener(expected);
+            while (recording.nanoTime() < hour) {
+                simulated.pump();
+                recording.advance(TimeUnit.MILLISECONDS.toNanos(100));
+            }
+            simulated.close();
+        }
+
+        VirtualClock replaying = new VirtualClock(0, true);
+        ReplayGamepad gamepad = new ReplayGamepad(file, 1);
+        gamepad.setClock(replaying);
+        gamepad.open();
+        Collector actual = new Collector();
+        gamepad.addGamepadListener(actual);
+        while (!gamepad.isFinished()) {
+            Thread.sleep(10);
+        }
+        gamepad.close();
+        assertEquals(expected.events, actual.events);
+        assertTrue(replaying.nanoTime() >= hour - TimeUnit.SECONDS.toNanos(1), String.valueOf(replaying.nanoTime()));
+    }
+
+    @Test
+    void test3() throws Exception {
+        Path file = dir.resolve("broken.g4j");
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+        Gamepad gamepad = new ReplayGamepad(file, 0);
+        assertThrows(UncheckedIOException.class, gamepad::open);
+    }
+
+    /** the recorder is not closed like a crashed process, the padding is not replayed */
+    @Test
+    void test5() throws Exception {
+        Path file = dir.resolve("crashed.g4j");
+        SimulatedGamepad simulated = new SimulatedGamepad(List.of(Layout.DS3), 10_000, Generator.of("mixed"), 0, 7);
+        simulated.setPumpMode(true);
+        Collector expected = new Collector();
+        EventRecorder recorder = new EventRecorder(file);
+        try {
+            simulated.addGamepadListener(recorder);
+            simulated.open();
+            simulated.addGamepadListener(expected);
+            while (expected.events.size() < 1000) {
+                simulated.pump();
+                Thread.sleep(1);
+            }
+            simulated.close();
+            assertTrue(Files.size(file) > recorder.getCount() * 4, "padded");
+
+            ReplayGamepad gamepad = new ReplayGamepad(file, 0);
+            gamepad.setPumpMode(true);
+            gamepad.open();
+            Collector actual = new Collector();
+            gamepad.addGamepadListener(actual);
+            while (!gamepad.isFinished()) {
+                gamepad.pump();
+            }
+            gamepad.close();
+
+            assertEquals(recorder.getCount(), gamepad.getReplayedCount());
+            assertEquals(expected.events, actual.events.subList(0, expected.events.size()));
+        } finally {
+            recorder.close();
+        }
+    }
+}
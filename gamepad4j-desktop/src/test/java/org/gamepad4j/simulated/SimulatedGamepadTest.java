@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2026 by Naohide Sano, All rights reserved.
+ *
+ * Programmed by Naohide Sano
+ */
+
+package org.gamepad4j.simulated;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import org.gamepad4j.ButtonID;
+import org.gamepad4j.IAxis;
+import org.gamepad4j.IButton;
+import org.gamepad4j.IController;
+import org.gamepad4j.IControllerListener;
+import org.gamepad4j.IControllersListener;
+import org.gamepad4j.StickID;
+import org.gamepad4j.desktop.DesktopControllerProvider;
+import org.gamepad4j.desktop.Gamepad.Device;
+import org.gamepad4j.desktop.Gamepad.GamepadAdapter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * Simulated devices through the desktop provider.
+ *
+ * @author <a href="mailto:umjammer@gmail.com">Naohide Sano</a> (nsano)
+ * @version 0.00 2026-10-19 nsano initial version <br>
+ */
+class SimulatedGamepadTest {
+
+    private static final Logger logger = Logger.getLogger(SimulatedGamepadTest.class.getName());
+
+    @Test
+    void test1() throws Exception {
+        SimulatedGamepad gamepad = new SimulatedGamepad(List.of(Layout.XBOX360, Layout.DS4), 4000, Generator.mixed(0.5f, 0.2f), 0, 1);
+        DesktopControllerProvider provider = new DesktopControllerProvider(gamepad);
+        AtomicInteger events = new AtomicInteger();
+        Set<ButtonID> buttonIDs = ConcurrentHashMap.newKeySet();
+        List<IController> controllers = new ArrayList<>();
+        provider.addListener(new IControllersListener() {
+            @Override public void connected(IController controller) {
+                synchronized (controllers) {
+                    controllers.add(controller);
+                }
+                controller.addListener(new IControllerListener() {
+                    @Override public void buttonDown(IButton button, ButtonID buttonID) {
+                        events.incrementAndGet();
+                        buttonIDs.add(button.getID());
+                    }
+                    @Override public void buttonUp(IButton button, ButtonID buttonID) {
+                        events.incrementAndGet();
+                    }
+                    @Override public void moveStick(IAxis axis, StickID stick) {
+                        events.incrementAndGet();
+                    }
+                });
+                controller.open();
+            }
+            @Override public void disConnected(IController controller) {}
+        });
+        provider.open();
+        try {
+            long limit = System.currentTimeMillis() + 5000;
+            while (events.get() < 2000 && System.currentTimeMillis() < limit) {
+                Thread.sleep(10);
+            }
+            logger.fine("generated: " + gamepad.getGeneratedCount() + ", delivered: " + events.get() + ", buttons: " + buttonIDs);
+            synchronized (controllers) {
+                assertEquals(2, controllers.size());
+                assertEquals(Set.of(0x28e, 0x5c4), Set.of(controllers.get(0).getProductID(), controllers.get(1).getProductID()));
+            }
+            assertTrue(events.get() >= 2000);
+            // mapped
+            assertTrue(buttonIDs.contains(ButtonID.FACE_DOWN), buttonIDs.toString());
+            assertTrue(controllers.get(0).getStick(StickID.LEFT) != null);
+        } finally {
+            provider.close();
+        }
+    }
+
+    /** reproducible by the seed, with hotplug */
+    @Test
+    void test2() throws Exception {
+        List<List<String>> runs = new ArrayList<>();
+        for (int run = 0; run < 2; run++) {
+            SimulatedGamepad gamepad = new SimulatedGamepad(SimulatedGamepad.parseDevices("DS3*2,XBOX360"), 10_000, Generator.of("mixed"), 1000, 42);
+            gamepad.setPumpMode(true);
+            gamepad.open();
+            List<String> events = new ArrayList<>();
+            gamepad.addGamepadListener(new GamepadAdapter() {
+                @Override public void deviceAttach(Device device) { events.add("+" + device.deviceID); }
+                @Override public void deviceRemove(Device device) { events.add("-" + device.deviceID); }
+                @Override public void buttonDown(Device device, int buttonID, double timestamp) { events.add(device.deviceID + ":b" + buttonID); }
+                @Override public void buttonUp(Device device, int buttonID, double timestamp) { events.add(device.deviceID + ":B" + buttonID); }
+                @Override public void axisMove(Device device, int axisID, float value, double timestamp) { events.add(device.deviceID + ":a" + axisID + "=" + value); }
+            });
+            while (events.size() < 5000) {
+                gamepad.pump();
+                Thread.sleep(1);
+            }
+            gamepad.close();
+            runs.add(events);
+        }
+        List<String> first = runs.get(0);
+        assertTrue(first.stream().anyMatch(e -> e.startsWith("-")), "hotplugged");
+        assertEquals(first.subList(0, 3), List.of("+0", "+1", "+2"));
+        // the order of devices in a burst depends on timing, compare events of each device
+        for (String id : List.of("0:", "1:", "2:")) {
+            List<String> a = first.stream().filter(e -> e.startsWith(id)).limit(100).toList();
+            List<String> b = runs.get(1).stream().filter(e -> e.startsWith(id)).limit(100).toList();
+            assertEquals(a, b);
+        }
+    }
+}